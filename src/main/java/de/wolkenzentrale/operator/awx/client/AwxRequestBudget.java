@@ -0,0 +1,294 @@
+package de.wolkenzentrale.operator.awx.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.wolkenzentrale.operator.awx.config.RequestBudgetProperties;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.util.TokenBucket;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoordinationV1Api;
+import io.kubernetes.client.openapi.models.V1Lease;
+import io.kubernetes.client.openapi.models.V1LeaseSpec;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the requests of all operator replicas against one AWX host under a cluster-wide cap.
+ * <p>
+ * Every replica limits its requests per AWX host with a token bucket. Periodically, it publishes its
+ * recent demand per host in an annotation of its own Lease, reads the demand of the other replicas,
+ * and sets its bucket to its max-min fair share of the host's cap: replicas that need less than an
+ * equal share get what they need, the rest is split evenly. The shares of all replicas add up to at
+ * most the cap. While the Leases cannot be read or written, a replica falls back to a small local rate.
+ */
+@Slf4j
+@Component
+public class AwxRequestBudget {
+
+    static final String DEMAND_ANNOTATION = "awx.wolkenzentrale.de/request-demand";
+    static final String MEMBER_LABEL = "awx.wolkenzentrale.de/request-budget";
+    private static final int NOT_FOUND = 404;
+    private static final AttributeKey<String> HOST = AttributeKey.stringKey("host");
+    private static final TypeReference<Map<String, Double>> DEMAND_TYPE = new TypeReference<>() { };
+
+    private final RequestBudgetProperties properties;
+    private final CoordinationV1Api coordinationApi;
+    private final ObjectMapper objectMapper;
+    private final String identity;
+    private final Clock clock;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+    private volatile Instant lastCoordinated;
+    private volatile Instant lastMeasured;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public AwxRequestBudget(RequestBudgetProperties properties, ApiClient apiClient,
+                            @Qualifier("kubernetesObjectMapper") ObjectMapper objectMapper, Meter meter) {
+        this(properties, apiClient, objectMapper, meter, Clock.systemUTC(), LeaderElection.replicaIdentity(null));
+    }
+
+    AwxRequestBudget(RequestBudgetProperties properties, ApiClient apiClient, ObjectMapper objectMapper,
+                     Meter meter, Clock clock, String identity) {
+        this.properties = properties;
+        this.coordinationApi = new CoordinationV1Api(apiClient);
+        this.objectMapper = objectMapper;
+        this.identity = identity;
+        this.clock = clock;
+        this.lastMeasured = clock.instant();
+
+        meter.gaugeBuilder("awx.request.budget.share")
+            .setDescription("Requests per second this replica may send to an AWX host")
+            .buildWithCallback(measurement -> hosts.forEach((host, state) ->
+                measurement.record(state.bucket.getRate(), Attributes.of(HOST, host))));
+        meter.gaugeBuilder("awx.request.budget.demand")
+            .setDescription("Recent requests per second this replica wanted to send to an AWX host")
+            .buildWithCallback(measurement -> hosts.forEach((host, state) ->
+                measurement.record(state.demand, Attributes.of(HOST, host))));
+    }
+
+    /**
+     * Takes a request from the budget of an AWX host
+     *
+     * @param host The AWX host as {@code host:port}
+     * @return Nanoseconds to wait before sending the request, 0 to send it right away
+     */
+    public long reserve(String host) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        Host state = hosts.computeIfAbsent(host, ignored -> new Host(initialRate()));
+        state.requests.increment();
+        return state.bucket.reserve();
+    }
+
+    /**
+     * Extracts the host (with port) of an AWX URL: the key of its request budget, also used to plan resyncs per AWX host
+     */
+    public static String hostOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() != null) {
+                return uri.getPort() >= 0 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Could not parse AWX URL {}, using it as host", url);
+        }
+        return String.valueOf(url);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "awx-request-budget");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = properties.getPublishInterval().toMillis();
+        ticker.scheduleWithFixedDelay(this::coordinate, period, period, TimeUnit.MILLISECONDS);
+        log.info("🚰 Sharing AWX request budgets as {}", identity);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    private void coordinate() {
+        Map<String, Double> ownDemand = measure();
+        Map<String, Map<String, Double>> demands = new HashMap<>();
+        try {
+            publish(ownDemand);
+            demands.putAll(readPeers());
+            lastCoordinated = clock.instant();
+        } catch (Exception e) {
+            log.warn("⚠️ Could not coordinate AWX request budgets, using local limits if this persists: {}", e.getMessage());
+        }
+        demands.put(identity, ownDemand);
+        rebalance(demands);
+    }
+
+    /**
+     * Turns the requests counted since the last measurement into a smoothed demand per host
+     */
+    Map<String, Double> measure() {
+        Instant now = clock.instant();
+        double seconds = Math.max(0.001, (now.toEpochMilli() - lastMeasured.toEpochMilli()) / 1000.0);
+        lastMeasured = now;
+        Map<String, Double> demand = new HashMap<>();
+        hosts.forEach((host, state) -> {
+            state.demand = (state.demand + state.requests.sumThenReset() / seconds) / 2;
+            demand.put(host, state.demand);
+        });
+        return demand;
+    }
+
+    /**
+     * Sets every host's bucket to this replica's share, or to the fallback rate if coordination is stale
+     *
+     * @param demands Recent demand per host, by replica identity, including this replica
+     */
+    void rebalance(Map<String, Map<String, Double>> demands) {
+        boolean coordinated = isCoordinated();
+        hosts.forEach((host, state) -> {
+            double rate;
+            if (coordinated) {
+                Map<String, Double> hostDemand = new HashMap<>();
+                demands.forEach((replica, byHost) -> {
+                    Double value = byHost.get(host);
+                    if (value != null) {
+                        hostDemand.put(replica, value);
+                    }
+                });
+                hostDemand.putIfAbsent(identity, 0.0);
+                rate = share(properties.capOf(host), hostDemand, identity);
+            } else {
+                rate = Math.min(properties.getFallbackRequestsPerSecondPerHost(), properties.capOf(host));
+            }
+            state.bucket.setRate(Math.max(rate, 0.01));
+        });
+    }
+
+    private boolean isCoordinated() {
+        Instant coordinated = lastCoordinated;
+        return coordinated != null && !coordinated.plus(properties.getStaleAfter()).isBefore(clock.instant());
+    }
+
+    private double initialRate() {
+        return isCoordinated()
+            ? properties.getMaxRequestsPerSecondPerHost() / Math.max(1, hosts.size() + 1)
+            : properties.getFallbackRequestsPerSecondPerHost();
+    }
+
+    /**
+     * Max-min fair share of a cap: replicas demanding less than an equal split get their demand,
+     * the others split the rest evenly. Capacity nobody demands is split evenly between all replicas.
+     */
+    static double share(double cap, Map<String, Double> demands, String self) {
+        List<Map.Entry<String, Double>> sorted = new ArrayList<>(demands.entrySet());
+        sorted.sort(Map.Entry.comparingByValue());
+        double remaining = cap;
+        int left = sorted.size();
+        Map<String, Double> allocation = new HashMap<>();
+        for (Map.Entry<String, Double> entry : sorted) {
+            double fair = remaining / left;
+            double granted = Math.min(entry.getValue(), fair);
+            allocation.put(entry.getKey(), granted);
+            remaining -= granted;
+            left--;
+        }
+        return allocation.getOrDefault(self, 0.0) + remaining / Math.max(1, sorted.size());
+    }
+
+    private void publish(Map<String, Double> demand) throws Exception {
+        OffsetDateTime now = OffsetDateTime.now(clock).withOffsetSameInstant(ZoneOffset.UTC);
+        String annotation = objectMapper.writeValueAsString(demand);
+        V1Lease lease;
+        try {
+            lease = coordinationApi.readNamespacedLease(leaseName(), properties.getLeaseNamespace()).execute();
+        } catch (ApiException e) {
+            if (e.getCode() != NOT_FOUND) {
+                throw e;
+            }
+            lease = new V1Lease()
+                .metadata(new V1ObjectMeta()
+                    .name(leaseName())
+                    .namespace(properties.getLeaseNamespace())
+                    .labels(Map.of(MEMBER_LABEL, "true"))
+                    .annotations(Map.of(DEMAND_ANNOTATION, annotation)))
+                .spec(new V1LeaseSpec()
+                    .holderIdentity(identity)
+                    .leaseDurationSeconds((int) properties.getStaleAfter().toSeconds())
+                    .renewTime(now));
+            coordinationApi.createNamespacedLease(properties.getLeaseNamespace(), lease).execute();
+            return;
+        }
+        lease.getMetadata().putAnnotationsItem(DEMAND_ANNOTATION, annotation);
+        lease.getSpec().setRenewTime(now);
+        coordinationApi.replaceNamespacedLease(leaseName(), properties.getLeaseNamespace(), lease).execute();
+    }
+
+    private Map<String, Map<String, Double>> readPeers() throws Exception {
+        Instant oldest = clock.instant().minus(properties.getStaleAfter());
+        Map<String, Map<String, Double>> demands = new HashMap<>();
+        for (V1Lease lease : coordinationApi.listNamespacedLease(properties.getLeaseNamespace())
+                .labelSelector(MEMBER_LABEL).execute().getItems()) {
+            V1LeaseSpec spec = lease.getSpec();
+            Map<String, String> annotations = lease.getMetadata() != null ? lease.getMetadata().getAnnotations() : null;
+            if (spec == null || spec.getHolderIdentity() == null || identity.equals(spec.getHolderIdentity())
+                || spec.getRenewTime() == null || spec.getRenewTime().toInstant().isBefore(oldest)
+                || annotations == null || annotations.get(DEMAND_ANNOTATION) == null) {
+                continue;
+            }
+            demands.put(spec.getHolderIdentity(), objectMapper.readValue(annotations.get(DEMAND_ANNOTATION), DEMAND_TYPE));
+        }
+        return demands;
+    }
+
+    private String leaseName() {
+        return properties.getLeasePrefix() + identity;
+    }
+
+    /**
+     * Budget state of one AWX host
+     */
+    private class Host {
+        private final TokenBucket bucket;
+        private final LongAdder requests = new LongAdder();
+        private volatile double demand;
+
+        Host(double rate) {
+            this.bucket = new TokenBucket(rate, properties.getBurst());
+        }
+    }
+}
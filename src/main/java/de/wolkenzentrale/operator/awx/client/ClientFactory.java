@@ -27,13 +27,16 @@ public class ClientFactory {
     private final ClientRegistry registry;
     private final ExchangeStrategies exchangeStrategies;
     private final ObjectMapper objectMapper;
+    private final AwxRequestBudget requestBudget;
     
     public ClientFactory(ClientRegistry registry, 
                         ExchangeStrategies exchangeStrategies,
-                        @Qualifier("awxObjectMapper") ObjectMapper objectMapper) {
+                        @Qualifier("awxObjectMapper") ObjectMapper objectMapper,
+                        AwxRequestBudget requestBudget) {
         this.registry = registry;
         this.exchangeStrategies = exchangeStrategies;
         this.objectMapper = objectMapper;
+        this.requestBudget = requestBudget;
     }
     
     /**
@@ -62,6 +65,29 @@ public class ClientFactory {
                 created, updated, removed, registry.size());
     }
 
+    /**
+     * Creates or recreates the client of a single connection, leaving all other clients alone.
+     *
+     * @param connection The desired state of the connection
+     */
+    public void updateClient(Connection connection) {
+        ConnectionKey key = ConnectionKey.fromConnection(connection);
+        if (!registry.containsKey(key)) {
+            createClient(connection);
+        } else if (registry.getConnection(key).hasConnectionDetailsChanged(connection)) {
+            registry.remove(key);
+            createClient(connection);
+            log.debug("🔄 Recreated updated client: {}", key);
+        }
+    }
+
+    /**
+     * Removes the client of a single connection
+     */
+    public void removeClient(ConnectionKey key) {
+        registry.remove(key);
+    }
+
     /**
      * Finds and removes clients that are no longer in the desired connection map.
      * First finds which clients need to be removed, then removes them.
@@ -135,7 +161,7 @@ public class ClientFactory {
             objectMapper.getPropertyNamingStrategy() != null ? 
             objectMapper.getPropertyNamingStrategy().getClass().getSimpleName() : "default");
         
-        RawClient rawClient = new RawClient(connection, exchangeStrategies);
+        RawClient rawClient = new RawClient(connection, exchangeStrategies, requestBudget);
         registry.put(rawClient);
         
         return rawClient.getClient();
@@ -10,12 +10,14 @@ import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 
 /**
@@ -46,24 +48,25 @@ public class RawClient {
      * 
      * @param connection The connection information to use
      * @param exchangeStrategies The exchange strategies to use for the WebClient
+     * @param requestBudget The budget every request to the AWX host is taken from
      */
-    public RawClient(Connection connection, ExchangeStrategies exchangeStrategies) {
+    public RawClient(Connection connection, ExchangeStrategies exchangeStrategies, AwxRequestBudget requestBudget) {
         this.connection = connection;
         this.exchangeStrategies = exchangeStrategies;
-        this.client = buildClient();
+        this.client = buildClient(requestBudget);
     }
 
     /**
      * Builds the AWX client using the connection information
      */
-    private AwxClient buildClient() {
+    private AwxClient buildClient(AwxRequestBudget requestBudget) {
         log.info("🌟 Building AWX client for connection to {}", connection.getUrl());
         
-        WebClient webClient = buildWebClient();
+        WebClient webClient = buildWebClient(requestBudget);
         return createAwxClientFromWebClient(webClient);
     }
     
-    private WebClient buildWebClient() {
+    private WebClient buildWebClient(AwxRequestBudget requestBudget) {
         WebClient.Builder builder = WebClient.builder()
                 .baseUrl(connection.getUrl())
                 .exchangeStrategies(exchangeStrategies);
@@ -71,6 +74,7 @@ public class RawClient {
         configureSsl(builder);
         configureAuthentication(builder);
         configureCommonHeaders(builder);
+        configureRequestBudget(builder, requestBudget);
         
         return builder.build();
     }
@@ -101,6 +105,19 @@ public class RawClient {
         builder.defaultHeader(HttpHeaders.ACCEPT, "application/json");
     }
     
+    /**
+     * Delays every request, including retries, until the AWX host's budget allows it
+     */
+    private void configureRequestBudget(WebClient.Builder builder, AwxRequestBudget requestBudget) {
+        String host = AwxRequestBudget.hostOf(connection.getUrl());
+        builder.filter((request, next) -> Mono.defer(() -> {
+            long waitNanos = requestBudget.reserve(host);
+            return waitNanos > 0
+                ? Mono.delay(Duration.ofNanos(waitNanos)).then(next.exchange(request))
+                : next.exchange(request);
+        }));
+    }
+    
     private ReactorClientHttpConnector createInsecureConnector() {
         try {
             SslContext sslContext = SslContextBuilder.forClient()
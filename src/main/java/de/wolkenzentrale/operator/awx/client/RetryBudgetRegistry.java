@@ -0,0 +1,52 @@
+package de.wolkenzentrale.operator.awx.client;
+
+import de.wolkenzentrale.operator.awx.config.RetryProperties;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.util.RetryBudget;
+import de.wolkenzentrale.operator.awx.util.RetryPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe registry of retry budgets, one per AWX connection.
+ * Also hands out the configured retry policy so callers have a single place to ask.
+ */
+@Slf4j
+@Component
+public class RetryBudgetRegistry {
+    private final Map<ConnectionKey, RetryBudget> budgets = new ConcurrentHashMap<>();
+    private final RetryProperties properties;
+    private final RetryPolicy policy;
+
+    public RetryBudgetRegistry(RetryProperties properties) {
+        this.properties = properties;
+        this.policy = RetryPolicy.from(properties);
+    }
+
+    /**
+     * Gets the configured retry policy
+     */
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the budget for a connection, creating it on first use
+     */
+    public RetryBudget getBudget(ConnectionKey key) {
+        return budgets.computeIfAbsent(key, ignored -> {
+            log.debug("🪙 Created retry budget for {}", key);
+            return RetryBudget.from(properties.getBudget());
+        });
+    }
+
+    /**
+     * Removes the budget of a connection that no longer exists
+     */
+    public void remove(ConnectionKey key) {
+        budgets.remove(key);
+    }
+}
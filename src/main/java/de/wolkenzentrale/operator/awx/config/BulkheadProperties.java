@@ -0,0 +1,68 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizing of the bounded thread pools that isolate the different kinds of blocking work.
+ * 🚧 Bound from the {@code awx.bulkheads} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.bulkheads")
+public class BulkheadProperties {
+
+    /**
+     * Pool for Kubernetes API reads (lists, secrets, current status)
+     */
+    private Pool kubernetes = new Pool(4, 100);
+
+    /**
+     * Pool for reconciles that call AWX
+     */
+    private Pool awx = new Pool(8, 1000);
+
+    /**
+     * Pool for Kubernetes status writes
+     */
+    private Pool status = new Pool(2, 1000);
+
+    /**
+     * Optional per-namespace pools that replace the shared AWX pool
+     */
+    private Namespaces namespaces = new Namespaces();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+
+        /**
+         * Number of worker threads
+         */
+        private int threads;
+
+        /**
+         * Maximum number of queued tasks; further tasks are rejected
+         */
+        private int queueCapacity;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Namespaces {
+
+        /**
+         * Whether every namespace gets its own AWX pool
+         */
+        private boolean enabled = false;
+
+        /**
+         * Size of each namespace pool
+         */
+        private Pool pool = new Pool(2, 200);
+    }
+}
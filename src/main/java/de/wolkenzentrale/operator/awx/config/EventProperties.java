@@ -0,0 +1,70 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the Kubernetes Events the operator records for its resources.
+ * 📣 Bound from the {@code awx.events} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.events")
+public class EventProperties {
+
+    /**
+     * Records Events for AwxConnections and AwxProjects; off only logs
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often recorded occurrences are sent to the Kubernetes API
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Time after the last occurrence of an Event within which a repeat is counted in the same Event series
+     */
+    private Duration aggregationWindow = Duration.ofMinutes(10);
+
+    /**
+     * Most Events created or updated per flush
+     */
+    private int maxBatch = 50;
+
+    /**
+     * Most distinct Events kept for aggregation; occurrences of further Events are dropped
+     */
+    private int maxSeries = 4096;
+
+    /**
+     * Limit on Event writes about one resource
+     */
+    private Limit perObject = new Limit(0.1, 5);
+
+    /**
+     * Limit on all Event writes of this replica
+     */
+    private Limit global = new Limit(5.0, 25);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Event writes per second
+         */
+        private double ratePerSecond;
+
+        /**
+         * Event writes allowed at once
+         */
+        private int burst;
+    }
+}
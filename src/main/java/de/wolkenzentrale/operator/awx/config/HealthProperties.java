@@ -0,0 +1,63 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Flap damping configuration for the connection Ready condition.
+ * 🩺 Bound from the {@code awx.health} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.health")
+public class HealthProperties {
+
+    /**
+     * Number of recent probe results kept per connection
+     */
+    private int windowSize = 10;
+
+    /**
+     * Consecutive results contradicting the current state that flip the condition
+     */
+    private int flipAfterConsecutive = 3;
+
+    /**
+     * Success ratio over the window at or above which a not-ready connection becomes ready
+     */
+    private double readyRatio = 0.8;
+
+    /**
+     * Success ratio over the window below which a ready connection becomes not ready
+     */
+    private double unreadyRatio = 0.5;
+
+    /**
+     * Where probe heartbeats of connections are recorded
+     */
+    private Heartbeats heartbeats = new Heartbeats();
+
+    @Data
+    public static class Heartbeats {
+
+        /**
+         * Record heartbeats in a Lease per connection instead of the connection status.
+         * The status is then only written when something besides the heartbeat changes.
+         */
+        private boolean leases = false;
+
+        /**
+         * Prefix of the Lease names; the Lease of a connection is named after it, in its namespace
+         */
+        private String leasePrefix = "awx-connection-";
+
+        /**
+         * Time after the last heartbeat at which a Lease counts as expired.
+         * Should be a few resync intervals, so one slow probe does not look like a dead connection.
+         */
+        private Duration leaseDuration = Duration.ofMinutes(2);
+    }
+}
@@ -0,0 +1,96 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the informers that cache AwxConnections, AwxProjects and Secrets.
+ * 👀 Bound from the {@code awx.informers} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.informers")
+public class InformerProperties {
+
+    /**
+     * Label that marks a Secret holding the password of an AwxConnection
+     */
+    public static final String CONNECTION_SECRET_LABEL = "awx.wolkenzentrale.de/connection-secret";
+
+    /**
+     * How long the API server keeps a watch open before the informer starts a new one
+     */
+    private Duration watchTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound for the delay between attempts after list or watch failures
+     */
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of resources fetched per list request; 0 lists everything at once
+     */
+    private int pageSize = 500;
+
+    /**
+     * Whether lists after an expired watch may be answered from the API server's watch cache, at the last seen
+     * resourceVersion. The first list only comes from the watch cache with {@link #pageSize} 0:
+     * the API server ignores {@code limit} for lists at {@code resourceVersion=0}, so with pages it is a consistent list.
+     */
+    private boolean listFromWatchCache = true;
+
+    /**
+     * Whether the informers get their initial state streamed by a watch with {@code sendInitialEvents}
+     * instead of listing it. Needs Kubernetes 1.27+ with the WatchList feature; otherwise lists are used.
+     */
+    private boolean streamingLists = false;
+
+    /**
+     * Namespaces to watch; empty watches all namespaces.
+     * With a list, each namespace is listed and watched separately and namespaced RBAC is enough.
+     */
+    private List<String> namespaces = new ArrayList<>();
+
+    /**
+     * Selectors restricting the cached AwxConnections
+     */
+    private Selector connections = new Selector();
+
+    /**
+     * Selectors restricting the cached AwxProjects
+     */
+    private Selector projects = new Selector();
+
+    /**
+     * Selectors restricting the cached Secrets. By default only Secrets labelled as connection secrets are cached,
+     * so the operator does not hold a digest of every Secret in the cluster; clear it to cache all of them.
+     */
+    private Selector secrets = new Selector(CONNECTION_SECRET_LABEL + "=true", null);
+
+    /**
+     * Server-side filters of one cached resource type.
+     * Resources not matching are invisible to the operator, as if they did not exist.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Selector {
+
+        /**
+         * Label selector, e.g. {@code team=platform,tier!=dev}
+         */
+        private String labelSelector;
+
+        /**
+         * Field selector, e.g. {@code metadata.name!=scratch}
+         */
+        private String fieldSelector;
+    }
+}
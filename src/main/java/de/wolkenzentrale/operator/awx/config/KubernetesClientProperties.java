@@ -0,0 +1,67 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the HTTP transport shared by all Kubernetes API calls of the operator.
+ * 🛰️ Bound from the {@code awx.kubernetes.client} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.kubernetes.client")
+public class KubernetesClientProperties {
+
+    /**
+     * Requests per second this replica sends to the API server, including the requests that open watches
+     */
+    private double qps = 20.0;
+
+    /**
+     * Requests that may be sent at once before the QPS limit applies
+     */
+    private int burst = 40;
+
+    /**
+     * Idle connections kept open to the API server
+     */
+    private int maxIdleConnections = 10;
+
+    /**
+     * How long an idle connection is kept open
+     */
+    private Duration keepAlive = Duration.ofMinutes(5);
+
+    /**
+     * Asynchronous requests in flight at once
+     */
+    private int maxRequests = 64;
+
+    /**
+     * Asynchronous requests in flight at once to one host; the API server is usually the only host
+     */
+    private int maxRequestsPerHost = 64;
+
+    /**
+     * Negotiates HTTP/2 where the API server offers it, so requests and watches share few connections
+     */
+    private boolean http2 = true;
+
+    /**
+     * How often a request rejected with {@code 429 Too Many Requests} is sent again
+     */
+    private int maxRetries = 3;
+
+    /**
+     * Wait before sending a rejected request again, if the API server sends no {@code Retry-After}
+     */
+    private Duration defaultRetryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Longest {@code Retry-After} honored; a longer one fails the request instead of blocking the caller
+     */
+    private Duration maxRetryAfter = Duration.ofSeconds(30);
+}
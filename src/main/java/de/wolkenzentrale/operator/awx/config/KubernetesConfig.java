@@ -1,21 +1,33 @@
 package de.wolkenzentrale.operator.awx.config;
 
+import de.wolkenzentrale.operator.awx.kubernetes.KubernetesTransport;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.util.Config;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Response;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Configuration
 @Profile("!test") // Don't load this config in test profiles to avoid conflicts with test configurations
 public class KubernetesConfig {
 
+    /**
+     * The one API client of the operator; every Kubernetes API class is built on it, so all calls share
+     * its connection pool, rate limiter and metrics
+     */
     @Bean
-    public ApiClient apiClient() throws IOException {
+    public ApiClient apiClient(KubernetesClientProperties properties, KubernetesTransport transport) throws IOException {
         log.info("🚀 Setting up Kubernetes API client");
         
         try {
@@ -23,7 +35,7 @@ public class KubernetesConfig {
             // Attempt to configure from within a pod first
             ApiClient client = Config.fromCluster();
             log.info("✅ Successfully connected to Kubernetes cluster!");
-            return client;
+            return withTransport(client, properties, transport);
         } catch (IOException e) {
             log.error("❌ Failed to initialize Kubernetes client from cluster: {}", e.getMessage());
             try {
@@ -31,11 +43,41 @@ public class KubernetesConfig {
                 log.info("🔄 Trying to connect using local kubeconfig...");
                 ApiClient client = Config.defaultClient();
                 log.info("✅ Successfully connected to Kubernetes using local config!");
-                return client;
+                return withTransport(client, properties, transport);
             } catch (IOException ex) {
                 log.error("💥 Failed to initialize Kubernetes client from default config: {}", ex.getMessage());
                 throw new RuntimeException("Could not initialize Kubernetes client", ex);
             }
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Tunes the connection pool and dispatcher, and routes every request through the transport.
+     * Watches stay open without traffic for minutes, so they must not hit the regular read timeout.
+     * The server ends them through {@code timeoutSeconds} instead.
+     */
+    private static ApiClient withTransport(ApiClient client, KubernetesClientProperties properties,
+                                           KubernetesTransport transport) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(properties.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(properties.getMaxRequestsPerHost());
+        client.setHttpClient(client.getHttpClient().newBuilder()
+            .connectionPool(new ConnectionPool(properties.getMaxIdleConnections(),
+                properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+            .dispatcher(dispatcher)
+            .protocols(properties.isHttp2() ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+            .addInterceptor(transport)
+            .addInterceptor(KubernetesConfig::watchReadTimeout)
+            .build());
+        log.info("🛰️ Kubernetes API client limited to {} requests per second (burst {}), HTTP/2 {}",
+            properties.getQps(), properties.getBurst(), properties.isHttp2() ? "enabled" : "disabled");
+        return client;
+    }
+
+    private static Response watchReadTimeout(Interceptor.Chain chain) throws IOException {
+        if ("true".equals(chain.request().url().queryParameter("watch"))) {
+            return chain.withReadTimeout(0, TimeUnit.MILLISECONDS).proceed(chain.request());
+        }
+        return chain.proceed(chain.request());
+    }
+}
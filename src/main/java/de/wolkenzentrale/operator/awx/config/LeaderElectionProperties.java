@@ -0,0 +1,52 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the leader election between operator replicas.
+ * 👑 Bound from the {@code awx.leader-election} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.leader-election")
+public class LeaderElectionProperties {
+
+    /**
+     * Elects a leader through a Lease; off makes this replica the leader right away
+     */
+    private boolean enabled = false;
+
+    /**
+     * Name of the Lease holding the leadership
+     */
+    private String leaseName = "awx-operator-leader";
+
+    /**
+     * Namespace of the Lease, usually the operator's own namespace
+     */
+    private String leaseNamespace = "awx-operator-system";
+
+    /**
+     * Identity of this replica in the Lease; defaults to the host name, which is the pod name
+     */
+    private String identity;
+
+    /**
+     * How long a leader holds the Lease without renewing it; standbys take over after this time
+     */
+    private Duration leaseDuration = Duration.ofSeconds(15);
+
+    /**
+     * How long the leader keeps trying to renew before it gives up the leadership
+     */
+    private Duration renewDeadline = Duration.ofSeconds(10);
+
+    /**
+     * Delay between attempts to acquire or renew the Lease
+     */
+    private Duration retryPeriod = Duration.ofSeconds(2);
+}
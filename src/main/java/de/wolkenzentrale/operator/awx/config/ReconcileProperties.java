@@ -0,0 +1,212 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reconciliation scheduling configuration.
+ * 🔄 Bound from the {@code awx.reconciliation} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.reconciliation")
+public class ReconcileProperties {
+
+    /**
+     * Regular reconciliation interval for healthy resources
+     */
+    private Duration interval = Duration.ofSeconds(30);
+
+    /**
+     * Backoff for resources whose reconciliation keeps failing
+     */
+    private Backoff backoff = new Backoff();
+
+    /**
+     * Fair sharing of reconcile capacity between namespaces
+     */
+    private Fairness fairness = new Fairness();
+
+    /**
+     * Priority lanes for changes, retries and resyncs
+     */
+    private Lanes lanes = new Lanes();
+
+    /**
+     * Timing wheel holding the per-resource resync and retry timers
+     */
+    private Timers timers = new Timers();
+
+    /**
+     * Requeue hints returned by reconcilers
+     */
+    private Requeue requeue = new Requeue();
+
+    /**
+     * Load budget from which the resync intervals are planned
+     */
+    private Budget budget = new Budget();
+
+    /**
+     * Staggered first pass after a start or failover
+     */
+    private Startup startup = new Startup();
+
+    @Data
+    public static class Backoff {
+
+        /**
+         * Delay after the first failure; doubled for every further failure
+         */
+        private Duration baseDelay = Duration.ofSeconds(30);
+
+        /**
+         * Upper bound for the exponential delay
+         */
+        private Duration maxDelay = Duration.ofMinutes(10);
+
+        /**
+         * Consecutive failures after which a resource is parked
+         */
+        private int parkAfterFailures = 10;
+
+        /**
+         * How often a parked resource is checked when neither its spec nor its secret changed
+         */
+        private Duration parkedRecheckInterval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Fairness {
+
+        /**
+         * Weight of namespaces without an explicit weight
+         */
+        private int defaultWeight = 1;
+
+        /**
+         * Per-namespace weights: a namespace with weight 3 gets three reconciles per round
+         */
+        private Map<String, Integer> namespaceWeights = new HashMap<>();
+
+        public int weightOf(String namespace) {
+            return Math.max(1, namespaceWeights.getOrDefault(namespace, defaultWeight));
+        }
+    }
+
+    @Data
+    public static class Lanes {
+
+        /**
+         * Queue size from which new resync requests are shed; 0 never sheds.
+         * Changes and retries are always queued.
+         */
+        private int resyncCapacity = 5000;
+    }
+
+    @Data
+    public static class Timers {
+
+        /**
+         * Resolution of the timing wheel
+         */
+        private Duration tick = Duration.ofMillis(250);
+
+        /**
+         * Number of buckets of the timing wheel; one rotation covers {@code tick * wheelSize}
+         */
+        private int wheelSize = 512;
+    }
+
+    @Data
+    public static class Requeue {
+
+        /**
+         * Lower clamp for requeue hints
+         */
+        private Duration min = Duration.ofSeconds(5);
+
+        /**
+         * Upper clamp for requeue hints
+         */
+        private Duration max = Duration.ofMinutes(30);
+
+        /**
+         * Hint while work is in progress, e.g. an AWX project update is pending or running
+         */
+        private Duration inProgress = Duration.ofSeconds(10);
+
+        /**
+         * Hint for settled resources, e.g. a successful AWX project whose generation is observed
+         */
+        private Duration settled = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Budget {
+
+        /**
+         * Stretches resync intervals so the fleet stays within the budget; off uses the fixed interval
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum Kubernetes writes per second caused by resyncs
+         */
+        private double maxKubernetesWritesPerSecond = 10.0;
+
+        /**
+         * Maximum AWX requests per second caused by resyncs, per AWX host
+         */
+        private double maxAwxRequestsPerSecondPerHost = 5.0;
+
+        /**
+         * Kubernetes writes caused by one reconcile (the status write)
+         */
+        private double kubernetesWritesPerReconcile = 1.0;
+
+        /**
+         * AWX requests caused by one reconcile
+         */
+        private double awxRequestsPerReconcile = 2.0;
+    }
+
+    @Data
+    public static class Startup {
+
+        /**
+         * Paces the first pass through a token bucket; off queues everything once the caches are synced
+         */
+        private boolean enabled = true;
+
+        /**
+         * Resources released into the reconcile queue per second during the first pass
+         */
+        private double ratePerSecond = 10.0;
+
+        /**
+         * Resources that may be released at once before the rate applies
+         */
+        private int burst = 10;
+
+        /**
+         * Upper bound of the random delay added to every release
+         */
+        private Duration jitter = Duration.ofMillis(100);
+
+        /**
+         * Fraction of the first pass that must be reconciled before the pod reports ready
+         */
+        private double readyFraction = 1.0;
+
+        /**
+         * The pod reports ready after this time even if the first pass is not done
+         */
+        private Duration readyTimeout = Duration.ofMinutes(15);
+    }
+}
@@ -0,0 +1,71 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the AWX request budget shared by all operator replicas.
+ * 🚰 Bound from the {@code awx.request-budget} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.request-budget")
+public class RequestBudgetProperties {
+
+    /**
+     * Limits the requests against each AWX host; off sends requests unthrottled
+     */
+    private boolean enabled = false;
+
+    /**
+     * Cluster-wide cap on requests per second against one AWX host, summed over all replicas
+     */
+    private double maxRequestsPerSecondPerHost = 20.0;
+
+    /**
+     * Caps for single hosts ({@code host:port}), overriding the default cap
+     */
+    private Map<String, Double> hosts = new HashMap<>();
+
+    /**
+     * Requests per second per host a replica allows itself while it cannot coordinate with the others
+     */
+    private double fallbackRequestsPerSecondPerHost = 2.0;
+
+    /**
+     * Requests a replica may send at once before its share applies
+     */
+    private int burst = 5;
+
+    /**
+     * How often each replica publishes its demand and recomputes its shares
+     */
+    private Duration publishInterval = Duration.ofSeconds(10);
+
+    /**
+     * Demand published longer ago than this is ignored; without fresh coordination the fallback applies
+     */
+    private Duration staleAfter = Duration.ofSeconds(30);
+
+    /**
+     * Namespace of the Leases carrying the published demand; installs sharing an AWX must use the same one
+     */
+    private String leaseNamespace = "awx-operator-system";
+
+    /**
+     * Name prefix of the Leases; the replica identity is appended
+     */
+    private String leasePrefix = "awx-operator-budget-";
+
+    /**
+     * Gets the cluster-wide cap of a host
+     */
+    public double capOf(String host) {
+        return hosts.getOrDefault(host, maxRequestsPerSecondPerHost);
+    }
+}
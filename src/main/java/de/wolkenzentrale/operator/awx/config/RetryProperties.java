@@ -0,0 +1,67 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Retry configuration for calls against AWX instances.
+ * 🔁 Bound from the {@code awx.retry} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.retry")
+public class RetryProperties {
+
+    /**
+     * Maximum number of retries after the initial attempt
+     */
+    private int maxRetries = 3;
+
+    /**
+     * Lower bound for the decorrelated jitter delay
+     */
+    private Duration baseDelay = Duration.ofMillis(500);
+
+    /**
+     * Upper bound for the decorrelated jitter delay
+     */
+    private Duration maxDelay = Duration.ofSeconds(30);
+
+    /**
+     * Longest Retry-After we are willing to honor; longer hints end the retry loop
+     */
+    private Duration maxRetryAfter = Duration.ofMinutes(2);
+
+    /**
+     * HTTP status codes that may succeed when repeated
+     */
+    private Set<Integer> retriableStatusCodes = Set.of(408, 429, 500, 502, 503, 504);
+
+    /**
+     * Per-connection retry budget
+     */
+    private Budget budget = new Budget();
+
+    @Data
+    public static class Budget {
+
+        /**
+         * Retries allowed as a fraction of the requests seen in the window
+         */
+        private double ratio = 0.2;
+
+        /**
+         * Retries always allowed per window, so low-traffic connections can still retry
+         */
+        private int minRetries = 10;
+
+        /**
+         * Length of the accounting window
+         */
+        private Duration window = Duration.ofMinutes(1);
+    }
+}
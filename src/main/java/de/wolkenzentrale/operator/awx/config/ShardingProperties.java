@@ -0,0 +1,53 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the sharding of reconcile work across operator replicas.
+ * 🧩 Bound from the {@code awx.sharding} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.sharding")
+public class ShardingProperties {
+
+    /**
+     * Splits the AwxConnections, and their projects, between all replicas; off makes one replica own everything
+     */
+    private boolean enabled = false;
+
+    /**
+     * Namespace of the membership Leases, usually the operator's own namespace
+     */
+    private String leaseNamespace = "awx-operator-system";
+
+    /**
+     * Name prefix of the membership Leases; the replica identity is appended
+     */
+    private String leasePrefix = "awx-operator-shard-";
+
+    /**
+     * A replica whose Lease has not been renewed for this long is no longer a member
+     */
+    private Duration leaseDuration = Duration.ofSeconds(15);
+
+    /**
+     * A replica that could not renew its Lease for this long stops reconciling; shorter than the lease duration,
+     * so it has let go before the others see its Lease expire
+     */
+    private Duration renewDeadline = Duration.ofSeconds(10);
+
+    /**
+     * How often each replica renews its Lease and reads the membership
+     */
+    private Duration renewInterval = Duration.ofSeconds(5);
+
+    /**
+     * Points per replica on the hash ring; more points spread the connections more evenly
+     */
+    private int virtualNodes = 128;
+}
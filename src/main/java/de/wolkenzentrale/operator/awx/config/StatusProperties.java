@@ -0,0 +1,44 @@
+package de.wolkenzentrale.operator.awx.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of how the operator writes the status of its resources.
+ * 📝 Bound from the {@code awx.status} property namespace.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "awx.status")
+public class StatusProperties {
+
+    /**
+     * Field manager of the server-side applies writing status; owns every status field the operator sets.
+     * Changing it leaves the fields of the old manager behind until they are cleared by hand.
+     */
+    private String fieldManager = "awx-resource-operator";
+
+    /**
+     * Whether a status write only succeeds if the resource still has the resourceVersion the status was derived from.
+     * A write that lost the race is derived again from the cached resource instead of overwriting a newer status.
+     */
+    private boolean guardResourceVersion = true;
+
+    /**
+     * How often a conflicting write is derived again before it is dropped for the next pass
+     */
+    private int conflictRetries = 3;
+
+    /**
+     * How long a conflicting write waits for the cache to catch up with the write that won
+     */
+    private Duration conflictRefreshTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Window in which status updates of one object are merged into a single write of the latest update
+     */
+    private Duration debounce = Duration.ofMillis(250);
+}
@@ -1,18 +1,38 @@
 package de.wolkenzentrale.operator.awx.controllers;
 
+import de.wolkenzentrale.operator.awx.client.AwxRequestBudget;
 import de.wolkenzentrale.operator.awx.client.ClientFactory;
 import de.wolkenzentrale.operator.awx.client.ClientRegistry;
+import de.wolkenzentrale.operator.awx.client.RetryBudgetRegistry;
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.events.EventRecorder;
+import de.wolkenzentrale.operator.awx.health.ConnectionHealth;
+import de.wolkenzentrale.operator.awx.health.ConnectionHealthTracker;
+import de.wolkenzentrale.operator.awx.health.ConnectionHeartbeats;
+import de.wolkenzentrale.operator.awx.informer.CacheTransforms;
+import de.wolkenzentrale.operator.awx.informer.Informers;
+import de.wolkenzentrale.operator.awx.informer.ResourceInformer;
 import de.wolkenzentrale.operator.awx.interfaces.awx.client.AwxClient;
 import de.wolkenzentrale.operator.awx.model.common.Connection;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
 import de.wolkenzentrale.operator.awx.model.crd.status.AwxConnectionStatus;
 import de.wolkenzentrale.operator.awx.model.crd.kubernetes.StatusCondition;
 import de.wolkenzentrale.operator.awx.model.api.VersionInfo;
+import de.wolkenzentrale.operator.awx.reconcile.Bulkheads;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileBackoff;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileDispatcher;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileLane;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileRequest;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileResult;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileScheduler;
+import de.wolkenzentrale.operator.awx.reconcile.ResyncPlanner;
+import de.wolkenzentrale.operator.awx.reconcile.StartupRamp;
+import de.wolkenzentrale.operator.awx.reconcile.StatusWriter;
+import de.wolkenzentrale.operator.awx.util.RetryMono;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
-import io.kubernetes.client.openapi.apis.CustomObjectsApi;
 import io.kubernetes.client.openapi.models.V1Secret;
-import io.kubernetes.client.custom.V1Patch;
-import io.kubernetes.client.util.PatchUtils;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
@@ -22,14 +42,12 @@ import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.*;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Controller for reconciling AWX Connection resources.
@@ -39,20 +57,31 @@ import java.util.*;
 @Component
 public class ConnectionController {
 
-    private static final String GROUP = "wolkenzentrale.de";
-    private static final String VERSION = "v1alpha1";
-    private static final String PLURAL = "awxconnections";
     private static final String FINALIZER = "awx-connection.finalizers.wolkenzentrale.de";
 
     private final ClientFactory clientFactory;
     private final ClientRegistry clientRegistry;
+    private final RetryBudgetRegistry retryBudgetRegistry;
+    private final ReconcileBackoff reconcileBackoff;
+    private final ReconcileProperties reconcileProperties;
+    private final ConnectionHealthTracker healthTracker;
+    private final ConnectionHeartbeats heartbeats;
+    private final EventRecorder events;
+    private final Bulkheads bulkheads;
+    private final ReconcileDispatcher dispatcher;
+    private final ReconcileScheduler scheduler;
+    private final ResyncPlanner planner;
     private final Tracer tracer;
     private final Meter meter;
-    private final ApiClient apiClient;
-    private final CustomObjectsApi customObjectsApi;
-    private final ObjectMapper objectMapper;
+    private final StatusWriter statusWriter;
     private final CoreV1Api coreV1Api;
 
+    private final Informers informers;
+    private final StartupRamp startup;
+
+    // Secret name, key and version of the last successful reconcile, to notice changed credentials
+    private final Map<ResourceKey, String> appliedSecretVersions = new ConcurrentHashMap<>();
+
     // Metrics
     private final LongCounter reconciliationCounter;
     private final LongCounter reconciliationErrorCounter;
@@ -60,16 +89,36 @@ public class ConnectionController {
     private final LongCounter connectionErrorCounter;
 
     public ConnectionController(ClientFactory clientFactory, ClientRegistry clientRegistry, 
-                              Tracer tracer, Meter meter, ApiClient apiClient, 
-                              @Qualifier("kubernetesObjectMapper") ObjectMapper objectMapper) {
+                              RetryBudgetRegistry retryBudgetRegistry, ReconcileBackoff reconcileBackoff,
+                              ReconcileProperties reconcileProperties, ConnectionHealthTracker healthTracker,
+                              ConnectionHeartbeats heartbeats, EventRecorder events,
+                              Bulkheads bulkheads, ReconcileDispatcher dispatcher,
+                              ReconcileScheduler scheduler, ResyncPlanner planner, Informers informers,
+                              StartupRamp startup, StatusWriter statusWriter,
+                              Tracer tracer, Meter meter, ApiClient apiClient) {
         this.clientFactory = clientFactory;
         this.clientRegistry = clientRegistry;
+        this.retryBudgetRegistry = retryBudgetRegistry;
+        this.reconcileBackoff = reconcileBackoff;
+        this.reconcileProperties = reconcileProperties;
+        this.healthTracker = healthTracker;
+        this.heartbeats = heartbeats;
+        this.events = events;
+        this.bulkheads = bulkheads;
+        this.dispatcher = dispatcher;
+        dispatcher.register(ResourceKey.CONNECTION_KIND, request ->
+            reconcile(request.getKey().getNamespace(), request.getKey().getName(), request.getPayload()));
+        this.scheduler = scheduler;
+        this.planner = planner;
+        scheduler.register(ResourceKey.CONNECTION_KIND, this::onTimer);
+        this.informers = informers;
+        this.startup = startup;
+        informers.connections().addListener(this::onEvent);
+        informers.secrets().addListener(this::onSecretEvent);
         this.tracer = tracer;
         this.meter = meter;
-        this.apiClient = apiClient;
-        this.customObjectsApi = new CustomObjectsApi(apiClient);
         this.coreV1Api = new CoreV1Api(apiClient);
-        this.objectMapper = objectMapper;
+        this.statusWriter = statusWriter;
 
         // Initialize metrics
         this.reconciliationCounter = meter.counterBuilder("awx.connection.reconciliations")
@@ -84,29 +133,129 @@ public class ConnectionController {
         this.connectionErrorCounter = meter.counterBuilder("awx.connection.errors")
             .setDescription("Total number of AWX connection errors")
             .build();
+        meter.gaugeBuilder("awx.connection.parked")
+            .setDescription("Number of AWX connections parked after persistent failures")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(reconcileBackoff.parkedCount()));
     }
 
-    @Scheduled(fixedDelayString = "${awx.reconciliation.interval:30000}")
-    public void reconcileAll() {
-        try {
-            // List all AWX connections across all namespaces
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = (Map<String, Object>) customObjectsApi.listClusterCustomObject(
-                GROUP, VERSION, PLURAL).execute();
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> items = (List<Map<String, Object>>) response.get("items");
-            for (Map<String, Object> item : items) {
-                String namespace = (String) ((Map<String, Object>) item.get("metadata")).get("namespace");
-                String name = (String) ((Map<String, Object>) item.get("metadata")).get("name");
-                reconcile(namespace, name, item);
+    /**
+     * Called by the connection informer for every added, changed or deleted connection.
+     * Unchanged connections are not queued here: their resync timers spread them over the interval.
+     */
+    private void onEvent(ResourceKey key, Map<String, Object> previous, Map<String, Object> current) {
+        if (current == null) {
+            log.info("🗑️ AWX Connection {} is gone, dropping its state", key);
+            cleanup(key.getNamespace(), key.getName());
+            return;
+        }
+        planner.track(key, awxHostOf(current));
+        if (!startup.isReleased()) {
+            // The startup ramp releases everything cached once all caches are synced
+            return;
+        }
+        ReconcileLane lane = laneOf(key, current);
+        if (previous == null || lane == ReconcileLane.CHANGE || !scheduler.isScheduled(key)) {
+            enqueue(key, lane, current);
+        }
+    }
+
+    /**
+     * Called by the secret informer: a changed password secret is a changed input of every connection using it
+     */
+    private void onSecretEvent(ResourceKey secret, Map<String, Object> previous, Map<String, Object> current) {
+        // Secrets added by the initial list are not changes
+        if (!startup.isReleased() || (previous == null && !informers.secrets().hasSynced())) {
+            return;
+        }
+        for (ResourceKey key : informers.connectionsBySecret().dependentsOf(secret)) {
+            Map<String, Object> item = informers.connections().get(key);
+            String secretKey = item != null ? (String) specOf(item).get("passwordSecretKey") : null;
+            if (previous != null && current != null
+                && Objects.equals(CacheTransforms.digestOf(previous, secretKey), CacheTransforms.digestOf(current, secretKey))) {
+                log.debug("🔐 Password of AWX Connection {} in secret {} is unchanged", key, secret);
+                continue;
             }
-        } catch (Exception e) {
-            log.error("Failed to reconcile AWX connections", e);
+            if (item != null) {
+                log.info("🔐 Secret {} of AWX Connection {} changed, reconciling it", secret, key);
+                enqueue(key, ReconcileLane.CHANGE, item);
+            }
+        }
+    }
+
+    /**
+     * Called by the timing wheel when the resync or retry timer of a connection fires
+     */
+    private void onTimer(ResourceKey key) {
+        Map<String, Object> item = informers.connections().get(key);
+        if (item == null) {
+            return;
+        }
+        if (!reconcileBackoff.isDue(key, () -> currentFingerprint(key.getNamespace(), item))) {
+            reconcileBackoff.nextAttempt(key).ifPresent(next -> scheduler.scheduleAt(key, next));
+            return;
+        }
+        enqueue(key, laneOf(key, item), item);
+    }
+
+    /**
+     * Requeues the projects of a connection whose readiness or credentials changed
+     */
+    private void requeueDependents(ConnectionKey connectionKey) {
+        for (ResourceKey project : informers.projectsByConnection().dependentsOf(connectionKey)) {
+            Map<String, Object> item = informers.projects().get(project);
+            if (item != null && !Informers.isPaused(item) && !startup.defer(project)) {
+                dispatcher.enqueue(new ReconcileRequest(project, connectionKey, ReconcileLane.CHANGE, item));
+            }
+        }
+    }
+
+    /**
+     * Queues a reconcile and arms a resync timer as a safety net in case the request is shed.
+     * The reconcile replaces the timer with its own next attempt.
+     * Paused connections are neither queued nor timed; removing the annotation queues them again.
+     * Neither are connections another replica reconciles.
+     */
+    private void enqueue(ResourceKey key, ReconcileLane lane, Map<String, Object> item) {
+        if (Informers.isPaused(item)) {
+            boolean wasScheduled = scheduler.isScheduled(key);
+            scheduler.cancel(key);
+            if (wasScheduled) {
+                log.info("⏸️ AWX Connection {} is paused, skipping reconciles", key);
+            }
+            return;
+        }
+        ConnectionKey connectionKey = new ConnectionKey(key.getNamespace(), key.getName());
+        if (!dispatcher.accepts(connectionKey)) {
+            scheduler.cancel(key);
+            return;
         }
+        scheduler.scheduleResync(key);
+        dispatcher.enqueue(new ReconcileRequest(key, connectionKey, lane, item));
     }
 
-    private void reconcile(String namespace, String name, Map<String, Object> resource) {
+    /**
+     * Classifies a listed connection: user changes go first, then retries, then routine resyncs.
+     */
+    private ReconcileLane laneOf(ResourceKey key, Map<String, Object> resource) {
+        Map<String, Object> metadata = (Map<String, Object>) resource.get("metadata");
+        Map<String, Object> status = (Map<String, Object>) resource.get("status");
+        if (metadata.get("deletionTimestamp") != null || status == null) {
+            return ReconcileLane.CHANGE;
+        }
+        Object observedGeneration = status.get("observedGeneration");
+        Long generation = extractGeneration(resource);
+        if (!(observedGeneration instanceof Number) || !Objects.equals(((Number) observedGeneration).longValue(), generation)) {
+            return ReconcileLane.CHANGE;
+        }
+        return reconcileBackoff.nextAttempt(key).isPresent() ? ReconcileLane.RETRY : ReconcileLane.RESYNC;
+    }
+
+    ReconcileResult reconcile(String namespace, String name, Map<String, Object> resource) {
+        ResourceKey key = ResourceKey.connection(namespace, name);
+        ConnectionKey connectionKey = new ConnectionKey(namespace, name);
+        String secretVersion = null;
+        long probeStart = System.nanoTime();
         Span span = tracer.spanBuilder("reconcile")
             .setSpanKind(SpanKind.INTERNAL)
             .setAttribute("awx.connection.namespace", namespace)
@@ -121,13 +270,27 @@ public class ConnectionController {
                 .build());
 
             try {
+                // Damp the first probe after a restart against the Ready state already published
+                seedHealth(connectionKey, resource);
+
                 // Convert resource to Connection model
-                Map<String, Object> spec = (Map<String, Object>) resource.get("spec");
+                Map<String, Object> spec = specOf(resource);
                 
                 // Read password from Kubernetes secret
                 String passwordSecretName = (String) spec.get("passwordSecretName");
                 String passwordSecretKey = (String) spec.get("passwordSecretKey");
-                String password = readPasswordFromSecret(namespace, passwordSecretName, passwordSecretKey);
+                String password;
+                String cachedSecretVersion = cachedSecretVersion(namespace, passwordSecretName);
+                if (cachedSecretVersion != null && clientRegistry.containsKey(connectionKey)
+                    && secretRef(passwordSecretName, passwordSecretKey, cachedSecretVersion).equals(appliedSecretVersions.get(key))) {
+                    // The secret has not changed since the client was built, so its password still holds
+                    secretVersion = cachedSecretVersion;
+                    password = clientRegistry.getConnection(connectionKey).getPassword();
+                } else {
+                    V1Secret secret = readSecret(namespace, passwordSecretName);
+                    secretVersion = secret.getMetadata() != null ? secret.getMetadata().getResourceVersion() : null;
+                    password = extractPassword(secret, namespace, passwordSecretName, passwordSecretKey);
+                }
                 
                 Connection connection = Connection.builder()
                     .name(name)
@@ -139,7 +302,7 @@ public class ConnectionController {
                     .build();
 
                 // Update client factory with this connection
-                clientFactory.updateClients(Collections.singletonList(connection));
+                clientFactory.updateClient(connection);
 
                 // Get the client and verify connection by fetching version info
                 AwxClient client = clientRegistry.getClient(namespace, name);
@@ -147,54 +310,44 @@ public class ConnectionController {
                     throw new IllegalStateException("Client not found after creation");
                 }
 
-                // Get version info with retry
-                VersionInfo versionInfo = client.getVersion()
-                    .doOnNext(info -> {
-                        log.info("📊 AWX version info: {}", info.getVersion());
-                        span.setAttribute("awx.version", info.getVersion());
-                        span.setAttribute("awx.instance_name", info.getInstanceName());
-                    })
-                    .doOnError(error -> {
-                        log.error("❌ Error getting AWX version", error);
-                        span.recordException(error);
-                    })
-                    .retry(3)
+                // Get version info with retry, charged against this connection's retry budget
+                VersionInfo versionInfo = RetryMono.of(
+                        client.getVersion()
+                            .doOnNext(info -> {
+                                log.info("📊 AWX version info: {}", info.getVersion());
+                                span.setAttribute("awx.version", info.getVersion());
+                                span.setAttribute("awx.instance_name", info.getInstanceName());
+                            })
+                            .doOnError(error -> {
+                                log.error("❌ Error getting AWX version", error);
+                                span.recordException(error);
+                            }),
+                        "get AWX version for " + namespace + "/" + name)
+                    .withPolicy(retryBudgetRegistry.getPolicy())
+                    .withBudget(retryBudgetRegistry.getBudget(connectionKey))
+                    .run()
                     .block();
 
                 if (versionInfo == null) {
                     throw new IllegalStateException("Failed to get AWX version info after retries");
                 }
+                ConnectionHealth health = healthTracker.record(connectionKey, true, probeLatency(probeStart));
+                heartbeats.beat(key, resource, true, health);
 
-                // Update status with success and version info - matching documented format
-                AwxConnectionStatus status = new AwxConnectionStatus();
-                
-                // Set base ResourceStatus fields
-                status.setPhase("Succeeded");
-                status.setMessage("Successfully connected to AWX instance");
-                status.setLastUpdateTime(java.time.OffsetDateTime.now());
-                status.setObservedGeneration(extractGeneration(resource));
-                
-                // Check if this is the first successful connection
-                int currentFailedAttempts = getFailedAttemptCount(namespace, name);
-                if (currentFailedAttempts > 0 || !hasFirstSuccessfulSync(namespace, name)) {
-                    status.setFirstSuccessfulSync(java.time.OffsetDateTime.now());
+                reconcileBackoff.recordSuccess(key);
+                String appliedSecret = secretRef(passwordSecretName, passwordSecretKey, secretVersion);
+                String previousSecret = appliedSecretVersions.put(key, appliedSecret);
+                if (health.isTransitioned() || (previousSecret != null && !previousSecret.equals(appliedSecret))) {
+                    requeueDependents(connectionKey);
                 }
-                
-                // Set AwxConnection-specific fields
-                status.setConnectionStatus("Connected");
-                status.setAwxVersion(versionInfo.getVersion());
-                status.setLastConnected(java.time.OffsetDateTime.now().toString());
-                status.setFailedConnectionAttempts(0);
-                
-                // Set detailed condition
-                status.setCondition(StatusCondition.create(
-                    StatusCondition.Types.READY,
-                    StatusCondition.Statuses.TRUE,
-                    "Connected",
-                    String.format("Successfully connected to AWX instance %s (version %s)", 
-                        versionInfo.getInstanceName(), 
-                        versionInfo.getVersion())
-                ));
+                if (health.isTransitioned() && health.isReady()) {
+                    events.record(key, resource, EventRecorder.NORMAL, "Connected", "Probe",
+                        "Connected to AWX instance " + versionInfo.getInstanceName() + " (version " + versionInfo.getVersion() + ")");
+                }
+                // Probe a recovering connection sooner, so the damped Ready state settles quickly
+                ReconcileResult result = health.isReady()
+                    ? scheduler.resync(key)
+                    : scheduler.requeueAfter(key, reconcileProperties.getRequeue().getInProgress());
 
                 // Update metrics
                 connectionSuccessCounter.add(1, Attributes.builder()
@@ -204,11 +357,15 @@ public class ConnectionController {
                     .build());
 
                 // Update the resource with new status
-                updateStatus(namespace, name, status);
+                Long generation = extractGeneration(resource);
+                statusWriter.write(key, resource, current -> successStatus(current, generation, versionInfo, health, result));
                 log.info("✅ Successfully updated status for AWX Connection: {}/{} (version: {})", 
                     namespace, name, versionInfo.getVersion());
+                return result;
 
             } catch (Exception e) {
+                ConnectionHealth health = healthTracker.record(connectionKey, false, probeLatency(probeStart));
+                heartbeats.beat(key, resource, false, health);
                 log.error("❌ Failed to reconcile AWX Connection: {}/{}", namespace, name, e);
                 span.recordException(e);
                 span.setStatus(StatusCode.ERROR, e.getMessage());
@@ -224,70 +381,115 @@ public class ConnectionController {
                     .put("error_type", e.getClass().getSimpleName())
                     .build());
 
-                // Update status with failure - matching documented format
-                AwxConnectionStatus status = new AwxConnectionStatus();
                 String errorMessage = e.getMessage();
                 if (e.getCause() != null) {
                     errorMessage += " (caused by: " + e.getCause().getMessage() + ")";
                 }
 
-                // Set base ResourceStatus fields
-                status.setPhase("Failed");
-                status.setMessage("Failed to connect to AWX instance: " + errorMessage);
-                status.setLastUpdateTime(java.time.OffsetDateTime.now());
-                status.setObservedGeneration(extractGeneration(resource));
-                
-                // Preserve existing firstSuccessfulSync and awxVersion if they exist
-                preserveExistingSuccessInfo(namespace, name, status);
-                
-                // Set AwxConnection-specific fields
-                status.setConnectionStatus("Error");
-                status.setFailedConnectionAttempts(getFailedAttemptCount(namespace, name) + 1);
-                
-                // Set detailed condition
-                status.setCondition(StatusCondition.create(
-                    StatusCondition.Types.READY,
-                    StatusCondition.Statuses.FALSE,
-                    "ConnectionFailed",
-                    "Failed to connect to AWX instance: " + errorMessage
-                ));
+                // Back off, and park the connection once it has failed too often
+                Long generation = extractGeneration(resource);
+                int failedAttempts = failedAttemptsOf(resource) + 1;
+                java.time.Instant nextAttempt = reconcileBackoff.recordFailure(key,
+                    failedAttempts, fingerprint(generation, secretVersion));
+                boolean parked = reconcileBackoff.isParked(key);
+                events.record(key, resource, EventRecorder.WARNING, parked ? "Parked" : "ConnectionFailed", "Probe",
+                    "Failed to connect to AWX instance: " + errorMessage);
+                if (health.isTransitioned()) {
+                    requeueDependents(connectionKey);
+                }
 
                 // Update the resource with new status
-                updateStatus(namespace, name, status);
+                String message = errorMessage;
+                statusWriter.write(key, resource, current -> failureStatus(current, generation, message, health, nextAttempt, parked));
                 log.warn("⚠️ Updated failure status for AWX Connection: {}/{} (attempt: {})", 
-                    namespace, name, status.getFailedConnectionAttempts());
+                    namespace, name, failedAttempts);
+                return ReconcileResult.retryAt(nextAttempt);
             }
         } finally {
             span.end();
         }
     }
 
-    private void updateStatus(String namespace, String name, AwxConnectionStatus status) {
-        try {
-            log.debug("🔄 Updating status for AWX Connection: {}/{}", namespace, name);
-            
-            // Create a merge patch with only the status field
-            Map<String, Object> patchBody = new HashMap<>();
-            patchBody.put("status", status);
-            
-            // Convert to JSON string for the patch
-            String patchJson = objectMapper.writeValueAsString(patchBody);
-            log.debug("📤 Sending patch JSON: {}", patchJson);
-            
-            // Use PatchUtils.patch() with buildCall pattern - working solution from GitHub issue
-            PatchUtils.patch(
-                Object.class,
-                () -> customObjectsApi.patchNamespacedCustomObjectStatus(
-                    GROUP, VERSION, namespace, PLURAL, name,
-                    new V1Patch(patchJson)).buildCall(null),
-                V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
-                apiClient
-            );
-                
-            log.debug("✅ Status update completed for AWX Connection: {}/{}", namespace, name);
-        } catch (Exception e) {
-            log.error("❌ Failed to update status for AWX Connection: {}/{} - {}", namespace, name, e.getMessage(), e);
+    /**
+     * Derives the status of a connection that answered, keeping what the current status knows about the past
+     */
+    private AwxConnectionStatus successStatus(Map<String, Object> current, Long generation, VersionInfo versionInfo,
+                                              ConnectionHealth health, ReconcileResult result) {
+        AwxConnectionStatus status = new AwxConnectionStatus();
+
+        // Set base ResourceStatus fields; the phase follows the damped Ready state
+        status.setPhase(health.isReady() ? "Succeeded" : "Failed");
+        status.setMessage("Successfully connected to AWX instance");
+        status.setLastUpdateTime(java.time.OffsetDateTime.now());
+        status.setObservedGeneration(generation);
+
+        // A connection recovering from failures starts a new successful streak
+        preserveExistingSuccessInfo(current, status);
+        if (failedAttemptsOf(current) > 0 || status.getFirstSuccessfulSync() == null) {
+            status.setFirstSuccessfulSync(java.time.OffsetDateTime.now());
         }
+
+        // Set AwxConnection-specific fields
+        status.setConnectionStatus("Connected");
+        status.setAwxVersion(versionInfo.getVersion());
+        status.setLastConnected(java.time.OffsetDateTime.now().toString());
+        status.setFailedConnectionAttempts(0);
+        status.setParked(false);
+        status.setHealthScore(health.getScore());
+        status.setProbeLatencyMillis(health.getAverageLatencyMillis());
+        status.setNextAttemptTime(result.getRequeueAt().atOffset(java.time.ZoneOffset.UTC));
+
+        // Set detailed condition
+        status.setCondition(readyCondition(health,
+            health.isReady() ? "Connected" : "Recovering",
+            String.format("Successfully connected to AWX instance %s (version %s)%s", 
+                versionInfo.getInstanceName(), 
+                versionInfo.getVersion(),
+                health.isReady() ? "" : ", waiting for stable probes before becoming ready")
+        ));
+        return withoutHeartbeatOnlyWrite(current, status);
+    }
+
+    /**
+     * Derives the status of a connection that failed, keeping what the current status knows about past successes
+     */
+    private AwxConnectionStatus failureStatus(Map<String, Object> current, Long generation, String errorMessage,
+                                              ConnectionHealth health, java.time.Instant nextAttempt, boolean parked) {
+        AwxConnectionStatus status = new AwxConnectionStatus();
+
+        // Set base ResourceStatus fields; the phase follows the damped Ready state
+        status.setPhase(health.isReady() ? "Succeeded" : "Failed");
+        status.setMessage("Failed to connect to AWX instance: " + errorMessage);
+        status.setLastUpdateTime(java.time.OffsetDateTime.now());
+        status.setObservedGeneration(generation);
+
+        // Preserve existing firstSuccessfulSync, awxVersion and lastConnected if they exist
+        preserveExistingSuccessInfo(current, status);
+
+        // Set AwxConnection-specific fields
+        status.setConnectionStatus("Error");
+        status.setFailedConnectionAttempts(failedAttemptsOf(current) + 1);
+        status.setParked(parked);
+        status.setNextAttemptTime(nextAttempt.atOffset(java.time.ZoneOffset.UTC));
+        status.setHealthScore(health.getScore());
+        status.setProbeLatencyMillis(health.getAverageLatencyMillis());
+
+        // Set detailed condition; a single failed probe does not flip a ready connection
+        status.setCondition(readyCondition(health,
+            parked ? "Parked" : health.isReady() ? "Degraded" : "ConnectionFailed",
+            "Failed to connect to AWX instance: " + errorMessage
+                + (parked ? " (parked until the spec or secret changes, next check at " + nextAttempt + ")" : "")
+        ));
+        return withoutHeartbeatOnlyWrite(current, status);
+    }
+
+    /**
+     * With Lease heartbeats, skips a status write that would only move the heartbeat fields
+     *
+     * @return The status to write, null if there is nothing to write
+     */
+    private AwxConnectionStatus withoutHeartbeatOnlyWrite(Map<String, Object> current, AwxConnectionStatus status) {
+        return heartbeats.isEnabled() && heartbeats.changesOnlyHeartbeat(current, status) ? null : status;
     }
 
     public void cleanup(String namespace, String name) {
@@ -301,9 +503,19 @@ public class ConnectionController {
             log.info("🧹 Cleaning up AWX Connection: {}/{}", namespace, name);
 
             try {
-                // The ClientFactory will handle removing the client when we call updateClients
-                // with an empty list for this namespace
-                clientFactory.updateClients(Collections.emptyList());
+                ConnectionKey connectionKey = new ConnectionKey(namespace, name);
+                ResourceKey key = ResourceKey.connection(namespace, name);
+                clientFactory.removeClient(connectionKey);
+                retryBudgetRegistry.remove(connectionKey);
+                reconcileBackoff.forget(key);
+                scheduler.cancel(key);
+                planner.untrack(key);
+                appliedSecretVersions.remove(key);
+                healthTracker.remove(connectionKey);
+                heartbeats.forget(key);
+                events.forget(key);
+                // Projects of a deleted connection must report that it is gone
+                requeueDependents(connectionKey);
             } catch (Exception e) {
                 log.error("❌ Failed to cleanup AWX Connection: {}/{}", namespace, name, e);
                 span.recordException(e);
@@ -314,6 +526,56 @@ public class ConnectionController {
         }
     }
 
+    /**
+     * Builds the Ready condition from the damped connection health.
+     * The transition time is the time of the last damped flip, not of this probe.
+     */
+    private static StatusCondition readyCondition(ConnectionHealth health, String reason, String message) {
+        StatusCondition condition = StatusCondition.create(
+            StatusCondition.Types.READY,
+            health.isReady() ? StatusCondition.Statuses.TRUE : StatusCondition.Statuses.FALSE,
+            reason,
+            message);
+        condition.setLastTransitionTime(health.getLastTransition().atOffset(java.time.ZoneOffset.UTC));
+        return condition;
+    }
+
+    /**
+     * Seeds the connection health from the Ready condition of the cached connection, if it has one
+     */
+    private void seedHealth(ConnectionKey connectionKey, Map<String, Object> resource) {
+        Map<String, Object> ready = readyConditionOf(resource);
+        Object status = ready != null ? ready.get("status") : null;
+        Object lastTransitionTime = ready != null ? ready.get("lastTransitionTime") : null;
+        if (status == null || lastTransitionTime == null) {
+            return;
+        }
+        try {
+            healthTracker.seed(connectionKey, StatusCondition.Statuses.TRUE.equals(status),
+                java.time.OffsetDateTime.parse(lastTransitionTime.toString()).toInstant());
+        } catch (java.time.format.DateTimeParseException e) {
+            log.debug("⚠️ Ignoring unparsable Ready transition time of AWX Connection {}: {}", connectionKey, lastTransitionTime);
+        }
+    }
+
+    private static Map<String, Object> readyConditionOf(Map<String, Object> resource) {
+        Object status = resource.get("status");
+        Object conditions = status instanceof Map<?, ?> map ? map.get("conditions") : null;
+        if (!(conditions instanceof List<?> list)) {
+            return null;
+        }
+        return list.stream()
+            .filter(Map.class::isInstance)
+            .map(condition -> (Map<String, Object>) condition)
+            .filter(condition -> StatusCondition.Types.READY.equals(condition.get("type")))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static java.time.Duration probeLatency(long probeStart) {
+        return java.time.Duration.ofNanos(System.nanoTime() - probeStart);
+    }
+
     /**
      * Safely extract generation from Kubernetes resource metadata.
      * Handles both Long and Double types that can come from JSON deserialization.
@@ -327,83 +589,94 @@ public class ConnectionController {
     }
 
     /**
-     * Get the current failed attempt count from the existing status.
+     * Gets the failed attempt count from the status of a resource
      */
-    private int getFailedAttemptCount(String namespace, String name) {
-        try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> resource = (Map<String, Object>) customObjectsApi.getNamespacedCustomObject(
-                GROUP, VERSION, namespace, PLURAL, name).execute();
-            
-            @SuppressWarnings("unchecked")
-            Map<String, Object> status = (Map<String, Object>) resource.get("status");
-            if (status != null && status.get("failedConnectionAttempts") != null) {
-                Object attempts = status.get("failedConnectionAttempts");
-                if (attempts instanceof Number) {
-                    return ((Number) attempts).intValue();
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Could not retrieve failed attempt count for {}/{}, defaulting to 0", namespace, name);
-        }
-        return 0;
+    private static int failedAttemptsOf(Map<String, Object> resource) {
+        Map<String, Object> status = (Map<String, Object>) resource.get("status");
+        Object attempts = status != null ? status.get("failedConnectionAttempts") : null;
+        return attempts instanceof Number ? ((Number) attempts).intValue() : 0;
     }
 
     /**
-     * Check if the resource already has a firstSuccessfulSync timestamp.
+     * The resourceVersion of a secret in the secret cache, null if it is not cached
      */
-    private boolean hasFirstSuccessfulSync(String namespace, String name) {
-        try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> resource = (Map<String, Object>) customObjectsApi.getNamespacedCustomObject(
-                GROUP, VERSION, namespace, PLURAL, name).execute();
-            
-            @SuppressWarnings("unchecked")
-            Map<String, Object> status = (Map<String, Object>) resource.get("status");
-            if (status != null && status.get("firstSuccessfulSync") != null) {
-                return true;
-            }
-        } catch (Exception e) {
-            log.debug("Could not retrieve firstSuccessfulSync for {}/{}, assuming false", namespace, name);
-        }
-        return false;
+    private String cachedSecretVersion(String namespace, String secretName) {
+        Map<String, Object> secret = secretName != null
+            ? informers.secrets().get(new ResourceKey(Informers.SECRET_KIND, namespace, secretName)) : null;
+        return secret != null ? ResourceInformer.resourceVersionOf(secret) : null;
     }
 
-    private String readPasswordFromSecret(String namespace, String secretName, String secretKey) {
+    private static String secretRef(String secretName, String secretKey, String secretVersion) {
+        return secretName + "/" + secretKey + "@" + secretVersion;
+    }
+
+    private V1Secret readSecret(String namespace, String secretName) {
         try {
-            V1Secret secret = new CoreV1Api(apiClient).readNamespacedSecret(secretName, namespace).execute();
-            if (secret.getData() == null || secret.getData().get(secretKey) == null) {
-                log.error("🔐 Secret key '{}' not found in secret '{}/{}'", secretKey, namespace, secretName);
-                return null;
-            }
-            byte[] passwordBytes = secret.getData().get(secretKey);
-            String password = new String(passwordBytes, StandardCharsets.UTF_8);
-            log.info("🔐 Successfully read password from secret '{}/{}'", namespace, secretName);
-            return password;
+            return bulkheads.callKubernetes(() -> coreV1Api.readNamespacedSecret(secretName, namespace).execute());
         } catch (Exception e) {
             log.error("❌ Failed to read password from secret: {}/{}", namespace, secretName, e);
             throw new RuntimeException("Failed to read password from secret: " + namespace + "/" + secretName, e);
         }
     }
 
-    private void preserveExistingSuccessInfo(String namespace, String name, AwxConnectionStatus status) {
-        try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> resource = (Map<String, Object>) customObjectsApi.getNamespacedCustomObject(
-                GROUP, VERSION, namespace, PLURAL, name).execute();
-            
-            @SuppressWarnings("unchecked")
-            Map<String, Object> existingStatus = (Map<String, Object>) resource.get("status");
-            if (existingStatus != null) {
-                if (existingStatus.get("firstSuccessfulSync") != null) {
-                    status.setFirstSuccessfulSync(java.time.OffsetDateTime.parse(existingStatus.get("firstSuccessfulSync").toString()));
-                }
-                if (existingStatus.get("awxVersion") != null) {
-                    status.setAwxVersion(existingStatus.get("awxVersion").toString());
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Could not preserve existing success info for {}/{}, assuming no change", namespace, name);
+    private String extractPassword(V1Secret secret, String namespace, String secretName, String secretKey) {
+        if (secret.getData() == null || secret.getData().get(secretKey) == null) {
+            log.error("🔐 Secret key '{}' not found in secret '{}/{}'", secretKey, namespace, secretName);
+            return null;
+        }
+        byte[] passwordBytes = secret.getData().get(secretKey);
+        String password = new String(passwordBytes, StandardCharsets.UTF_8);
+        log.info("🔐 Successfully read password from secret '{}/{}'", namespace, secretName);
+        return password;
+    }
+
+    /**
+     * Fingerprint of the inputs of a connection: a parked connection is retried when it changes.
+     */
+    private static String fingerprint(Long generation, String secretVersion) {
+        return generation + "/" + secretVersion;
+    }
+
+    /**
+     * The AWX host a connection talks to, null while it is not cached or its spec has no URL
+     */
+    static String awxHostOf(Map<String, Object> resource) {
+        Object url = resource != null ? specOf(resource).get("url") : null;
+        return url != null ? AwxRequestBudget.hostOf((String) url) : null;
+    }
+
+    private static Map<String, Object> specOf(Map<String, Object> resource) {
+        Map<String, Object> spec = (Map<String, Object>) resource.get("spec");
+        return spec != null ? spec : Map.of();
+    }
+
+    /**
+     * Computes the current input fingerprint of a cached connection.
+     * The secret version comes from the secret informer, so no API call is needed.
+     */
+    private String currentFingerprint(String namespace, Map<String, Object> resource) {
+        Map<String, Object> spec = specOf(resource);
+        Map<String, Object> secret = informers.secrets().get(
+            new ResourceKey(Informers.SECRET_KIND, namespace, (String) spec.get("passwordSecretName")));
+        return fingerprint(extractGeneration(resource), secret != null ? ResourceInformer.resourceVersionOf(secret) : null);
+    }
+
+    /**
+     * Copies what the status of a resource knows about past successes, which no single reconcile can tell
+     */
+    private static void preserveExistingSuccessInfo(Map<String, Object> resource, AwxConnectionStatus status) {
+        Map<String, Object> existingStatus = (Map<String, Object>) resource.get("status");
+        if (existingStatus == null) {
+            return;
+        }
+        if (existingStatus.get("firstSuccessfulSync") != null) {
+            status.setFirstSuccessfulSync(java.time.OffsetDateTime.parse(existingStatus.get("firstSuccessfulSync").toString()));
+        }
+        if (existingStatus.get("awxVersion") != null) {
+            status.setAwxVersion(existingStatus.get("awxVersion").toString());
+        }
+        if (existingStatus.get("lastConnected") != null) {
+            status.setLastConnected(existingStatus.get("lastConnected").toString());
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,490 @@
+package de.wolkenzentrale.operator.awx.controllers;
+
+import de.wolkenzentrale.operator.awx.client.ClientRegistry;
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.events.EventRecorder;
+import de.wolkenzentrale.operator.awx.informer.Informers;
+import de.wolkenzentrale.operator.awx.informer.ResourceInformer;
+import de.wolkenzentrale.operator.awx.interfaces.awx.client.AwxClient;
+import de.wolkenzentrale.operator.awx.interfaces.awx.service.AwxProjectService;
+import de.wolkenzentrale.operator.awx.model.api.ProjectInfo;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.Project;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.model.crd.ProjectSpec;
+import de.wolkenzentrale.operator.awx.model.crd.kubernetes.StatusCondition;
+import de.wolkenzentrale.operator.awx.model.crd.status.AwxProjectStatus;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileBackoff;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileDispatcher;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileLane;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileRequest;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileResult;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileScheduler;
+import de.wolkenzentrale.operator.awx.reconcile.ResyncPlanner;
+import de.wolkenzentrale.operator.awx.reconcile.StartupRamp;
+import de.wolkenzentrale.operator.awx.reconcile.StatusWriter;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.CustomObjectsApi;
+import io.kubernetes.client.util.PatchUtils;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Controller for reconciling AWX Project resources.
+ * Creates the project in the AWX instance of the referenced AwxConnection, pushes spec changes to it
+ * and mirrors its state into the status. A finalizer keeps a deleted AwxProject until its AWX project is deleted.
+ * The next reconcile follows the project state: soon while AWX is still updating the project,
+ * rarely once it is successful and the current generation is applied.
+ */
+@Slf4j
+@Component
+public class ProjectController {
+
+    /**
+     * AWX project states in which an update job is still on its way
+     */
+    private static final Set<String> IN_PROGRESS = Set.of("new", "pending", "waiting", "running");
+
+    /**
+     * AWX project states in which nothing changes until the spec changes
+     */
+    private static final Set<String> SETTLED = Set.of("successful", "ok");
+
+    static final String FINALIZER = "awx-project.finalizers.wolkenzentrale.de";
+    private static final String GROUP = "wolkenzentrale.de";
+    private static final String VERSION = "v1alpha1";
+    private static final String PLURAL = "awxprojects";
+
+    private final ClientRegistry clientRegistry;
+    private final ReconcileBackoff reconcileBackoff;
+    private final ReconcileProperties reconcileProperties;
+    private final StatusWriter statusWriter;
+    private final EventRecorder events;
+    private final ReconcileDispatcher dispatcher;
+    private final ReconcileScheduler scheduler;
+    private final ResyncPlanner planner;
+    private final Informers informers;
+    private final StartupRamp startup;
+    private final Tracer tracer;
+    private final ObjectMapper objectMapper;
+    private final ApiClient apiClient;
+    private final CustomObjectsApi customObjectsApi;
+
+    // Metrics
+    private final LongCounter reconciliationCounter;
+    private final LongCounter reconciliationErrorCounter;
+
+    public ProjectController(ClientRegistry clientRegistry, ReconcileBackoff reconcileBackoff,
+                             ReconcileProperties reconcileProperties, StatusWriter statusWriter, EventRecorder events,
+                             ReconcileDispatcher dispatcher, ReconcileScheduler scheduler, ResyncPlanner planner,
+                             Informers informers, StartupRamp startup, Tracer tracer, Meter meter,
+                             @Qualifier("kubernetesObjectMapper") ObjectMapper objectMapper, ApiClient apiClient) {
+        this.clientRegistry = clientRegistry;
+        this.reconcileBackoff = reconcileBackoff;
+        this.reconcileProperties = reconcileProperties;
+        this.statusWriter = statusWriter;
+        this.events = events;
+        this.dispatcher = dispatcher;
+        this.scheduler = scheduler;
+        this.planner = planner;
+        this.informers = informers;
+        this.startup = startup;
+        this.tracer = tracer;
+        this.objectMapper = objectMapper;
+        this.apiClient = apiClient;
+        this.customObjectsApi = new CustomObjectsApi(apiClient);
+        dispatcher.register(ResourceKey.PROJECT_KIND, request ->
+            reconcile(request.getKey(), request.getPayload()));
+        scheduler.register(ResourceKey.PROJECT_KIND, this::onTimer);
+        informers.projects().addListener(this::onEvent);
+        informers.connections().addListener(this::onConnectionEvent);
+
+        this.reconciliationCounter = meter.counterBuilder("awx.project.reconciliations")
+            .setDescription("Total number of AWX project reconciliations")
+            .build();
+        this.reconciliationErrorCounter = meter.counterBuilder("awx.project.reconciliation.errors")
+            .setDescription("Total number of AWX project reconciliation errors")
+            .build();
+    }
+
+    /**
+     * Called by the project informer for every added, changed or deleted project.
+     * Unchanged projects are reconciled when their timer fires.
+     */
+    private void onEvent(ResourceKey key, Map<String, Object> previous, Map<String, Object> current) {
+        if (current == null) {
+            log.info("🗑️ AWX Project {} is gone, dropping its timers", key);
+            scheduler.cancel(key);
+            planner.untrack(key);
+            reconcileBackoff.forget(key);
+            events.forget(key);
+            return;
+        }
+        planner.track(key, awxHostOf(Informers.connectionOf(key, current)));
+        if (!startup.isReleased()) {
+            return;
+        }
+        ReconcileLane lane = laneOf(key, current);
+        if (previous == null || lane == ReconcileLane.CHANGE || !scheduler.isScheduled(key)) {
+            enqueue(key, lane, current);
+        }
+    }
+
+    /**
+     * Re-plans the projects of a connection whose AWX host became known, changed or went away
+     */
+    private void onConnectionEvent(ResourceKey connection, Map<String, Object> previous, Map<String, Object> current) {
+        String host = ConnectionController.awxHostOf(current);
+        if (previous != null && current != null && Objects.equals(ConnectionController.awxHostOf(previous), host)) {
+            return;
+        }
+        for (ResourceKey key : informers.projectsByConnection().dependentsOf(
+                new ConnectionKey(connection.getNamespace(), connection.getName()))) {
+            planner.track(key, host);
+        }
+    }
+
+    private void onTimer(ResourceKey key) {
+        Map<String, Object> item = informers.projects().get(key);
+        if (item != null) {
+            enqueue(key, laneOf(key, item), item);
+        }
+    }
+
+    /**
+     * Queues a reconcile with a resync timer as safety net; paused projects are neither queued nor timed
+     * unless they are being deleted, so a pause never blocks a deletion.
+     * Neither are projects of connections another replica reconciles.
+     */
+    private void enqueue(ResourceKey key, ReconcileLane lane, Map<String, Object> item) {
+        if (Informers.isPaused(item) && ((Map<String, Object>) item.get("metadata")).get("deletionTimestamp") == null) {
+            boolean wasScheduled = scheduler.isScheduled(key);
+            scheduler.cancel(key);
+            if (wasScheduled) {
+                log.info("⏸️ AWX Project {} is paused, skipping reconciles", key);
+            }
+            return;
+        }
+        ConnectionKey connectionKey = Informers.connectionOf(key, item);
+        if (!dispatcher.accepts(connectionKey)) {
+            scheduler.cancel(key);
+            return;
+        }
+        scheduler.scheduleResync(key);
+        dispatcher.enqueue(new ReconcileRequest(key, connectionKey, lane, item));
+    }
+
+    private ReconcileLane laneOf(ResourceKey key, Map<String, Object> resource) {
+        Map<String, Object> metadata = (Map<String, Object>) resource.get("metadata");
+        Map<String, Object> status = (Map<String, Object>) resource.get("status");
+        if (metadata.get("deletionTimestamp") != null || status == null
+            || !Objects.equals(observedGeneration(status), extractGeneration(resource))) {
+            return ReconcileLane.CHANGE;
+        }
+        return reconcileBackoff.nextAttempt(key).isPresent() ? ReconcileLane.RETRY : ReconcileLane.RESYNC;
+    }
+
+    ReconcileResult reconcile(ResourceKey key, Map<String, Object> resource) {
+        String namespace = key.getNamespace();
+        String name = key.getName();
+        Span span = tracer.spanBuilder("reconcile")
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute("awx.project.namespace", namespace)
+            .setAttribute("awx.project.name", name)
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            log.info("🔄 Reconciling AWX Project: {}/{}", namespace, name);
+            reconciliationCounter.add(1, Attributes.builder()
+                .put("namespace", namespace)
+                .put("name", name)
+                .build());
+
+            Long generation = extractGeneration(resource);
+            Map<String, Object> existingStatus = (Map<String, Object>) resource.get("status");
+            AwxProjectStatus status = new AwxProjectStatus();
+            status.setObservedGeneration(generation);
+            status.setLastUpdateTime(OffsetDateTime.now());
+            try {
+                Integer awxId = existingStatus != null && existingStatus.get("awxId") instanceof Number
+                    ? ((Number) existingStatus.get("awxId")).intValue() : null;
+                ConnectionKey connectionKey = Informers.connectionOf(key, resource);
+                // Gate on the cached readiness; the connection requeues this project once that changes
+                AwxClient client = isReady(connectionKey) && clientRegistry.containsKey(connectionKey)
+                    ? clientRegistry.getClient(connectionKey) : null;
+                if (((Map<String, Object>) resource.get("metadata")).get("deletionTimestamp") != null) {
+                    return delete(key, resource, connectionKey, client, awxId);
+                }
+                ProjectSpec spec = objectMapper.convertValue(resource.get("spec"), ProjectSpec.class);
+                if (client == null) {
+                    status.setPhase("Pending");
+                    status.setMessage("Waiting for AwxConnection " + connectionKey);
+                    status.setCondition(StatusCondition.create(StatusCondition.Types.READY, StatusCondition.Statuses.FALSE,
+                        "ConnectionNotReady", "AwxConnection " + connectionKey + " is not ready"));
+                    return finish(key, resource, status, scheduler.resync(key));
+                }
+
+                if (!finalizersOf(resource).contains(FINALIZER)) {
+                    // A pass of its own: the patch queues the project again, and that pass talks to AWX
+                    addFinalizer(key, resource);
+                    return scheduler.resync(key);
+                }
+                // Only a project that is really gone is created again; a failed lookup must not duplicate it
+                ProjectInfo project = awxId != null ? AwxProjectService.findProject(client, awxId).orElse(null) : null;
+                Project desired = spec.toProject();
+                if (project == null && awxId == null) {
+                    // The ID of a project created by an earlier pass may not have reached the status yet
+                    project = AwxProjectService.findProjectByName(client, desired.getName()).orElse(null);
+                    if (project != null) {
+                        events.record(key, resource, EventRecorder.NORMAL, "Adopted", "Create",
+                            "Adopted existing AWX project " + project.getId());
+                    }
+                }
+                if (project == null) {
+                    project = AwxProjectService.createProject(client, desired);
+                    span.setAttribute("awx.project.created", true);
+                    events.record(key, resource, EventRecorder.NORMAL, "Created", "Create",
+                        "Created AWX project " + project.getId());
+                } else if (!isApplied(desired, project)) {
+                    project = AwxProjectService.updateProject(client, project.getId(), desired);
+                    span.setAttribute("awx.project.updated", true);
+                    events.record(key, resource, EventRecorder.NORMAL, "Updated", "Update",
+                        "Updated AWX project " + project.getId());
+                }
+
+                status.setAwxId(project.getId());
+                status.setCreated(project.getCreated());
+                status.setModified(project.getModified());
+                status.setStatus(project.getStatus());
+                status.setFirstSuccessfulSync(existingStatus != null && existingStatus.get("firstSuccessfulSync") != null
+                    ? OffsetDateTime.parse(existingStatus.get("firstSuccessfulSync").toString()) : OffsetDateTime.now());
+                applyProjectState(status, project.getStatus());
+                reconcileBackoff.recordSuccess(key);
+
+                boolean generationApplied = Objects.equals(observedGeneration(existingStatus), generation);
+                return finish(key, resource, status, scheduler.requeueAfter(key, requeueHint(project.getStatus(), generationApplied)));
+            } catch (Exception e) {
+                log.error("❌ Failed to reconcile AWX Project: {}/{}", namespace, name, e);
+                span.recordException(e);
+                span.setStatus(StatusCode.ERROR, e.getMessage());
+                reconciliationErrorCounter.add(1, Attributes.builder()
+                    .put("namespace", namespace)
+                    .put("name", name)
+                    .put("error_type", e.getClass().getSimpleName())
+                    .build());
+
+                events.record(key, resource, EventRecorder.WARNING, "ReconcileFailed", "Reconcile",
+                    "Failed to reconcile AWX project: " + e.getMessage());
+                status.setPhase("Failed");
+                status.setMessage("Failed to reconcile AWX project: " + e.getMessage());
+                status.setCondition(StatusCondition.create(StatusCondition.Types.READY, StatusCondition.Statuses.FALSE,
+                    "ReconcileFailed", e.getMessage()));
+                int failures = reconcileBackoff.failures(key) + 1;
+                return finish(key, resource, status, ReconcileResult.retryAt(
+                    reconcileBackoff.recordFailure(key, failures, String.valueOf(generation))));
+            }
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Deletes the AWX project of a deleted AwxProject, then removes the finalizer so Kubernetes can remove the resource.
+     * A project whose AwxConnection is gone cannot be reached anymore and is left in AWX.
+     */
+    private ReconcileResult delete(ResourceKey key, Map<String, Object> resource, ConnectionKey connectionKey,
+                                   AwxClient client, Integer awxId) throws Exception {
+        List<String> finalizers = finalizersOf(resource);
+        if (!finalizers.contains(FINALIZER)) {
+            return scheduler.resync(key);
+        }
+        if (awxId != null) {
+            if (client != null) {
+                AwxProjectService.deleteProjectIfExists(client, awxId);
+            } else if (informers.connections().get(
+                    ResourceKey.connection(connectionKey.getNamespace(), connectionKey.getName())) != null) {
+                throw new IllegalStateException("AwxConnection " + connectionKey
+                    + " is not ready, AWX project " + awxId + " cannot be deleted yet");
+            } else {
+                log.warn("⚠️ AwxConnection {} is gone, leaving AWX project {} of {} in AWX", connectionKey, awxId, key);
+                events.record(key, resource, EventRecorder.WARNING, "Orphaned", "Delete",
+                    "AwxConnection " + connectionKey + " is gone, AWX project " + awxId + " was not deleted");
+            }
+        }
+        List<String> remaining = new ArrayList<>(finalizers);
+        remaining.remove(FINALIZER);
+        patchFinalizers(key, resource, remaining);
+        log.info("🗑️ Released AWX Project {} for deletion", key);
+        return scheduler.resync(key);
+    }
+
+    /**
+     * Adds the finalizer before the first AWX project is created, so no AWX project can outlive its AwxProject
+     */
+    private void addFinalizer(ResourceKey key, Map<String, Object> resource) throws Exception {
+        List<String> finalizers = finalizersOf(resource);
+        List<String> updated = new ArrayList<>(finalizers);
+        updated.add(FINALIZER);
+        patchFinalizers(key, resource, updated);
+        log.info("🔒 Added finalizer to AWX Project {}", key);
+    }
+
+    /**
+     * Replaces the finalizers of a project, guarded by the resourceVersion so finalizers of others are never lost
+     */
+    private void patchFinalizers(ResourceKey key, Map<String, Object> resource, List<String> finalizers) throws Exception {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("resourceVersion", ResourceInformer.resourceVersionOf(resource));
+        metadata.put("finalizers", finalizers);
+        String body = objectMapper.writeValueAsString(Map.of("metadata", metadata));
+        PatchUtils.patch(
+            Object.class,
+            () -> customObjectsApi.patchNamespacedCustomObject(
+                GROUP, VERSION, key.getNamespace(), PLURAL, key.getName(), new V1Patch(body)).buildCall(null),
+            V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
+            apiClient
+        );
+    }
+
+    static List<String> finalizersOf(Map<String, Object> resource) {
+        Object finalizers = ((Map<String, Object>) resource.get("metadata")).get("finalizers");
+        return finalizers instanceof List<?> list
+            ? list.stream().map(String::valueOf).toList()
+            : List.of();
+    }
+
+    /**
+     * Chooses how soon to look at the project again.
+     * In-progress updates are polled often; a successful project with its generation applied only rarely.
+     */
+    Duration requeueHint(String projectStatus, boolean generationApplied) {
+        ReconcileProperties.Requeue requeue = reconcileProperties.getRequeue();
+        if (projectStatus != null && IN_PROGRESS.contains(projectStatus)) {
+            return requeue.getInProgress();
+        }
+        if (projectStatus != null && SETTLED.contains(projectStatus) && generationApplied) {
+            return requeue.getSettled();
+        }
+        return reconcileProperties.getInterval();
+    }
+
+    /**
+     * Checks whether AWX holds every field the spec sets; fields the spec leaves out keep their AWX defaults
+     */
+    static boolean isApplied(Project desired, Project actual) {
+        return matches(desired.getName(), actual.getName())
+            && matches(desired.getDescription(), actual.getDescription())
+            && matches(desired.getScmType(), actual.getScmType())
+            && matches(desired.getScmUrl(), actual.getScmUrl())
+            && matches(desired.getScmBranch(), actual.getScmBranch());
+    }
+
+    private static boolean matches(String desired, String actual) {
+        return desired == null || desired.equals(actual);
+    }
+
+    static void applyProjectState(AwxProjectStatus status, String projectStatus) {
+        if (projectStatus != null && IN_PROGRESS.contains(projectStatus)) {
+            status.setPhase("Running");
+            status.setMessage("AWX is updating the project (" + projectStatus + ")");
+            status.setCondition(StatusCondition.create(StatusCondition.Types.READY, StatusCondition.Statuses.FALSE,
+                "Updating", "Project update is " + projectStatus));
+        } else if (projectStatus == null || SETTLED.contains(projectStatus)) {
+            status.setPhase("Succeeded");
+            status.setMessage("Project is in sync with AWX");
+            status.setCondition(StatusCondition.create(StatusCondition.Types.READY, StatusCondition.Statuses.TRUE,
+                "Synced", "Project is in sync with AWX"));
+        } else {
+            status.setPhase("Failed");
+            status.setMessage("AWX reports project status " + projectStatus);
+            status.setCondition(StatusCondition.create(StatusCondition.Types.READY, StatusCondition.Statuses.FALSE,
+                "UpdateFailed", "Project update is " + projectStatus));
+        }
+    }
+
+    private ReconcileResult finish(ResourceKey key, Map<String, Object> resource, AwxProjectStatus status,
+                                   ReconcileResult result) {
+        status.setNextAttemptTime(result.getRequeueAt().atOffset(ZoneOffset.UTC));
+        statusWriter.write(key, resource, current -> withKnownProject(current, status));
+        return result;
+    }
+
+    /**
+     * Fills in what the current status knows about the AWX project where the reconcile did not learn it,
+     * so a Pending or Failed write does not drop the ID of a project that was already created
+     */
+    AwxProjectStatus withKnownProject(Map<String, Object> resource, AwxProjectStatus status) {
+        Map<String, Object> existingStatus = (Map<String, Object>) resource.get("status");
+        if (existingStatus == null) {
+            return status;
+        }
+        AwxProjectStatus derived = objectMapper.convertValue(status, AwxProjectStatus.class);
+        if (derived.getAwxId() == null && existingStatus.get("awxId") instanceof Number awxId) {
+            derived.setAwxId(awxId.intValue());
+            derived.setCreated(timestampOf(existingStatus, "created"));
+            derived.setModified(timestampOf(existingStatus, "modified"));
+            derived.setStatus((String) existingStatus.get("status"));
+        }
+        if (derived.getFirstSuccessfulSync() == null) {
+            derived.setFirstSuccessfulSync(timestampOf(existingStatus, "firstSuccessfulSync"));
+        }
+        return derived;
+    }
+
+    private static OffsetDateTime timestampOf(Map<String, Object> status, String field) {
+        Object value = status.get(field);
+        return value != null ? OffsetDateTime.parse(value.toString()) : null;
+    }
+
+    /**
+     * Checks the Ready condition of a connection in the informer cache
+     */
+    private boolean isReady(ConnectionKey connectionKey) {
+        Map<String, Object> connection = informers.connections().get(
+            ResourceKey.connection(connectionKey.getNamespace(), connectionKey.getName()));
+        Map<String, Object> status = connection != null ? (Map<String, Object>) connection.get("status") : null;
+        Object conditions = status != null ? status.get("conditions") : null;
+        if (!(conditions instanceof List<?> list)) {
+            return false;
+        }
+        return list.stream()
+            .filter(Map.class::isInstance)
+            .map(Map.class::cast)
+            .anyMatch(condition -> StatusCondition.Types.READY.equals(condition.get("type"))
+                && StatusCondition.Statuses.TRUE.equals(condition.get("status")));
+    }
+
+    /**
+     * The AWX host a project talks to, null until its connection is cached
+     */
+    private String awxHostOf(ConnectionKey connectionKey) {
+        return ConnectionController.awxHostOf(informers.connections().get(
+            ResourceKey.connection(connectionKey.getNamespace(), connectionKey.getName())));
+    }
+
+    private static Long observedGeneration(Map<String, Object> status) {
+        Object observed = status != null ? status.get("observedGeneration") : null;
+        return observed instanceof Number ? ((Number) observed).longValue() : null;
+    }
+
+    private static Long extractGeneration(Map<String, Object> resource) {
+        Object generation = ((Map<String, Object>) resource.get("metadata")).get("generation");
+        return generation instanceof Number ? ((Number) generation).longValue() : null;
+    }
+}
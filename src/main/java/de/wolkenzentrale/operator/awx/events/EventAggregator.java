@@ -0,0 +1,210 @@
+package de.wolkenzentrale.operator.awx.events;
+
+import de.wolkenzentrale.operator.awx.config.EventProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.util.TokenBucket;
+import io.kubernetes.client.openapi.models.V1ObjectReference;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aggregates repeated Events and decides which of them may be written.
+ * <p>
+ * Occurrences with the same resource, type, reason and message form a series as long as they repeat
+ * within the aggregation window: the first occurrence creates an Event, repeats only raise its count.
+ * A drain hands out the series with occurrences that are not written yet, as far as the token buckets
+ * of their resource and of the whole replica allow. Series held back keep counting and go out with a later drain,
+ * as do series whose write failed.
+ * <p>
+ * All methods are synchronized; the aggregator is meant to be drained by a single flushing thread.
+ */
+public class EventAggregator {
+
+    private final EventProperties properties;
+    private final TokenBucket global;
+    private final Map<ResourceKey, TokenBucket> perObject = new HashMap<>();
+    private final Map<SeriesKey, Series> series = new LinkedHashMap<>();
+    private long throttled;
+    private long dropped;
+
+    public EventAggregator(EventProperties properties) {
+        this.properties = properties;
+        this.global = new TokenBucket(properties.getGlobal().getRatePerSecond(), properties.getGlobal().getBurst());
+    }
+
+    /**
+     * Records an occurrence of an Event
+     *
+     * @return false if it was dropped because too many distinct Events are kept
+     */
+    public synchronized boolean record(ResourceKey key, V1ObjectReference regarding, String type, String reason,
+                                       String action, String message, Instant now) {
+        SeriesKey seriesKey = new SeriesKey(key, type, reason, message);
+        Series existing = series.get(seriesKey);
+        if (existing != null && !isExpired(existing, now)) {
+            existing.count++;
+            existing.lastObserved = now;
+            existing.pending = true;
+            return true;
+        }
+        if (existing == null && series.size() >= properties.getMaxSeries()) {
+            dropped++;
+            return false;
+        }
+        series.put(seriesKey, new Series(seriesKey, regarding, action, now));
+        return true;
+    }
+
+    /**
+     * Takes the series to write now: at most one batch, within the rate limits
+     */
+    public synchronized List<Emission> drain(Instant now) {
+        List<Emission> batch = new ArrayList<>();
+        Set<ResourceKey> live = new HashSet<>();
+        boolean globalExhausted = false;
+        Iterator<Series> iterator = series.values().iterator();
+        while (iterator.hasNext()) {
+            Series current = iterator.next();
+            if (!current.pending) {
+                if (isExpired(current, now)) {
+                    iterator.remove();
+                } else {
+                    live.add(current.key.resource());
+                }
+                continue;
+            }
+            live.add(current.key.resource());
+            if (globalExhausted || batch.size() >= properties.getMaxBatch()) {
+                continue;
+            }
+            if (!global.tryAcquire()) {
+                throttled++;
+                globalExhausted = true;
+                continue;
+            }
+            TokenBucket bucket = perObject.computeIfAbsent(current.key.resource(), ignored ->
+                new TokenBucket(properties.getPerObject().getRatePerSecond(), properties.getPerObject().getBurst()));
+            if (!bucket.tryAcquire()) {
+                // The replica's token is not spent on a series that stays back
+                global.release();
+                throttled++;
+                continue;
+            }
+            current.pending = false;
+            batch.add(new Emission(current, current.count, current.firstObserved, current.lastObserved, current.eventName));
+        }
+        // Buckets of resources without Events refill to full anyway
+        perObject.keySet().retainAll(live);
+        return batch;
+    }
+
+    /**
+     * Puts a drained series back after its Event could not be written, so a later drain retries it
+     */
+    public synchronized void failed(Emission emission) {
+        emission.series().pending = true;
+    }
+
+    /**
+     * Remembers the Event created for a series, so repeats update it
+     */
+    public synchronized void created(Emission emission, String eventName) {
+        emission.series().eventName = eventName;
+    }
+
+    /**
+     * Drops all series of a resource that no longer exists
+     */
+    public synchronized void forget(ResourceKey key) {
+        series.keySet().removeIf(seriesKey -> seriesKey.resource().equals(key));
+        perObject.remove(key);
+    }
+
+    public synchronized int pendingCount() {
+        return (int) series.values().stream().filter(current -> current.pending).count();
+    }
+
+    /**
+     * Number of times a series was held back by a rate limit
+     */
+    public synchronized long throttledCount() {
+        return throttled;
+    }
+
+    /**
+     * Number of occurrences dropped because too many distinct Events were kept
+     */
+    public synchronized long droppedCount() {
+        return dropped;
+    }
+
+    private boolean isExpired(Series current, Instant now) {
+        return Duration.between(current.lastObserved, now).compareTo(properties.getAggregationWindow()) > 0;
+    }
+
+    private record SeriesKey(ResourceKey resource, String type, String reason, String message) {
+    }
+
+    /**
+     * Occurrences of one Event; only changed while holding the lock of the aggregator
+     */
+    public static final class Series {
+        private final SeriesKey key;
+        private final V1ObjectReference regarding;
+        private final String action;
+        private final Instant firstObserved;
+        private Instant lastObserved;
+        private int count = 1;
+        private boolean pending = true;
+        private String eventName;
+
+        private Series(SeriesKey key, V1ObjectReference regarding, String action, Instant now) {
+            this.key = key;
+            this.regarding = regarding;
+            this.action = action;
+            this.firstObserved = now;
+            this.lastObserved = now;
+        }
+
+        public ResourceKey getResource() {
+            return key.resource();
+        }
+
+        public V1ObjectReference getRegarding() {
+            return regarding;
+        }
+
+        public String getType() {
+            return key.type();
+        }
+
+        public String getReason() {
+            return key.reason();
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getMessage() {
+            return key.message();
+        }
+    }
+
+    /**
+     * A series to write, with its count and Event as of the drain
+     *
+     * @param eventName The Event of the series, null if none was created yet
+     */
+    public record Emission(Series series, int count, Instant firstObserved, Instant lastObserved, String eventName) {
+    }
+}
@@ -0,0 +1,207 @@
+package de.wolkenzentrale.operator.awx.events;
+
+import de.wolkenzentrale.operator.awx.config.EventProperties;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.EventsV1Api;
+import io.kubernetes.client.openapi.models.EventsV1Event;
+import io.kubernetes.client.openapi.models.EventsV1EventSeries;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1ObjectReference;
+import io.kubernetes.client.util.PatchUtils;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records Kubernetes Events about AwxConnections and AwxProjects, so failures show up in
+ * {@code kubectl describe} and not only in the operator log.
+ * <p>
+ * Recording only counts the occurrence in an {@link EventAggregator} and never calls the API,
+ * so it is cheap on the reconcile path. A single background thread flushes the aggregator in batches:
+ * the first occurrence of an Event creates it, repeats update its {@code series} with the count and the
+ * time of the last occurrence. Per-resource and global token buckets bound the writes, so a failing
+ * fleet of resources cannot flood etcd with Events.
+ */
+@Slf4j
+@Component
+public class EventRecorder {
+
+    public static final String NORMAL = "Normal";
+    public static final String WARNING = "Warning";
+
+    static final String REPORTING_CONTROLLER = "wolkenzentrale.de/awx-resource-operator";
+    private static final int NOT_FOUND = 404;
+    // Events.k8s.io limits the note of an Event to 1 kB
+    private static final int MAX_NOTE_LENGTH = 1024;
+    private static final AttributeKey<String> TYPE = AttributeKey.stringKey("type");
+    private static final AttributeKey<String> REASON = AttributeKey.stringKey("reason");
+
+    private final EventProperties properties;
+    private final EventAggregator aggregator;
+    private final ApiClient apiClient;
+    private final EventsV1Api eventsApi;
+    private final String identity;
+    private final Clock clock;
+    private final LongCounter emitted;
+    private ScheduledExecutorService ticker;
+
+    public EventRecorder(EventProperties properties, ApiClient apiClient, Meter meter) {
+        this.properties = properties;
+        this.aggregator = new EventAggregator(properties);
+        this.apiClient = apiClient;
+        this.eventsApi = new EventsV1Api(apiClient);
+        this.identity = LeaderElection.replicaIdentity(null);
+        this.clock = Clock.systemUTC();
+
+        this.emitted = meter.counterBuilder("awx.events.emitted")
+            .setDescription("Kubernetes Events created or updated")
+            .build();
+        meter.counterBuilder("awx.events.throttled")
+            .setDescription("Event writes held back by the per-resource or global rate limit")
+            .buildWithCallback(measurement -> measurement.record(aggregator.throttledCount()));
+        meter.counterBuilder("awx.events.dropped")
+            .setDescription("Event occurrences dropped because too many distinct Events were kept")
+            .buildWithCallback(measurement -> measurement.record(aggregator.droppedCount()));
+        meter.gaugeBuilder("awx.events.pending")
+            .setDescription("Events with occurrences that are not written yet")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(aggregator.pendingCount()));
+    }
+
+    /**
+     * Records an occurrence of an Event about a resource
+     *
+     * @param resource The resource the Event is about
+     * @param type {@link #NORMAL} or {@link #WARNING}
+     * @param reason Short machine-readable reason, e.g. {@code ConnectionFailed}
+     * @param action What the operator did or failed to do, e.g. {@code Probe}
+     * @param message Human-readable message; occurrences only aggregate if it is the same
+     */
+    public void record(ResourceKey key, Map<String, Object> resource, String type, String reason,
+                       String action, String message) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!aggregator.record(key, referenceOf(key, resource), type, reason, action, message, clock.instant())) {
+            log.debug("📣 Dropped {} Event for {}, too many distinct Events", reason, key);
+        }
+    }
+
+    /**
+     * Drops the pending Events of a resource that no longer exists
+     */
+    public void forget(ResourceKey key) {
+        aggregator.forget(key);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        ticker.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("📣 Recording Kubernetes Events as {}", identity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    void flush() {
+        for (EventAggregator.Emission emission : aggregator.drain(clock.instant())) {
+            try {
+                emit(emission);
+                emitted.add(1, Attributes.of(TYPE, emission.series().getType(), REASON, emission.series().getReason()));
+            } catch (Exception e) {
+                log.warn("⚠️ Failed to record {} Event for {}, retrying with a later flush: {}", emission.series().getReason(),
+                    emission.series().getResource(), e.getMessage());
+                aggregator.failed(emission);
+            }
+        }
+    }
+
+    private void emit(EventAggregator.Emission emission) throws ApiException {
+        EventAggregator.Series series = emission.series();
+        String namespace = series.getResource().getNamespace();
+        if (emission.eventName() != null) {
+            try {
+                String body = apiClient.getJSON().serialize(Map.of("series", seriesOf(emission)));
+                PatchUtils.patch(
+                    EventsV1Event.class,
+                    () -> eventsApi.patchNamespacedEvent(emission.eventName(), namespace, new V1Patch(body)).buildCall(null),
+                    V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
+                    apiClient
+                );
+                return;
+            } catch (ApiException e) {
+                // The Event expired; start a new one that carries the count so far
+                if (e.getCode() != NOT_FOUND) {
+                    throw e;
+                }
+            }
+        }
+        String eventName = series.getResource().getName() + "." + Long.toHexString(
+            emission.firstObserved().getEpochSecond() * 1_000_000_000L + emission.firstObserved().getNano());
+        EventsV1Event event = new EventsV1Event()
+            .metadata(new V1ObjectMeta().name(eventName).namespace(namespace))
+            .eventTime(emission.firstObserved().atOffset(ZoneOffset.UTC))
+            .reportingController(REPORTING_CONTROLLER)
+            .reportingInstance(identity)
+            .regarding(series.getRegarding())
+            .type(series.getType())
+            .reason(series.getReason())
+            .action(series.getAction())
+            .note(truncate(series.getMessage()))
+            .series(emission.count() > 1 ? seriesOf(emission) : null);
+        eventsApi.createNamespacedEvent(namespace, event).execute();
+        aggregator.created(emission, eventName);
+    }
+
+    private static EventsV1EventSeries seriesOf(EventAggregator.Emission emission) {
+        return new EventsV1EventSeries()
+            .count(emission.count())
+            .lastObservedTime(emission.lastObserved().atOffset(ZoneOffset.UTC));
+    }
+
+    static V1ObjectReference referenceOf(ResourceKey key, Map<String, Object> resource) {
+        Map<String, Object> metadata = (Map<String, Object>) resource.get("metadata");
+        return new V1ObjectReference()
+            .apiVersion((String) resource.get("apiVersion"))
+            .kind(key.getKind())
+            .namespace(key.getNamespace())
+            .name(key.getName())
+            .uid(metadata != null ? (String) metadata.get("uid") : null);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_NOTE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_NOTE_LENGTH - 3) + "...";
+    }
+}
@@ -0,0 +1,36 @@
+package de.wolkenzentrale.operator.awx.health;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Damped health of a connection after a probe
+ */
+@Value
+public class ConnectionHealth {
+    /**
+     * Damped Ready state
+     */
+    boolean ready;
+
+    /**
+     * Whether this probe flipped the damped state
+     */
+    boolean transitioned;
+
+    /**
+     * When the damped state last flipped
+     */
+    Instant lastTransition;
+
+    /**
+     * Success ratio over the recent probes, between 0.0 and 1.0
+     */
+    double score;
+
+    /**
+     * Average latency of the recent probes in milliseconds
+     */
+    long averageLatencyMillis;
+}
@@ -0,0 +1,60 @@
+package de.wolkenzentrale.operator.awx.health;
+
+import de.wolkenzentrale.operator.awx.config.HealthProperties;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe registry of probe histories, one per AWX connection.
+ */
+@Slf4j
+@Component
+public class ConnectionHealthTracker {
+    private final Map<ConnectionKey, ProbeHistory> histories = new ConcurrentHashMap<>();
+    private final HealthProperties properties;
+
+    public ConnectionHealthTracker(HealthProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Records a probe result for a connection
+     *
+     * @return The damped health of the connection
+     */
+    public ConnectionHealth record(ConnectionKey key, boolean success, Duration latency) {
+        ConnectionHealth health = histories
+            .computeIfAbsent(key, ignored -> new ProbeHistory(properties))
+            .record(success, latency, Instant.now());
+        if (health.isTransitioned()) {
+            log.info("🩺 Connection {} is now {} (health score {})", key, health.isReady() ? "ready" : "not ready", health.getScore());
+        }
+        return health;
+    }
+
+    /**
+     * Seeds the history of a connection that has none yet from its published Ready condition,
+     * so the first probe after a restart neither flips it undamped nor moves its transition time
+     */
+    public void seed(ConnectionKey key, boolean ready, Instant lastTransition) {
+        histories.computeIfAbsent(key, ignored -> {
+            ProbeHistory history = new ProbeHistory(properties);
+            history.seed(ready, lastTransition);
+            log.debug("🩺 Seeded health of connection {} as {} since {}", key, ready ? "ready" : "not ready", lastTransition);
+            return history;
+        });
+    }
+
+    /**
+     * Drops the history of a connection that no longer exists
+     */
+    public void remove(ConnectionKey key) {
+        histories.remove(key);
+    }
+}
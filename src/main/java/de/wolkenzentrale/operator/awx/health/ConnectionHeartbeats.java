@@ -0,0 +1,252 @@
+package de.wolkenzentrale.operator.awx.health;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.wolkenzentrale.operator.awx.config.HealthProperties;
+import de.wolkenzentrale.operator.awx.config.StatusProperties;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.reconcile.Bulkheads;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.CoordinationV1Api;
+import io.kubernetes.client.openapi.models.V1Lease;
+import io.kubernetes.client.util.PatchUtils;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Records probe heartbeats of AwxConnections in a Lease per connection.
+ * <p>
+ * Every status write of a connection reaches every watcher of the CRD. With Lease heartbeats enabled,
+ * each probe renews the connection's Lease instead: {@code renewTime} is the time of the last probe,
+ * and annotations hold the last successful probe, its latency and the health score.
+ * The connection status is then only written when something besides these heartbeat fields changes.
+ * <p>
+ * The Lease lives next to the connection and is owned by it, so it is deleted with the connection.
+ */
+@Slf4j
+@Component
+public class ConnectionHeartbeats {
+
+    static final String CONNECTION_LABEL = "awx.wolkenzentrale.de/connection";
+    static final String LAST_CONNECTED_ANNOTATION = "awx.wolkenzentrale.de/last-connected";
+    static final String CONNECTION_STATUS_ANNOTATION = "awx.wolkenzentrale.de/connection-status";
+    static final String PROBE_LATENCY_ANNOTATION = "awx.wolkenzentrale.de/probe-latency-ms";
+    static final String HEALTH_SCORE_ANNOTATION = "awx.wolkenzentrale.de/health-score";
+
+    // Status fields that move with every probe and carry no transition
+    private static final List<String> HEARTBEAT_FIELDS = List.of(
+        "lastUpdateTime", "lastConnected", "probeLatencyMillis", "healthScore", "nextAttemptTime");
+    private static final DateTimeFormatter MICRO_TIME =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSX").withZone(ZoneOffset.UTC);
+    // Numbers of cached resources are doubles; 3 and 3.0 are the same value
+    private static final Comparator<JsonNode> SAME_VALUE = (a, b) ->
+        a.equals(b) || (a.isNumber() && b.isNumber() && a.asDouble() == b.asDouble()) ? 0 : 1;
+    private static final AttributeKey<String> RESULT = AttributeKey.stringKey("result");
+
+    private final HealthProperties.Heartbeats properties;
+    private final StatusProperties statusProperties;
+    private final Bulkheads bulkheads;
+    private final ApiClient apiClient;
+    private final CoordinationV1Api coordinationApi;
+    private final ObjectMapper objectMapper;
+    private final String identity;
+    private final Clock clock;
+    private final BooleanSupplier mayWrite;
+    private final LongCounter heartbeats;
+    private final Map<ResourceKey, String> lastConnected = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ConnectionHeartbeats(HealthProperties properties, StatusProperties statusProperties, Bulkheads bulkheads,
+                                ApiClient apiClient, @Qualifier("kubernetesObjectMapper") ObjectMapper objectMapper,
+                                LeaderElection leaderElection, Meter meter) {
+        this(properties, statusProperties, bulkheads, apiClient, objectMapper, meter,
+            Clock.systemUTC(), LeaderElection.replicaIdentity(null), leaderElection::isLeader);
+    }
+
+    /**
+     * @param mayWrite Whether this replica may still renew Leases; false once it lost the leadership
+     */
+    ConnectionHeartbeats(HealthProperties properties, StatusProperties statusProperties, Bulkheads bulkheads,
+                         ApiClient apiClient, ObjectMapper objectMapper, Meter meter, Clock clock, String identity,
+                         BooleanSupplier mayWrite) {
+        this.properties = properties.getHeartbeats();
+        this.statusProperties = statusProperties;
+        this.bulkheads = bulkheads;
+        this.apiClient = apiClient;
+        this.coordinationApi = new CoordinationV1Api(apiClient);
+        this.objectMapper = objectMapper;
+        this.identity = identity;
+        this.clock = clock;
+        this.mayWrite = mayWrite;
+        this.heartbeats = meter.counterBuilder("awx.connection.heartbeats")
+            .setDescription("Probe heartbeats written to connection Leases")
+            .build();
+    }
+
+    /**
+     * Whether heartbeats go to Leases, so the connection status only needs writing on transitions
+     */
+    public boolean isEnabled() {
+        return properties.isLeases();
+    }
+
+    /**
+     * Renews the Lease of a connection after a probe, off the reconcile thread
+     *
+     * @param resource The connection; its uid makes it the owner of the Lease
+     * @param connected Whether the probe reached AWX
+     */
+    public void beat(ResourceKey key, Map<String, Object> resource, boolean connected, ConnectionHealth health) {
+        if (!isEnabled()) {
+            return;
+        }
+        Map<String, Object> lease = leaseConfiguration(key, resource, connected, health);
+        try {
+            bulkheads.status().execute(() -> apply(key, lease, connected));
+        } catch (RejectedExecutionException e) {
+            log.debug("💓 Skipped heartbeat of {}, no capacity", key);
+        }
+    }
+
+    /**
+     * Checks whether a derived status differs from the current status of a resource only in heartbeat fields
+     */
+    public boolean changesOnlyHeartbeat(Map<String, Object> resource, Object status) {
+        Object current = resource.get("status");
+        if (current == null || status == null) {
+            return false;
+        }
+        return withoutHeartbeat(objectMapper.valueToTree(current))
+            .equals(SAME_VALUE, withoutHeartbeat(objectMapper.valueToTree(status)));
+    }
+
+    /**
+     * Drops the state of a connection that no longer exists; its Lease goes with it
+     */
+    public void forget(ResourceKey key) {
+        lastConnected.remove(key);
+    }
+
+    /**
+     * Builds the apply configuration of a connection's Lease
+     */
+    Map<String, Object> leaseConfiguration(ResourceKey key, Map<String, Object> resource, boolean connected,
+                                           ConnectionHealth health) {
+        String now = MICRO_TIME.format(clock.instant());
+        String connectedAt = connected ? now : lastConnected.computeIfAbsent(key, ignored -> lastConnectedOf(resource));
+        if (connected) {
+            lastConnected.put(key, now);
+        }
+
+        Map<String, Object> annotations = new LinkedHashMap<>();
+        annotations.put(CONNECTION_STATUS_ANNOTATION, connected ? "Connected" : "Error");
+        if (connectedAt != null) {
+            annotations.put(LAST_CONNECTED_ANNOTATION, connectedAt);
+        }
+        annotations.put(PROBE_LATENCY_ANNOTATION, String.valueOf(health.getAverageLatencyMillis()));
+        annotations.put(HEALTH_SCORE_ANNOTATION, String.valueOf(health.getScore()));
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("name", properties.getLeasePrefix() + key.getName());
+        metadata.put("namespace", key.getNamespace());
+        metadata.put("labels", Map.of(CONNECTION_LABEL, key.getName()));
+        metadata.put("annotations", annotations);
+        Object uid = ((Map<String, Object>) resource.get("metadata")).get("uid");
+        if (uid != null) {
+            metadata.put("ownerReferences", List.of(Map.of(
+                "apiVersion", resource.get("apiVersion"),
+                "kind", resource.get("kind"),
+                "name", key.getName(),
+                "uid", uid)));
+        }
+
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("holderIdentity", identity);
+        spec.put("leaseDurationSeconds", (int) properties.getLeaseDuration().toSeconds());
+        spec.put("renewTime", now);
+
+        Map<String, Object> lease = new LinkedHashMap<>();
+        lease.put("apiVersion", "coordination.k8s.io/v1");
+        lease.put("kind", "Lease");
+        lease.put("metadata", metadata);
+        lease.put("spec", spec);
+        return lease;
+    }
+
+    private void apply(ResourceKey key, Map<String, Object> lease, boolean connected) {
+        Map<String, Object> metadata = (Map<String, Object>) lease.get("metadata");
+        if (!mayWrite.getAsBoolean()) {
+            log.debug("🏳️ Skipped heartbeat of {}, leadership was lost", key);
+            return;
+        }
+        try {
+            String body = objectMapper.writeValueAsString(lease);
+            PatchUtils.patch(
+                V1Lease.class,
+                () -> coordinationApi.patchNamespacedLease(
+                        (String) metadata.get("name"), key.getNamespace(), new V1Patch(body))
+                    .fieldManager(statusProperties.getFieldManager())
+                    .force(true)
+                    .buildCall(null),
+                V1Patch.PATCH_FORMAT_APPLY_YAML,
+                apiClient
+            );
+            heartbeats.add(1, Attributes.of(RESULT, connected ? "connected" : "error"));
+            log.debug("💓 Renewed heartbeat Lease of {}", key);
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to renew heartbeat Lease of {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String lastConnectedOf(Map<String, Object> resource) {
+        Map<String, Object> status = (Map<String, Object>) resource.get("status");
+        Object value = status != null ? status.get("lastConnected") : null;
+        return value != null ? value.toString() : null;
+    }
+
+    private static JsonNode withoutHeartbeat(JsonNode status) {
+        if (status instanceof ObjectNode object) {
+            object.remove(HEARTBEAT_FIELDS);
+            JsonNode conditions = object.get("conditions");
+            if (conditions != null) {
+                conditions.forEach(condition -> {
+                    if (condition instanceof ObjectNode fields) {
+                        fields.remove("lastUpdateTime");
+                    }
+                });
+            }
+        }
+        return withoutNulls(status);
+    }
+
+    /**
+     * Removes null fields, which the API server does not store
+     */
+    private static JsonNode withoutNulls(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.properties().removeIf(field -> field.getValue().isNull());
+        }
+        node.forEach(ConnectionHeartbeats::withoutNulls);
+        return node;
+    }
+}
@@ -0,0 +1,109 @@
+package de.wolkenzentrale.operator.awx.health;
+
+import de.wolkenzentrale.operator.awx.config.HealthProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Ring buffer of the most recent probe results of one connection, with hysteresis on top.
+ * The damped Ready state only flips after enough consecutive contradicting results,
+ * or when the success ratio over a full window crosses a threshold.
+ */
+public class ProbeHistory {
+
+    private final HealthProperties properties;
+    private final boolean[] outcomes;
+    private final long[] latencies;
+
+    private int next;
+    private int size;
+    private Boolean ready;
+    private int contradicting;
+    private Instant lastTransition;
+
+    public ProbeHistory(HealthProperties properties) {
+        this.properties = properties;
+        this.outcomes = new boolean[properties.getWindowSize()];
+        this.latencies = new long[properties.getWindowSize()];
+    }
+
+    /**
+     * Seeds the damped state from a previously published Ready condition, e.g. after an operator restart.
+     * The first probe is then damped against it instead of overwriting it. Does nothing once a state exists.
+     *
+     * @param ready The published Ready state
+     * @param lastTransition When the published state last flipped
+     */
+    public synchronized void seed(boolean ready, Instant lastTransition) {
+        if (this.ready == null) {
+            this.ready = ready;
+            this.lastTransition = lastTransition;
+        }
+    }
+
+    /**
+     * Records a probe result and re-evaluates the damped state.
+     *
+     * @param success Whether the probe succeeded
+     * @param latency How long the probe took
+     * @param now Time of the probe
+     * @return The health after this probe
+     */
+    public synchronized ConnectionHealth record(boolean success, Duration latency, Instant now) {
+        outcomes[next] = success;
+        latencies[next] = latency.toMillis();
+        next = (next + 1) % outcomes.length;
+        size = Math.min(size + 1, outcomes.length);
+
+        boolean transitioned = false;
+        if (ready == null) {
+            // Nothing to damp against yet
+            ready = success;
+            lastTransition = now;
+            transitioned = true;
+        } else {
+            contradicting = success != ready ? contradicting + 1 : 0;
+            if (contradicting >= properties.getFlipAfterConsecutive() || crossesRatioThreshold()) {
+                ready = !ready;
+                contradicting = 0;
+                lastTransition = now;
+                transitioned = true;
+            }
+        }
+        return new ConnectionHealth(ready, transitioned, lastTransition, score(), averageLatency());
+    }
+
+    private boolean crossesRatioThreshold() {
+        if (size < outcomes.length) {
+            return false;
+        }
+        double ratio = successRatio();
+        return ready ? ratio < properties.getUnreadyRatio() : ratio >= properties.getReadyRatio();
+    }
+
+    private double successRatio() {
+        int successes = 0;
+        for (int i = 0; i < size; i++) {
+            if (outcomes[i]) {
+                successes++;
+            }
+        }
+        return size == 0 ? 0.0 : (double) successes / size;
+    }
+
+    /**
+     * Success ratio over the window, rounded to two decimals
+     */
+    private double score() {
+        return Math.round(successRatio() * 100) / 100.0;
+    }
+
+    private long averageLatency() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += latencies[i];
+        }
+        return size == 0 ? 0 : total / size;
+    }
+}
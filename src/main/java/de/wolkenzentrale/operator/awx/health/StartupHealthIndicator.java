@@ -0,0 +1,41 @@
+package de.wolkenzentrale.operator.awx.health;
+
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.reconcile.StartupRamp;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the leader out of service until the first reconcile pass after a start is far enough along,
+ * and a standby until its caches are synced.
+ * Part of the {@code readiness} health group as {@code startup}.
+ */
+@Component
+public class StartupHealthIndicator implements HealthIndicator {
+
+    private final StartupRamp startup;
+    private final LeaderElection leaderElection;
+
+    public StartupHealthIndicator(StartupRamp startup, LeaderElection leaderElection) {
+        this.startup = startup;
+        this.leaderElection = leaderElection;
+    }
+
+    @Override
+    public Health health() {
+        if (!leaderElection.isLeader()) {
+            // A standby is ready to take over as soon as its caches are warm
+            return (startup.isSynced() ? Health.up() : Health.outOfService())
+                .withDetail("role", "standby")
+                .build();
+        }
+        if (startup.isReady()) {
+            return Health.up().build();
+        }
+        return Health.outOfService()
+            .withDetail("role", "leader")
+            .withDetail("cachesSynced", startup.isSynced())
+            .build();
+    }
+}
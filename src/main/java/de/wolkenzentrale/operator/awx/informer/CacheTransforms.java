@@ -0,0 +1,141 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trims resources before they enter an informer cache, keeping only the fields the operator reads.
+ * Resources are mostly metadata the operator never looks at: {@code managedFields} alone is often
+ * larger than spec and status together, and kubectl keeps a full copy of the object in an annotation.
+ */
+public final class CacheTransforms {
+
+    /**
+     * Prefix of the annotations the operator reads, such as {@link Informers#PAUSED_ANNOTATION}
+     */
+    static final String OPERATOR_ANNOTATION_PREFIX = "awx.wolkenzentrale.de/";
+
+    /**
+     * Field of a trimmed Secret holding the SHA-256 digest of every data value, by key
+     */
+    static final String DIGESTS = "digests";
+
+    private static final List<String> METADATA_FIELDS =
+        List.of("name", "namespace", "uid", "resourceVersion", "generation", "deletionTimestamp", "finalizers");
+
+    private CacheTransforms() {
+    }
+
+    /**
+     * Keeps identity, versions, operator annotations, spec and status of an AwxConnection or AwxProject
+     */
+    public static Map<String, Object> trimCustomResource(Map<String, Object> resource) {
+        Map<String, Object> trimmed = new LinkedHashMap<>();
+        copy(resource, trimmed, List.of("apiVersion", "kind"));
+        trimmed.put("metadata", trimMetadata(resource));
+        copy(resource, trimmed, List.of("spec", "status"));
+        return trimmed;
+    }
+
+    /**
+     * Keeps identity and version of a Secret, and replaces its data by digests so no credential is cached
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> trimSecret(Map<String, Object> secret) {
+        Map<String, Object> trimmed = new LinkedHashMap<>();
+        trimmed.put("metadata", trimMetadata(secret));
+        Map<String, Object> data = (Map<String, Object>) secret.get("data");
+        if (data != null) {
+            Map<String, Object> digests = new HashMap<>();
+            data.forEach((key, value) -> digests.put(key, sha256(String.valueOf(value))));
+            trimmed.put(DIGESTS, digests);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Gets the digest of one data value of a trimmed Secret, null if the Secret or key is missing
+     */
+    @SuppressWarnings("unchecked")
+    public static String digestOf(Map<String, Object> secret, String key) {
+        Map<String, Object> digests = secret != null ? (Map<String, Object>) secret.get(DIGESTS) : null;
+        return digests != null ? (String) digests.get(key) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> trimMetadata(Map<String, Object> resource) {
+        Map<String, Object> metadata = (Map<String, Object>) resource.get("metadata");
+        Map<String, Object> trimmed = new LinkedHashMap<>();
+        if (metadata == null) {
+            return trimmed;
+        }
+        copy(metadata, trimmed, METADATA_FIELDS);
+        Map<String, Object> annotations = (Map<String, Object>) metadata.get("annotations");
+        if (annotations != null) {
+            Map<String, Object> kept = new HashMap<>();
+            annotations.forEach((key, value) -> {
+                if (key.startsWith(OPERATOR_ANNOTATION_PREFIX)) {
+                    kept.put(key, value);
+                }
+            });
+            if (!kept.isEmpty()) {
+                trimmed.put("annotations", kept);
+            }
+        }
+        return trimmed;
+    }
+
+    private static void copy(Map<String, Object> from, Map<String, Object> to, List<String> fields) {
+        for (String field : fields) {
+            Object value = from.get(field);
+            if (value != null) {
+                to.put(field, value);
+            }
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Estimates the heap taken by a resource held as nested maps, lists, strings and numbers.
+     * Assumes a 64-bit JVM with compressed references and compact strings; good enough to compare
+     * cache sizes, not to account for every byte.
+     */
+    @SuppressWarnings("unchecked")
+    public static long estimateBytes(Object value) {
+        if (value instanceof String string) {
+            return 40 + string.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += 40 + estimateBytes(entry.getKey()) + estimateBytes(entry.getValue());
+            }
+            return bytes;
+        }
+        if (value instanceof List<?> list) {
+            long bytes = 40 + 4L * list.size();
+            for (Object element : list) {
+                bytes += estimateBytes(element);
+            }
+            return bytes;
+        }
+        if (value instanceof Number) {
+            return 24;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,62 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reverse index from a referenced resource to the resources that reference it,
+ * e.g. from an AwxConnection to its AwxProjects. Each dependent references at most one owner.
+ *
+ * @param <D> Key of the dependents
+ * @param <O> Key of the owners
+ */
+public class DependencyIndex<D, O> {
+
+    private final Map<D, O> owners = new HashMap<>();
+    private final Map<O, Set<D>> dependents = new HashMap<>();
+
+    /**
+     * Records the owner a dependent references, replacing its previous owner
+     */
+    public synchronized void put(D dependent, O owner) {
+        O previous = owners.put(dependent, owner);
+        if (owner.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unlink(dependent, previous);
+        }
+        dependents.computeIfAbsent(owner, ignored -> new HashSet<>()).add(dependent);
+    }
+
+    public synchronized void remove(D dependent) {
+        O previous = owners.remove(dependent);
+        if (previous != null) {
+            unlink(dependent, previous);
+        }
+    }
+
+    /**
+     * Gets a snapshot of the dependents of an owner
+     */
+    public synchronized Set<D> dependentsOf(O owner) {
+        return Set.copyOf(dependents.getOrDefault(owner, Set.of()));
+    }
+
+    public synchronized Optional<O> ownerOf(D dependent) {
+        return Optional.ofNullable(owners.get(dependent));
+    }
+
+    private void unlink(D dependent, O owner) {
+        Set<D> set = dependents.get(owner);
+        if (set != null) {
+            set.remove(dependent);
+            if (set.isEmpty()) {
+                dependents.remove(owner);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import de.wolkenzentrale.operator.awx.config.InformerProperties;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.CustomObjectsApi;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The informers of the operator and the indexes derived from them.
+ * <p>
+ * Cached resources are trimmed by {@link CacheTransforms}: Secrets keep digests of their data, never the data.
+ * <p>
+ * Indexes are updated by listeners registered here, before any controller registers its own
+ * listeners, so controllers always see an up-to-date index. The informers start once the
+ * application is ready, after all controllers have registered.
+ */
+@Slf4j
+@Component
+public class Informers {
+
+    public static final String SECRET_KIND = "Secret";
+
+    /**
+     * Annotation that excludes an AwxConnection or AwxProject from reconciles while set to {@code "true"}
+     */
+    public static final String PAUSED_ANNOTATION = "awx.wolkenzentrale.de/paused";
+
+    private static final String GROUP = "wolkenzentrale.de";
+    private static final String VERSION = "v1alpha1";
+    private static final AttributeKey<String> KIND = AttributeKey.stringKey("kind");
+
+    private final ResourceInformer connections;
+    private final ResourceInformer projects;
+    private final ResourceInformer secrets;
+    private final DependencyIndex<ResourceKey, ConnectionKey> projectsByConnection = new DependencyIndex<>();
+    private final DependencyIndex<ResourceKey, ResourceKey> connectionsBySecret = new DependencyIndex<>();
+
+    public Informers(ApiClient apiClient, InformerProperties properties, Meter meter) {
+        CustomObjectsApi customObjectsApi = new CustomObjectsApi(apiClient);
+        CoreV1Api coreV1Api = new CoreV1Api(apiClient);
+
+        this.connections = new ResourceInformer(ResourceKey.CONNECTION_KIND, apiClient, properties, (namespace, options) ->
+            customObjectCall(customObjectsApi, "awxconnections", properties.getConnections(), namespace, options));
+        this.projects = new ResourceInformer(ResourceKey.PROJECT_KIND, apiClient, properties, (namespace, options) ->
+            customObjectCall(customObjectsApi, "awxprojects", properties.getProjects(), namespace, options));
+        this.secrets = new ResourceInformer(SECRET_KIND, apiClient, properties, (namespace, options) ->
+            secretCall(coreV1Api, properties.getSecrets(), namespace, options));
+
+        connections.setTransform(CacheTransforms::trimCustomResource);
+        projects.setTransform(CacheTransforms::trimCustomResource);
+        secrets.setTransform(CacheTransforms::trimSecret);
+
+        projects.addListener((key, previous, current) -> {
+            if (current == null) {
+                projectsByConnection.remove(key);
+            } else {
+                projectsByConnection.put(key, connectionOf(key, current));
+            }
+        });
+        connections.addListener((key, previous, current) -> {
+            String secretName = current != null ? (String) spec(current).get("passwordSecretName") : null;
+            if (secretName == null) {
+                connectionsBySecret.remove(key);
+            } else {
+                connectionsBySecret.put(key, new ResourceKey(SECRET_KIND, key.getNamespace(), secretName));
+            }
+        });
+
+        meter.gaugeBuilder("awx.informer.cache.size")
+            .setDescription("Resources held in the informer caches")
+            .ofLongs()
+            .buildWithCallback(measurement -> all().forEach(informer ->
+                measurement.record(informer.size(), Attributes.of(KIND, informer.getKind()))));
+        meter.gaugeBuilder("awx.informer.cache.bytes")
+            .setDescription("Estimated heap taken by the informer caches, in bytes")
+            .ofLongs()
+            .buildWithCallback(measurement -> all().forEach(informer ->
+                measurement.record(informer.cachedBytes(), Attributes.of(KIND, informer.getKind()))));
+        meter.counterBuilder("awx.informer.relists")
+            .setDescription("Complete lists done by the informers")
+            .buildWithCallback(measurement -> all().forEach(informer ->
+                measurement.record(informer.relistCount(), Attributes.of(KIND, informer.getKind()))));
+        meter.counterBuilder("awx.informer.resumes")
+            .setDescription("Watches resumed from the last seen resourceVersion without a list")
+            .buildWithCallback(measurement -> all().forEach(informer ->
+                measurement.record(informer.resumeCount(), Attributes.of(KIND, informer.getKind()))));
+    }
+
+    public ResourceInformer connections() {
+        return connections;
+    }
+
+    public ResourceInformer projects() {
+        return projects;
+    }
+
+    public ResourceInformer secrets() {
+        return secrets;
+    }
+
+    /**
+     * Gets the informer of a kind
+     */
+    public ResourceInformer of(String kind) {
+        return switch (kind) {
+            case ResourceKey.CONNECTION_KIND -> connections;
+            case ResourceKey.PROJECT_KIND -> projects;
+            case SECRET_KIND -> secrets;
+            default -> throw new IllegalArgumentException("No informer for kind " + kind);
+        };
+    }
+
+    /**
+     * AwxProjects by the AwxConnection they reference
+     */
+    public DependencyIndex<ResourceKey, ConnectionKey> projectsByConnection() {
+        return projectsByConnection;
+    }
+
+    /**
+     * AwxConnections by the Secret holding their password
+     */
+    public DependencyIndex<ResourceKey, ResourceKey> connectionsBySecret() {
+        return connectionsBySecret;
+    }
+
+    /**
+     * Checks whether every informer has completed its first list
+     */
+    public boolean hasSynced() {
+        return all().stream().allMatch(ResourceInformer::hasSynced);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        all().forEach(ResourceInformer::start);
+    }
+
+    @PreDestroy
+    public void stop() {
+        all().forEach(ResourceInformer::stop);
+    }
+
+    /**
+     * Resolves the AwxConnection a project references; the namespace defaults to the project's namespace
+     */
+    @SuppressWarnings("unchecked")
+    public static ConnectionKey connectionOf(ResourceKey project, Map<String, Object> resource) {
+        Map<String, Object> ref = (Map<String, Object>) spec(resource).get("awxConnectionRef");
+        String name = ref != null ? (String) ref.get("name") : null;
+        String namespace = ref != null ? (String) ref.get("namespace") : null;
+        return new ConnectionKey(namespace == null || namespace.isEmpty() ? project.getNamespace() : namespace, name);
+    }
+
+    /**
+     * Checks whether a resource carries the pause annotation and must not be reconciled
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean isPaused(Map<String, Object> resource) {
+        Map<String, Object> metadata = resource != null ? (Map<String, Object>) resource.get("metadata") : null;
+        Map<String, Object> annotations = metadata != null ? (Map<String, Object>) metadata.get("annotations") : null;
+        return annotations != null && "true".equalsIgnoreCase(String.valueOf(annotations.get(PAUSED_ANNOTATION)));
+    }
+
+    /**
+     * Builds the list or watch call of a custom resource, cluster-wide or in one namespace
+     */
+    private static Call customObjectCall(CustomObjectsApi api, String plural, InformerProperties.Selector selector,
+                                         String namespace, ListOptions options) throws ApiException {
+        Call call;
+        if (namespace.isEmpty()) {
+            call = api.listClusterCustomObject(GROUP, VERSION, plural)
+                .labelSelector(selector.getLabelSelector()).fieldSelector(selector.getFieldSelector())
+                .resourceVersion(options.getResourceVersion()).resourceVersionMatch(options.getResourceVersionMatch())
+                .limit(options.getLimit())._continue(options.getContinueToken())
+                .watch(options.isWatch()).allowWatchBookmarks(options.getAllowWatchBookmarks())
+                .timeoutSeconds(options.getTimeoutSeconds())
+                .buildCall(null);
+        } else {
+            call = api.listNamespacedCustomObject(GROUP, VERSION, namespace, plural)
+                .labelSelector(selector.getLabelSelector()).fieldSelector(selector.getFieldSelector())
+                .resourceVersion(options.getResourceVersion()).resourceVersionMatch(options.getResourceVersionMatch())
+                .limit(options.getLimit())._continue(options.getContinueToken())
+                .watch(options.isWatch()).allowWatchBookmarks(options.getAllowWatchBookmarks())
+                .timeoutSeconds(options.getTimeoutSeconds())
+                .buildCall(null);
+        }
+        return withInitialEvents(api.getApiClient(), call, options);
+    }
+
+    /**
+     * Adds {@code sendInitialEvents} to a call, which the custom object request builders do not offer
+     */
+    private static Call withInitialEvents(ApiClient apiClient, Call call, ListOptions options) {
+        if (!Boolean.TRUE.equals(options.getSendInitialEvents())) {
+            return call;
+        }
+        Request request = call.request();
+        HttpUrl url = request.url().newBuilder().addQueryParameter("sendInitialEvents", "true").build();
+        return apiClient.getHttpClient().newCall(request.newBuilder().url(url).build());
+    }
+
+    /**
+     * Builds the list or watch call of Secrets, cluster-wide or in one namespace
+     */
+    private static Call secretCall(CoreV1Api api, InformerProperties.Selector selector,
+                                   String namespace, ListOptions options) throws ApiException {
+        if (namespace.isEmpty()) {
+            return api.listSecretForAllNamespaces()
+                .labelSelector(selector.getLabelSelector()).fieldSelector(selector.getFieldSelector())
+                .resourceVersion(options.getResourceVersion()).resourceVersionMatch(options.getResourceVersionMatch())
+                .limit(options.getLimit())._continue(options.getContinueToken())
+                .watch(options.isWatch()).allowWatchBookmarks(options.getAllowWatchBookmarks())
+                .sendInitialEvents(options.getSendInitialEvents())
+                .timeoutSeconds(options.getTimeoutSeconds())
+                .buildCall(null);
+        }
+        return api.listNamespacedSecret(namespace)
+            .labelSelector(selector.getLabelSelector()).fieldSelector(selector.getFieldSelector())
+            .resourceVersion(options.getResourceVersion()).resourceVersionMatch(options.getResourceVersionMatch())
+            .limit(options.getLimit())._continue(options.getContinueToken())
+            .watch(options.isWatch()).allowWatchBookmarks(options.getAllowWatchBookmarks())
+            .sendInitialEvents(options.getSendInitialEvents())
+            .timeoutSeconds(options.getTimeoutSeconds())
+            .buildCall(null);
+    }
+
+    private List<ResourceInformer> all() {
+        return List.of(connections, projects, secrets);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> spec(Map<String, Object> resource) {
+        Map<String, Object> spec = (Map<String, Object>) resource.get("spec");
+        return spec != null ? spec : Map.of();
+    }
+}
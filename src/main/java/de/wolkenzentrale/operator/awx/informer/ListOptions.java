@@ -0,0 +1,54 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Query parameters of one list or watch request of an informer.
+ * Unset parameters are left out of the request.
+ */
+@Value
+@Builder
+public class ListOptions {
+
+    /**
+     * resourceVersion to list at or watch from; "0" lets the API server answer from its watch cache
+     */
+    String resourceVersion;
+
+    /**
+     * How {@link #resourceVersion} is interpreted, e.g. {@code NotOlderThan}
+     */
+    String resourceVersionMatch;
+
+    /**
+     * Maximum number of items in one page of a list
+     */
+    Integer limit;
+
+    /**
+     * Continue token of the previous page of a list
+     */
+    String continueToken;
+
+    /**
+     * Whether a watch may receive BOOKMARK events carrying only a newer resourceVersion
+     */
+    Boolean allowWatchBookmarks;
+
+    /**
+     * Whether a watch starts with the current state as ADDED events, ended by a bookmark annotated
+     * {@code k8s.io/initial-events-end}
+     */
+    Boolean sendInitialEvents;
+
+    /**
+     * Whether to watch instead of list
+     */
+    boolean watch;
+
+    /**
+     * Server-side timeout of a watch
+     */
+    Integer timeoutSeconds;
+}
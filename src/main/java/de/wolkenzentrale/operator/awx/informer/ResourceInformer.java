@@ -0,0 +1,476 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import com.google.gson.reflect.TypeToken;
+import de.wolkenzentrale.operator.awx.config.InformerProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.util.Watch;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps an in-memory cache of one resource type up to date with list and watch, and tells
+ * listeners about every change. Resources are kept as the raw maps the API server returns.
+ * <p>
+ * The informer lists all resources, then watches from the list's resourceVersion. Every event and bookmark
+ * moves the last seen resourceVersion forward, and a watch that ends or drops is resumed from it.
+ * Only a {@code 410 Gone} makes the informer list again. Failures are retried with capped exponential backoff.
+ * <p>
+ * Lists are fetched in pages, and each page is merged into the cache before the next one is requested,
+ * so a relist holds one page plus the listed keys rather than the whole list.
+ * The first list and lists after an expired watch may be answered from the API server's watch cache;
+ * after an expired list the next one is read consistently from etcd.
+ * <p>
+ * With streaming lists, the informer instead opens a watch with {@code sendInitialEvents=true}, which
+ * delivers the complete state as events, and keeps watching on it. API servers without support
+ * make the informer fall back to paginated lists.
+ * With watched namespaces, every namespace is listed and watched on its own; all share one cache.
+ */
+@Slf4j
+public class ResourceInformer {
+
+    private static final Type LIST_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+    private static final Type WATCH_TYPE = new TypeToken<Watch.Response<Map<String, Object>>>() { }.getType();
+    private static final int GONE = 410;
+    private static final String NOT_OLDER_THAN = "NotOlderThan";
+    private static final String ANY_VERSION = "0";
+    private static final String BOOKMARK = "BOOKMARK";
+    private static final String INITIAL_EVENTS_END = "k8s.io/initial-events-end";
+    private static final int BAD_REQUEST = 400;
+    private static final int UNPROCESSABLE = 422;
+
+    /**
+     * Gets notified about changes of cached resources, on the informer thread.
+     * Listeners must only do cheap work such as queueing.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param key The changed resource
+         * @param previous The cached resource before the change, null if it was added
+         * @param current The resource after the change, null if it was deleted
+         */
+        void onEvent(ResourceKey key, Map<String, Object> previous, Map<String, Object> current);
+    }
+
+    /**
+     * Builds the list or watch call of the resource type
+     */
+    @FunctionalInterface
+    public interface CallFactory {
+
+        /**
+         * @param namespace The namespace to list or watch, {@link #ALL_NAMESPACES} for all of them
+         */
+        Call build(String namespace, ListOptions options) throws ApiException;
+    }
+
+    /**
+     * Scope of an informer that lists and watches across all namespaces
+     */
+    public static final String ALL_NAMESPACES = "";
+
+    private final String kind;
+    private final ApiClient apiClient;
+    private final List<String> namespaces;
+    private final CallFactory calls;
+    private final InformerProperties properties;
+    private final Map<ResourceKey, Map<String, Object>> cache = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Set<String> synced = ConcurrentHashMap.newKeySet();
+    private final Map<String, Thread> threads = new ConcurrentHashMap<>();
+    private final Map<String, String> resourceVersions = new ConcurrentHashMap<>();
+    private final AtomicLong relists = new AtomicLong();
+    private final AtomicLong resumes = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile UnaryOperator<Map<String, Object>> transform = UnaryOperator.identity();
+    private volatile boolean running;
+    private volatile boolean streamingLists;
+
+    public ResourceInformer(String kind, ApiClient apiClient, InformerProperties properties, CallFactory calls) {
+        this.kind = kind;
+        this.apiClient = apiClient;
+        this.namespaces = properties.getNamespaces().isEmpty() ? List.of(ALL_NAMESPACES) : List.copyOf(properties.getNamespaces());
+        this.calls = calls;
+        this.properties = properties;
+        this.streamingLists = properties.isStreamingLists();
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    /**
+     * Sets the function every listed or watched resource passes before it is cached and handed to listeners.
+     * Must be set before the informer starts.
+     */
+    public void setTransform(UnaryOperator<Map<String, Object>> transform) {
+        this.transform = transform;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Gets a cached resource, or null if it does not exist
+     */
+    public Map<String, Object> get(ResourceKey key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Gets the keys of all cached resources
+     */
+    public Set<ResourceKey> keys() {
+        return Set.copyOf(cache.keySet());
+    }
+
+    public Collection<Map<String, Object>> list() {
+        return cache.values();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Checks whether the cache has been filled by a complete list of every watched namespace at least once
+     */
+    public boolean hasSynced() {
+        return synced.containsAll(namespaces);
+    }
+
+    /**
+     * Estimated heap taken by the cached resources, see {@link CacheTransforms#estimateBytes}
+     */
+    public long cachedBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * Counts complete lists, the expensive way to catch up
+     */
+    public long relistCount() {
+        return relists.get();
+    }
+
+    /**
+     * Counts watches resumed from the last seen resourceVersion without a list
+     */
+    public long resumeCount() {
+        return resumes.get();
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (String namespace : namespaces) {
+            Thread thread = new Thread(() -> run(namespace),
+                "informer-" + kind + (namespace.isEmpty() ? "" : "-" + namespace));
+            thread.setDaemon(true);
+            threads.put(namespace, thread);
+            thread.start();
+        }
+        log.info("👀 Started informer for {} in {}", kind, namespaces.equals(List.of(ALL_NAMESPACES)) ? "all namespaces" : namespaces);
+    }
+
+    public synchronized void stop() {
+        running = false;
+        threads.values().forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    void run(String namespace) {
+        Duration backoff = Duration.ofSeconds(1);
+        // The resourceVersion the next list must not be older than; null lists consistently.
+        // The watch cache ignores limit for resourceVersion=0, so a paginated first list is consistent instead.
+        String listVersion = properties.isListFromWatchCache() && properties.getPageSize() <= 0 ? ANY_VERSION : null;
+        while (running) {
+            // A namespace has a resourceVersion once the cache holds its complete state up to that version
+            boolean listed = resourceVersions.containsKey(namespace);
+            try {
+                if (!listed && streamingLists) {
+                    watch(namespace, initialEventsOptions(listVersion), new HashSet<>());
+                } else {
+                    if (!listed) {
+                        resourceVersions.put(namespace, relist(namespace, listVersion));
+                        // From here on a 410 means the watch expired, not the list
+                        listed = true;
+                        backoff = Duration.ofSeconds(1);
+                    } else {
+                        log.debug("🔁 Resuming watch of {} from {}", kind, resourceVersions.get(namespace));
+                        resumes.incrementAndGet();
+                    }
+                    watch(namespace, watchOptions(resourceVersions.get(namespace)), null);
+                }
+                backoff = Duration.ofSeconds(1);
+            } catch (ApiException e) {
+                if (e.getCode() == GONE) {
+                    // An expired watch lists from the watch cache at its last version; an expired list reads from etcd
+                    listVersion = listed ? resourceVersions.remove(namespace) : null;
+                    log.info("♻️ {} of {} expired, listing again", listed ? "Watch" : "List", kind);
+                    continue;
+                }
+                if (!listed && streamingLists && (e.getCode() == BAD_REQUEST || e.getCode() == UNPROCESSABLE)) {
+                    fallBackToLists(e.getMessage());
+                    continue;
+                }
+                backoff = pause(backoff, e);
+            } catch (Exception e) {
+                backoff = pause(backoff, e);
+            }
+        }
+    }
+
+    private Duration pause(Duration backoff, Exception cause) {
+        if (!running) {
+            return backoff;
+        }
+        log.warn("⚠️ Informer for {} failed, retrying in {}: {}", kind, backoff, cause.getMessage());
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        Duration next = backoff.multipliedBy(2);
+        return next.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : next;
+    }
+
+    /**
+     * Lists all resources of a namespace page by page and replaces them in the cache
+     *
+     * @param resourceVersion Version the list must not be older than, to be answered from the watch cache;
+     *                        null for a consistent list
+     * @return The resourceVersion of the list
+     */
+    String relist(String namespace, String resourceVersion) throws ApiException {
+        Set<ResourceKey> listed = new HashSet<>();
+        Integer limit = properties.getPageSize() > 0 ? properties.getPageSize() : null;
+        boolean fromWatchCache = properties.isListFromWatchCache() && resourceVersion != null;
+        ListOptions options = ListOptions.builder()
+            .resourceVersion(fromWatchCache ? resourceVersion : null)
+            // Not older than what was already seen, so the cache never goes back in time
+            .resourceVersionMatch(fromWatchCache && !ANY_VERSION.equals(resourceVersion) ? NOT_OLDER_THAN : null)
+            .limit(limit)
+            .build();
+        int pages = 0;
+        while (true) {
+            Map<String, Object> page = apiClient.<Map<String, Object>>execute(calls.build(namespace, options), LIST_TYPE).getData();
+            pages++;
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> items = (List<Map<String, Object>>) page.get("items");
+            merge(items, listed);
+            String continueToken = continueOf(page);
+            if (continueToken == null || continueToken.isEmpty()) {
+                prune(namespace, listed);
+                synced.add(namespace);
+                relists.incrementAndGet();
+                log.debug("📄 Listed {} {} resources in {} pages", listed.size(), kind, pages);
+                return resourceVersionOf(page);
+            }
+            // Later pages belong to the snapshot of the first; they take no resourceVersion of their own
+            options = ListOptions.builder().limit(limit).continueToken(continueToken).build();
+        }
+    }
+
+    private ListOptions watchOptions(String resourceVersion) {
+        return ListOptions.builder()
+            .resourceVersion(resourceVersion)
+            .allowWatchBookmarks(true)
+            .watch(true)
+            .timeoutSeconds((int) properties.getWatchTimeout().toSeconds())
+            .build();
+    }
+
+    /**
+     * Options of a watch that starts with the complete state as ADDED events, ended by a marked bookmark
+     */
+    private ListOptions initialEventsOptions(String listVersion) {
+        return ListOptions.builder()
+            .resourceVersion(listVersion)
+            .resourceVersionMatch(NOT_OLDER_THAN)
+            .sendInitialEvents(true)
+            .allowWatchBookmarks(true)
+            .watch(true)
+            .timeoutSeconds((int) properties.getWatchTimeout().toSeconds())
+            .build();
+    }
+
+    /**
+     * Watches a namespace. Every event and bookmark moves its last seen resourceVersion forward.
+     *
+     * @param initial Collects the keys of the initial events of a streaming list, null for a plain watch.
+     *                The namespace only gets a resourceVersion once the initial events are complete.
+     */
+    void watch(String namespace, ListOptions options, Set<ResourceKey> initial) throws Exception {
+        try (Watch<Map<String, Object>> watch = Watch.createWatch(apiClient, calls.build(namespace, options), WATCH_TYPE)) {
+            for (Watch.Response<Map<String, Object>> event : watch) {
+                if (!running) {
+                    return;
+                }
+                if ("ERROR".equals(event.type)) {
+                    int code = event.status != null && event.status.getCode() != null ? event.status.getCode() : 0;
+                    throw new ApiException(code, event.status != null ? event.status.getMessage() : "watch error");
+                }
+                if (initial != null && isInitialEventsEnd(event)) {
+                    prune(namespace, initial);
+                    synced.add(namespace);
+                    relists.incrementAndGet();
+                    log.debug("📄 Streamed {} {} resources", initial.size(), kind);
+                    initial = null;
+                }
+                String resourceVersion = resourceVersionOf(event.object);
+                if (initial == null && resourceVersion != null) {
+                    resourceVersions.put(namespace, resourceVersion);
+                }
+                if (!BOOKMARK.equals(event.type)) {
+                    if (initial != null) {
+                        initial.add(keyOf(event.object));
+                    }
+                    apply(event.type, event.object);
+                }
+            }
+        }
+        if (initial != null && running) {
+            fallBackToLists("the watch ended without the end of the initial events");
+        }
+    }
+
+    boolean isStreamingLists() {
+        return streamingLists;
+    }
+
+    /**
+     * Switches this informer to paginated lists for good, for API servers without streaming lists
+     */
+    private void fallBackToLists(String reason) {
+        if (streamingLists) {
+            streamingLists = false;
+            log.warn("📄 API server cannot stream the initial state of {}, using paginated lists: {}", kind, reason);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isInitialEventsEnd(Watch.Response<Map<String, Object>> event) {
+        if (!BOOKMARK.equals(event.type) || event.object == null) {
+            return false;
+        }
+        Map<String, Object> metadata = (Map<String, Object>) event.object.get("metadata");
+        Map<String, Object> annotations = metadata != null ? (Map<String, Object>) metadata.get("annotations") : null;
+        return annotations != null && "true".equals(annotations.get(INITIAL_EVENTS_END));
+    }
+
+    /**
+     * Replaces the cached resources of a namespace with a full list, notifying listeners about every difference
+     */
+    void replace(String namespace, List<Map<String, Object>> items) {
+        Set<ResourceKey> listed = new HashSet<>();
+        merge(items, listed);
+        prune(namespace, listed);
+    }
+
+    /**
+     * Puts one page of a list into the cache, notifying listeners about new and changed resources
+     *
+     * @param listed Collects the keys of all listed resources
+     */
+    private void merge(List<Map<String, Object>> items, Set<ResourceKey> listed) {
+        for (Map<String, Object> listedItem : items) {
+            Map<String, Object> item = transform.apply(listedItem);
+            ResourceKey key = keyOf(item);
+            listed.add(key);
+            Map<String, Object> previous = put(key, item);
+            if (previous == null || !Objects.equals(resourceVersionOf(previous), resourceVersionOf(item))) {
+                notify(key, previous, item);
+            }
+        }
+    }
+
+    /**
+     * Removes the cached resources of a namespace that a complete list did not contain
+     */
+    private void prune(String namespace, Set<ResourceKey> listed) {
+        for (ResourceKey key : Set.copyOf(cache.keySet())) {
+            if (!listed.contains(key) && (namespace.isEmpty() || namespace.equals(key.getNamespace()))) {
+                notify(key, remove(key), null);
+            }
+        }
+    }
+
+    /**
+     * Applies one watch event to the cache
+     */
+    void apply(String type, Map<String, Object> watched) {
+        Map<String, Object> object = transform.apply(watched);
+        ResourceKey key = keyOf(object);
+        switch (type) {
+            case "ADDED", "MODIFIED" -> notify(key, put(key, object), object);
+            case "DELETED" -> {
+                Map<String, Object> previous = remove(key);
+                if (previous != null) {
+                    notify(key, previous, null);
+                }
+            }
+            default -> log.debug("Ignoring {} event for {}", type, key);
+        }
+    }
+
+    private Map<String, Object> put(ResourceKey key, Map<String, Object> object) {
+        Map<String, Object> previous = cache.put(key, object);
+        bytes.addAndGet(CacheTransforms.estimateBytes(object) - CacheTransforms.estimateBytes(previous));
+        return previous;
+    }
+
+    private Map<String, Object> remove(ResourceKey key) {
+        Map<String, Object> previous = cache.remove(key);
+        bytes.addAndGet(-CacheTransforms.estimateBytes(previous));
+        return previous;
+    }
+
+    private void notify(ResourceKey key, Map<String, Object> previous, Map<String, Object> current) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onEvent(key, previous, current);
+            } catch (Exception e) {
+                log.error("❌ Listener failed for {}", key, e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourceKey keyOf(Map<String, Object> object) {
+        Map<String, Object> metadata = (Map<String, Object>) object.get("metadata");
+        return new ResourceKey(kind, (String) metadata.get("namespace"), (String) metadata.get("name"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String continueOf(Map<String, Object> list) {
+        Map<String, Object> metadata = (Map<String, Object>) list.get("metadata");
+        return metadata != null ? (String) metadata.get("continue") : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static String resourceVersionOf(Map<String, Object> object) {
+        Map<String, Object> metadata = (Map<String, Object>) object.get("metadata");
+        return metadata != null ? (String) metadata.get("resourceVersion") : null;
+    }
+}
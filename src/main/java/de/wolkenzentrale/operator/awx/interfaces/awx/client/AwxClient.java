@@ -2,9 +2,11 @@ package de.wolkenzentrale.operator.awx.interfaces.awx.client;
 
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.service.annotation.DeleteExchange;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PatchExchange;
 import org.springframework.web.service.annotation.PostExchange;
 
 import de.wolkenzentrale.operator.awx.model.api.ProjectInfo;
@@ -18,12 +20,18 @@ public interface AwxClient {
 
     @GetExchange("/projects/")
     Mono<ProjectListResponse> listProjects();
+
+    @GetExchange("/projects/")
+    Mono<ProjectListResponse> findProjectsByName(@RequestParam("name") String name);
     
     @GetExchange("/projects/{id}/")
     Mono<ProjectInfo> getProject(@PathVariable("id") Integer id);
     
     @PostExchange("/projects/")
     Mono<ProjectInfo> createProject(@RequestBody Project project);
+
+    @PatchExchange("/projects/{id}/")
+    Mono<ProjectInfo> updateProject(@PathVariable("id") Integer id, @RequestBody Project project);
     
     @DeleteExchange("/projects/{id}/")
     Mono<Void> deleteProject(@PathVariable("id") Integer id);
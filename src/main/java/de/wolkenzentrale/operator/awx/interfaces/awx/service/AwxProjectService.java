@@ -2,9 +2,15 @@ package de.wolkenzentrale.operator.awx.interfaces.awx.service;
 
 import de.wolkenzentrale.operator.awx.interfaces.awx.client.AwxClient;
 import de.wolkenzentrale.operator.awx.model.api.ProjectInfo;
+import de.wolkenzentrale.operator.awx.model.api.ProjectListResponse;
 import de.wolkenzentrale.operator.awx.model.common.Project;
+import de.wolkenzentrale.operator.awx.util.RetryBudget;
 import de.wolkenzentrale.operator.awx.util.RetryMono;
+import de.wolkenzentrale.operator.awx.util.RetryPolicy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +42,35 @@ public class AwxProjectService {
         }
     }
     
+    /**
+     * Looks up a project; unlike {@link #getProject}, only a missing project yields empty, other errors are thrown
+     */
+    public static Optional<ProjectInfo> findProject(AwxClient awxClient, Integer id) {
+        log.info("🔍 Looking up project with ID {} in AWX", id);
+        return Optional.ofNullable(
+            awxClient.getProject(id)
+                .onErrorResume(WebClientResponseException.NotFound.class, error -> {
+                    log.info("🔍 Project with ID {} does not exist in AWX", id);
+                    return Mono.empty();
+                })
+                .block()
+        );
+    }
+
+    /**
+     * Looks up a project by its name, so a project created by an earlier pass is found again; errors are thrown
+     */
+    public static Optional<ProjectInfo> findProjectByName(AwxClient awxClient, String name) {
+        log.info("🔍 Looking up project named {} in AWX", name);
+        ProjectListResponse response = awxClient.findProjectsByName(name).block();
+        if (response == null || response.getResults() == null) {
+            return Optional.empty();
+        }
+        return response.getResults().stream()
+            .filter(project -> name.equals(project.getName()))
+            .findFirst();
+    }
+
     public static ProjectInfo createProject(AwxClient awxClient, Project project) {
         log.info("🛠️ Creating project in AWX: {}", project.getName());
              
@@ -45,6 +80,15 @@ public class AwxProjectService {
                 .block();
     }
     
+    public static ProjectInfo updateProject(AwxClient awxClient, Integer id, Project project) {
+        log.info("✏️ Updating project with ID {} in AWX", id);
+
+        return awxClient.updateProject(id, project)
+                .doOnNext(updatedProject -> log.info("✅ Successfully updated project with ID: {}", id))
+                .doOnError(error -> log.error("❌ Error updating project with ID {}", id, error))
+                .block();
+    }
+
     public static boolean deleteProject(AwxClient awxClient, Integer id) {
         log.info("🗑️ Deleting project with ID {} from AWX", id);
         try {
@@ -59,7 +103,26 @@ public class AwxProjectService {
         }
     }
 
+    /**
+     * Deletes a project; a project that is already gone counts as deleted, other errors are thrown
+     */
+    public static void deleteProjectIfExists(AwxClient awxClient, Integer id) {
+        log.info("🗑️ Deleting project with ID {} from AWX if it exists", id);
+        awxClient.deleteProject(id)
+            .doOnSuccess(ignore -> log.info("✅ Successfully deleted project with ID: {}", id))
+            .onErrorResume(WebClientResponseException.NotFound.class, error -> {
+                log.info("🔍 Project with ID {} was already deleted from AWX", id);
+                return Mono.empty();
+            })
+            .doOnError(error -> log.error("❌ Error deleting project with ID {}", id, error))
+            .block();
+    }
+
     public static boolean deleteProjectWithRetry(AwxClient awxClient, Integer id) {
+        return deleteProjectWithRetry(awxClient, id, RetryPolicy.defaults(), RetryBudget.unlimited());
+    }
+
+    public static boolean deleteProjectWithRetry(AwxClient awxClient, Integer id, RetryPolicy policy, RetryBudget budget) {
         log.info("🔄 Deleting project with ID {} from AWX (with retry)", id);
         try {
             RetryMono.of(
@@ -67,7 +130,7 @@ public class AwxProjectService {
                     .doOnSuccess(ignore -> log.info("✅ Successfully deleted project with ID: {}", id))
                     .doOnError(error -> log.error("❌ Error deleting project with ID {}", id, error)),
                 "delete project " + id
-            ).run().block();
+            ).withPolicy(policy).withBudget(budget).run().block();
             return true;
         } catch (Exception e) {
             log.error("💥 Failed to delete project with ID {}", id, e);
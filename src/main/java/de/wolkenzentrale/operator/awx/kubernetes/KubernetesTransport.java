@@ -0,0 +1,186 @@
+package de.wolkenzentrale.operator.awx.kubernetes;
+
+import de.wolkenzentrale.operator.awx.config.KubernetesClientProperties;
+import de.wolkenzentrale.operator.awx.config.LeaderElectionProperties;
+import de.wolkenzentrale.operator.awx.config.ShardingProperties;
+import de.wolkenzentrale.operator.awx.util.TokenBucket;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor every Kubernetes API call of the operator goes through.
+ * <p>
+ * Requests take a token from a client-side QPS/burst limiter before they are sent, so a burst of
+ * reconciles queues up in the operator instead of in API Priority and Fairness. Requests the API server
+ * still rejects with {@code 429 Too Many Requests} are sent again after its {@code Retry-After}.
+ * Requests for the leader and shard membership Leases skip the limiter, so a busy replica does not lose
+ * its leadership or its shard. Every other Lease, like the heartbeat Leases of connections, is limited.
+ * <p>
+ * Latency, client-side waits and server-side rejections are recorded per verb and resource.
+ */
+@Slf4j
+@Component
+public class KubernetesTransport implements Interceptor {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final String LEASES = "leases";
+    private static final AttributeKey<String> VERB = AttributeKey.stringKey("verb");
+    private static final AttributeKey<String> RESOURCE = AttributeKey.stringKey("resource");
+    private static final AttributeKey<String> CODE = AttributeKey.stringKey("code");
+    private static final AttributeKey<String> SOURCE = AttributeKey.stringKey("source");
+
+    private final KubernetesClientProperties properties;
+    private final String leaderLeaseName;
+    private final String shardLeasePrefix;
+    private final TokenBucket limiter;
+    private final LongHistogram latency;
+    private final LongHistogram throttleWait;
+    private final LongCounter throttled;
+
+    public KubernetesTransport(KubernetesClientProperties properties, LeaderElectionProperties leaderElection,
+                               ShardingProperties sharding, Meter meter) {
+        this.properties = properties;
+        this.leaderLeaseName = leaderElection.getLeaseName();
+        this.shardLeasePrefix = sharding.getLeasePrefix();
+        this.limiter = new TokenBucket(properties.getQps(), properties.getBurst());
+        this.latency = meter.histogramBuilder("awx.kubernetes.client.latency")
+            .setDescription("Time until the Kubernetes API server answered a request")
+            .setUnit("ms")
+            .ofLongs()
+            .build();
+        this.throttleWait = meter.histogramBuilder("awx.kubernetes.client.throttle")
+            .setDescription("Time Kubernetes API requests waited for the client-side rate limiter")
+            .setUnit("ms")
+            .ofLongs()
+            .build();
+        this.throttled = meter.counterBuilder("awx.kubernetes.client.throttled")
+            .setDescription("Kubernetes API requests delayed by the client-side limiter or rejected with 429 by the server")
+            .build();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestInfo info = RequestInfo.of(request);
+        for (int attempt = 0; ; attempt++) {
+            if (!isCoordinationLease(request, info)) {
+                throttle(info);
+            }
+            long start = System.nanoTime();
+            Response response = chain.proceed(request);
+            latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                Attributes.of(VERB, info.verb(), RESOURCE, info.resource(), CODE, String.valueOf(response.code())));
+            if (response.code() != TOO_MANY_REQUESTS || attempt >= properties.getMaxRetries()) {
+                return response;
+            }
+            Duration retryAfter = retryAfterOf(response);
+            if (retryAfter.compareTo(properties.getMaxRetryAfter()) > 0) {
+                return response;
+            }
+            response.close();
+            throttled.add(1, Attributes.of(VERB, info.verb(), RESOURCE, info.resource(), SOURCE, "server"));
+            log.debug("🚦 API server rejected {} {}, retrying in {}", info.verb(), info.resource(), retryAfter);
+            sleep(retryAfter.toNanos());
+        }
+    }
+
+    /**
+     * Checks whether a request reads or renews the leader Lease or a shard membership Lease
+     */
+    private boolean isCoordinationLease(Request request, RequestInfo info) {
+        if (!LEASES.equals(info.resource())) {
+            return false;
+        }
+        List<String> segments = request.url().pathSegments();
+        int index = segments.lastIndexOf(LEASES);
+        String name = index >= 0 && index + 1 < segments.size() ? segments.get(index + 1) : null;
+        return name != null && (name.equals(leaderLeaseName) || name.startsWith(shardLeasePrefix));
+    }
+
+    private void throttle(RequestInfo info) throws InterruptedIOException {
+        long wait = limiter.reserve();
+        if (wait <= 0) {
+            return;
+        }
+        throttleWait.record(TimeUnit.NANOSECONDS.toMillis(wait), Attributes.of(VERB, info.verb(), RESOURCE, info.resource()));
+        throttled.add(1, Attributes.of(VERB, info.verb(), RESOURCE, info.resource(), SOURCE, "client"));
+        sleep(wait);
+    }
+
+    /**
+     * Reads the seconds of a {@code Retry-After} header; the HTTP date form is not sent by the API server
+     */
+    Duration retryAfterOf(Response response) {
+        String header = response.header("Retry-After");
+        if (header != null) {
+            try {
+                return Duration.ofSeconds(Math.max(0, Long.parseLong(header.trim())));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring Retry-After header {}", header);
+            }
+        }
+        return properties.getDefaultRetryAfter();
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send a Kubernetes API request");
+        }
+    }
+
+    /**
+     * Verb and resource of a Kubernetes API request, named as in the API server's audit log
+     *
+     * @param resource The resource, with its subresource if any, e.g. {@code awxprojects/status}
+     */
+    record RequestInfo(String verb, String resource) {
+
+        static RequestInfo of(Request request) {
+            List<String> segments = request.url().pathSegments();
+            int start = segments.isEmpty() ? 0 : switch (segments.get(0)) {
+                case "api" -> 2;
+                case "apis" -> 3;
+                default -> 0;
+            };
+            List<String> rest = start <= segments.size() ? segments.subList(start, segments.size()) : List.of();
+            // Namespaced paths: namespaces/{namespace}/{resource}/{name}/{subresource}
+            if (rest.size() > 2 && "namespaces".equals(rest.get(0))) {
+                rest = rest.subList(2, rest.size());
+            }
+            String resource = rest.isEmpty() || rest.get(0).isEmpty() ? "unknown" : rest.get(0);
+            boolean named = rest.size() > 1;
+            if (rest.size() > 2) {
+                resource += "/" + rest.get(2);
+            }
+            return new RequestInfo(verbOf(request, named), resource);
+        }
+
+        private static String verbOf(Request request, boolean named) {
+            return switch (request.method()) {
+                case "GET" -> "true".equals(request.url().queryParameter("watch")) ? "watch" : named ? "get" : "list";
+                case "POST" -> "create";
+                case "PUT" -> "update";
+                case "PATCH" -> "patch";
+                case "DELETE" -> named ? "delete" : "deletecollection";
+                default -> request.method().toLowerCase();
+            };
+        }
+    }
+}
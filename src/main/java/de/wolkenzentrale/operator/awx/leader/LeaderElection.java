@@ -0,0 +1,212 @@
+package de.wolkenzentrale.operator.awx.leader;
+
+import de.wolkenzentrale.operator.awx.config.LeaderElectionProperties;
+import de.wolkenzentrale.operator.awx.config.ShardingProperties;
+import io.kubernetes.client.extended.leaderelection.LeaderElectionConfig;
+import io.kubernetes.client.extended.leaderelection.LeaderElectionRecord;
+import io.kubernetes.client.extended.leaderelection.LeaderElector;
+import io.kubernetes.client.extended.leaderelection.Lock;
+import io.kubernetes.client.extended.leaderelection.resourcelock.LeaseLock;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Elects one replica as the leader through a {@code coordination.k8s.io} Lease.
+ * <p>
+ * All replicas run their informers, so a standby has warm caches and can take over within
+ * a lease duration and without a new list. Only the leader releases work into the reconcile queue
+ * (see {@code StartupRamp}), so standbys never call AWX or write status.
+ * A leader that loses the Lease stops dispatching reconciles and writing status at once,
+ * then shuts down and restarts as a standby, so no write can overlap with the new leader's.
+ */
+@Slf4j
+@Component
+public class LeaderElection {
+
+    private static final AttributeKey<String> EVENT = AttributeKey.stringKey("event");
+
+    private final LeaderElectionProperties properties;
+    private final ApiClient apiClient;
+    private final ConfigurableApplicationContext context;
+    private final String identity;
+    private final boolean enabled;
+    private final LongCounter transitions;
+    private final LongHistogram failover;
+    private volatile boolean leader;
+    private volatile LeaderElectionRecord lastForeignRecord;
+    private volatile LeaderElector elector;
+    private volatile boolean stopping;
+    private final List<Runnable> lossListeners = new CopyOnWriteArrayList<>();
+
+    public LeaderElection(LeaderElectionProperties properties, ShardingProperties shardingProperties, ApiClient apiClient,
+                          ConfigurableApplicationContext context, Meter meter) {
+        this.properties = properties;
+        this.apiClient = apiClient;
+        this.context = context;
+        this.identity = replicaIdentity(properties.getIdentity());
+        // With sharding every replica reconciles its own share, so there is nothing to elect
+        this.enabled = properties.isEnabled() && !shardingProperties.isEnabled();
+        this.leader = !enabled;
+
+        this.transitions = meter.counterBuilder("awx.leader.transitions")
+            .setDescription("Leadership changes of this replica")
+            .build();
+        this.failover = meter.histogramBuilder("awx.leader.failover")
+            .setDescription("Time from the last renewal of the previous leader until this replica took over")
+            .setUnit("ms")
+            .ofLongs()
+            .build();
+        meter.gaugeBuilder("awx.leader.status")
+            .setDescription("1 while this replica is the leader, 0 while it is a standby")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(leader ? 1 : 0));
+    }
+
+    /**
+     * Checks whether this replica may reconcile and write
+     */
+    public boolean isLeader() {
+        return leader;
+    }
+
+    public String getIdentity() {
+        return identity;
+    }
+
+    /**
+     * Registers a listener told when this replica loses the leadership, before the shutdown begins.
+     * Listeners drop work that must not reach AWX or the API server anymore.
+     */
+    public void addLossListener(Runnable listener) {
+        lossListeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || elector != null) {
+            return;
+        }
+        Lock lock = new ObservingLock(new LeaseLock(
+            properties.getLeaseNamespace(), properties.getLeaseName(), identity, apiClient));
+        elector = new LeaderElector(new LeaderElectionConfig(lock,
+            properties.getLeaseDuration(), properties.getRenewDeadline(), properties.getRetryPeriod()));
+        Thread thread = new Thread(() -> elector.run(this::onStartLeading, this::onStopLeading, this::onNewLeader),
+            "leader-election");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("🗳️ Standing by as {} for Lease {}/{}", identity, properties.getLeaseNamespace(), properties.getLeaseName());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        stopping = true;
+        if (elector != null) {
+            elector.close();
+            elector = null;
+        }
+    }
+
+    void onStartLeading() {
+        leader = true;
+        transitions.add(1, Attributes.of(EVENT, "acquired"));
+        LeaderElectionRecord previous = lastForeignRecord;
+        if (previous != null && previous.getRenewTime() != null) {
+            long millis = Math.max(0, System.currentTimeMillis() - previous.getRenewTime().getTime());
+            failover.record(millis);
+            log.info("👑 {} took over from {} after {} ms", identity, previous.getHolderIdentity(), millis);
+        } else {
+            log.info("👑 {} is the leader", identity);
+        }
+    }
+
+    void onStopLeading() {
+        if (!leader) {
+            return;
+        }
+        leader = false;
+        transitions.add(1, Attributes.of(EVENT, "lost"));
+        lossListeners.forEach(Runnable::run);
+        if (stopping) {
+            log.info("🏳️ {} released the leadership on shutdown", identity);
+            return;
+        }
+        log.warn("🏳️ {} lost the leadership, shutting down to restart as a standby", identity);
+        Thread exit = new Thread(() -> System.exit(SpringApplication.exit(context, () -> 1)), "leader-exit");
+        exit.start();
+    }
+
+    private void onNewLeader(String holder) {
+        if (!identity.equals(holder)) {
+            log.info("🗳️ {} is the leader, {} stays a standby", holder, identity);
+        }
+    }
+
+    /**
+     * Resolves the identity of this replica: the configured one, else the host name, which is the pod name
+     */
+    public static String replicaIdentity(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String hostname = System.getenv("HOSTNAME");
+        return hostname != null && !hostname.isBlank() ? hostname : UUID.randomUUID().toString();
+    }
+
+    /**
+     * Remembers the last record held by another replica, to measure how long a failover took
+     */
+    private class ObservingLock implements Lock {
+
+        private final Lock delegate;
+
+        ObservingLock(Lock delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public LeaderElectionRecord get() throws ApiException {
+            LeaderElectionRecord record = delegate.get();
+            if (record != null && record.getHolderIdentity() != null && !record.getHolderIdentity().isEmpty()
+                && !identity.equals(record.getHolderIdentity())) {
+                lastForeignRecord = record;
+            }
+            return record;
+        }
+
+        @Override
+        public boolean create(LeaderElectionRecord record) {
+            return delegate.create(record);
+        }
+
+        @Override
+        public boolean update(LeaderElectionRecord record) {
+            return delegate.update(record);
+        }
+
+        @Override
+        public String identity() {
+            return delegate.identity();
+        }
+
+        @Override
+        public String describe() {
+            return delegate.describe();
+        }
+    }
+}
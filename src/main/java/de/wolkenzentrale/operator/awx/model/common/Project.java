@@ -1,6 +1,7 @@
 package de.wolkenzentrale.operator.awx.model.common;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +11,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
+// Fields left out are not sent, so AWX keeps its defaults instead of being asked to store null
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Project {
     private String name;
     private String description;
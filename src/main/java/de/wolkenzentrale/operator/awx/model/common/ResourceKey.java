@@ -0,0 +1,40 @@
+package de.wolkenzentrale.operator.awx.model.common;
+
+import lombok.Value;
+
+/**
+ * Key object for identifying a namespaced custom resource of a given kind
+ */
+@Value
+public class ResourceKey {
+    public static final String CONNECTION_KIND = "AwxConnection";
+    public static final String PROJECT_KIND = "AwxProject";
+
+    /**
+     * Resource kind, e.g. AwxConnection or AwxProject
+     */
+    String kind;
+
+    /**
+     * Kubernetes namespace of the resource
+     */
+    String namespace;
+
+    /**
+     * Name of the resource
+     */
+    String name;
+
+    public static ResourceKey connection(String namespace, String name) {
+        return new ResourceKey(CONNECTION_KIND, namespace, name);
+    }
+
+    public static ResourceKey project(String namespace, String name) {
+        return new ResourceKey(PROJECT_KIND, namespace, name);
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + namespace + "/" + name;
+    }
+}
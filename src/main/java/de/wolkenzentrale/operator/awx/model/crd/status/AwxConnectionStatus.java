@@ -1,5 +1,6 @@
 package de.wolkenzentrale.operator.awx.model.crd.status;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import de.wolkenzentrale.operator.awx.model.crd.kubernetes.ResourceStatus;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
+import java.time.OffsetDateTime;
+
 /**
  * Status information for an AWX Connection resource.
  * Extends the base ResourceStatus with connection-specific fields.
@@ -41,6 +44,28 @@ public class AwxConnectionStatus extends ResourceStatus {
      */
     private Integer failedConnectionAttempts;
     
+    /**
+     * Whether the connection is parked after persistent failures.
+     * Parked connections are only checked again on spec or secret changes, or on a long timer.
+     */
+    private Boolean parked;
+    
+    /**
+     * Earliest time of the next connection attempt
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
+    private OffsetDateTime nextAttemptTime;
+    
+    /**
+     * Smoothed health score: success ratio of the recent probes, between 0.0 and 1.0
+     */
+    private Double healthScore;
+    
+    /**
+     * Average latency of the recent probes in milliseconds
+     */
+    private Long probeLatencyMillis;
+    
     /**
      * Create a connection status with a disconnected state
      */
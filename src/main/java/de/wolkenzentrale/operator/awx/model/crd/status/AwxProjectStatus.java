@@ -1,5 +1,6 @@
 package de.wolkenzentrale.operator.awx.model.crd.status;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -29,11 +30,13 @@ public class AwxProjectStatus extends ResourceStatus {
     /**
      * When the project was created in AWX
      */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
     private OffsetDateTime created;
     
     /**
      * When the project was last modified in AWX
      */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
     private OffsetDateTime modified;
     
     /**
@@ -44,10 +47,17 @@ public class AwxProjectStatus extends ResourceStatus {
     /**
      * Last time a project update was initiated
      */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
     private OffsetDateTime lastUpdateJobTime;
     
     /**
      * ID of the last update job in AWX
      */
     private Integer lastUpdateJobId;
+    
+    /**
+     * Time of the next reconcile; sooner while AWX is still updating the project
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
+    private OffsetDateTime nextAttemptTime;
 } 
\ No newline at end of file
@@ -0,0 +1,152 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.BulkheadProperties;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded thread pools that keep the different kinds of blocking work apart, so that a slow
+ * AWX instance or a throttled API server cannot stall unrelated work.
+ * Full pools reject tasks instead of queueing without limit.
+ */
+@Slf4j
+@Component
+public class Bulkheads {
+
+    private static final AttributeKey<String> POOL = AttributeKey.stringKey("pool");
+    private static final String NAMESPACE_POOL_PREFIX = "namespace:";
+
+    private final BulkheadProperties properties;
+    private final Map<String, ThreadPoolExecutor> pools = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor kubernetes;
+    private final ThreadPoolExecutor awx;
+    private final ThreadPoolExecutor status;
+    private final LongCounter rejectionCounter;
+
+    public Bulkheads(BulkheadProperties properties, Meter meter) {
+        this.properties = properties;
+        this.kubernetes = register("kubernetes", properties.getKubernetes());
+        this.awx = register("awx", properties.getAwx());
+        this.status = register("status", properties.getStatus());
+
+        this.rejectionCounter = meter.counterBuilder("awx.bulkhead.rejections")
+            .setDescription("Tasks rejected because a bulkhead was full")
+            .build();
+        meter.gaugeBuilder("awx.bulkhead.queue.length")
+            .setDescription("Tasks waiting in each bulkhead")
+            .ofLongs()
+            .buildWithCallback(measurement -> pools.forEach((name, pool) ->
+                measurement.record(pool.getQueue().size(), Attributes.of(POOL, name))));
+        meter.gaugeBuilder("awx.bulkhead.active")
+            .setDescription("Busy worker threads in each bulkhead")
+            .ofLongs()
+            .buildWithCallback(measurement -> pools.forEach((name, pool) ->
+                measurement.record(pool.getActiveCount(), Attributes.of(POOL, name))));
+    }
+
+    /**
+     * Executor for Kubernetes status writes
+     */
+    public Executor status() {
+        return task -> submit("status", status, task);
+    }
+
+    /**
+     * Executor for AWX work of a namespace: its own pool if namespace bulkheads are enabled,
+     * otherwise the shared AWX pool
+     */
+    public Executor awx(String namespace) {
+        if (!properties.getNamespaces().isEnabled()) {
+            return task -> submit("awx", awx, task);
+        }
+        String name = NAMESPACE_POOL_PREFIX + namespace;
+        ThreadPoolExecutor pool = pools.computeIfAbsent(name,
+            ignored -> newPool(name, properties.getNamespaces().getPool()));
+        return task -> submit(name, pool, task);
+    }
+
+    /**
+     * Runs a blocking Kubernetes API call on the Kubernetes pool and waits for its result
+     */
+    public <T> T callKubernetes(Callable<T> call) throws Exception {
+        try {
+            return kubernetes.submit(call).get();
+        } catch (RejectedExecutionException e) {
+            recordRejection("kubernetes");
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * Gets the number of queued tasks of a pool, or 0 for an unknown pool
+     */
+    public int queueLength(String pool) {
+        ThreadPoolExecutor executor = pools.get(pool);
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("🛑 Shutting down {} bulkheads", pools.size());
+        pools.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    private void submit(String name, ThreadPoolExecutor pool, Runnable task) {
+        try {
+            pool.execute(task);
+        } catch (RejectedExecutionException e) {
+            recordRejection(name);
+            throw e;
+        }
+    }
+
+    private void recordRejection(String name) {
+        log.warn("🚧 Bulkhead '{}' is full, rejecting task", name);
+        rejectionCounter.add(1, Attributes.of(POOL, name));
+    }
+
+    private ThreadPoolExecutor register(String name, BulkheadProperties.Pool size) {
+        ThreadPoolExecutor pool = newPool(name, size);
+        pools.put(name, pool);
+        return pool;
+    }
+
+    private static ThreadPoolExecutor newPool(String name, BulkheadProperties.Pool size) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            size.getThreads(), size.getThreads(),
+            60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(size.getQueueCapacity()),
+            threadFactory(name),
+            new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
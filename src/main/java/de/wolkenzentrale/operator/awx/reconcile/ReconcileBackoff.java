@@ -0,0 +1,129 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Tracks failing resources and decides when they are due for the next reconciliation.
+ * Failing resources back off exponentially; after too many consecutive failures they are
+ * "parked" and only looked at again when their inputs change or a long timer expires.
+ */
+@Slf4j
+@Component
+public class ReconcileBackoff {
+
+    private final Map<ResourceKey, Entry> entries = new ConcurrentHashMap<>();
+    private final ReconcileProperties.Backoff properties;
+    private final Clock clock;
+
+    @Autowired
+    public ReconcileBackoff(ReconcileProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ReconcileBackoff(ReconcileProperties properties, Clock clock) {
+        this.properties = properties.getBackoff();
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether a resource should be reconciled now.
+     *
+     * @param key The resource
+     * @param fingerprint Supplies a fingerprint of the resource inputs (spec generation, secret version).
+     *                    Only evaluated for parked resources whose recheck timer has not expired.
+     * @return true if the resource is due
+     */
+    public boolean isDue(ResourceKey key, Supplier<String> fingerprint) {
+        Entry entry = entries.get(key);
+        if (entry == null || !clock.instant().isBefore(entry.nextAttempt())) {
+            return true;
+        }
+        if (entry.parked() && !Objects.equals(entry.fingerprint(), fingerprint.get())) {
+            log.info("🅿️ Inputs of parked resource {} changed, unparking for a new attempt", key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a failed reconciliation.
+     *
+     * @param key The resource
+     * @param failures Consecutive failures including this one
+     * @param fingerprint Fingerprint of the resource inputs used for this attempt
+     * @return The time of the next attempt
+     */
+    public Instant recordFailure(ResourceKey key, int failures, String fingerprint) {
+        boolean parked = failures >= properties.getParkAfterFailures();
+        Duration delay = parked ? properties.getParkedRecheckInterval() : delayFor(failures);
+        Instant nextAttempt = clock.instant().plus(delay);
+        Entry previous = entries.put(key, new Entry(nextAttempt, parked, fingerprint, failures));
+        if (parked && (previous == null || !previous.parked())) {
+            log.warn("🅿️ Parking {} after {} consecutive failures; next check at {}", key, failures, nextAttempt);
+        }
+        return nextAttempt;
+    }
+
+    /**
+     * Records a successful reconciliation, resetting any backoff
+     */
+    public void recordSuccess(ResourceKey key) {
+        Entry previous = entries.remove(key);
+        if (previous != null && previous.parked()) {
+            log.info("🚗 Unparked {} after a successful reconciliation", key);
+        }
+    }
+
+    /**
+     * Drops all state for a resource that no longer exists
+     */
+    public void forget(ResourceKey key) {
+        entries.remove(key);
+    }
+
+    public boolean isParked(ResourceKey key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.parked();
+    }
+
+    /**
+     * Gets the consecutive failures recorded for a resource, 0 if it is not failing
+     */
+    public int failures(ResourceKey key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.failures() : 0;
+    }
+
+    public Optional<Instant> nextAttempt(ResourceKey key) {
+        return Optional.ofNullable(entries.get(key)).map(Entry::nextAttempt);
+    }
+
+    public long parkedCount() {
+        return entries.values().stream().filter(Entry::parked).count();
+    }
+
+    /**
+     * Capped exponential delay: {@code min(maxDelay, baseDelay * 2^(failures - 1))}
+     */
+    Duration delayFor(int failures) {
+        int exponent = Math.min(Math.max(failures - 1, 0), 30);
+        Duration delay = properties.getBaseDelay().multipliedBy(1L << exponent);
+        return delay.compareTo(properties.getMaxDelay()) > 0 ? properties.getMaxDelay() : delay;
+    }
+
+    private record Entry(Instant nextAttempt, boolean parked, String fingerprint, int failures) {
+    }
+}
@@ -0,0 +1,240 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.BulkheadProperties;
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.shard.ShardCoordinator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Drains the fair {@link ReconcileQueue} into the AWX bulkheads.
+ * Only as many requests are handed out as there are workers, so the order of work is
+ * decided by the fair queue and not by the FIFO queues of the thread pools.
+ * The latency metric is recorded per lane, so the time from a user's change to its
+ * reconcile can be watched separately from routine resyncs.
+ * With sharding, only resources of connections owned by this replica are queued and reconciled;
+ * the controllers ask {@link #accepts} before arming a resync timer, so the others are not timed either.
+ * Nothing is queued or reconciled once this replica has lost the leadership, and the queue is dropped.
+ */
+@Slf4j
+@Component
+public class ReconcileDispatcher {
+
+    private static final AttributeKey<String> NAMESPACE = AttributeKey.stringKey("namespace");
+    private static final AttributeKey<String> LANE = AttributeKey.stringKey("lane");
+    private static final AttributeKey<String> KIND = AttributeKey.stringKey("kind");
+
+    private final ReconcileQueue queue;
+    private final Bulkheads bulkheads;
+    private final ReconcileScheduler scheduler;
+    private final ShardCoordinator sharding;
+    private final LeaderElection leaderElection;
+    private final Semaphore permits;
+    private final Map<String, Function<ReconcileRequest, ReconcileResult>> handlers = new ConcurrentHashMap<>();
+    private final List<Consumer<ResourceKey>> doneListeners = new CopyOnWriteArrayList<>();
+    private final LongHistogram queueWait;
+    private final LongHistogram latency;
+    private final LongHistogram requeueAfter;
+    private volatile Thread thread;
+
+    public ReconcileDispatcher(ReconcileProperties reconcileProperties, BulkheadProperties bulkheadProperties,
+                               Bulkheads bulkheads, ReconcileScheduler scheduler, ShardCoordinator sharding,
+                               LeaderElection leaderElection, Meter meter) {
+        boolean perNamespace = bulkheadProperties.getNamespaces().isEnabled();
+        this.queue = new ReconcileQueue(
+            reconcileProperties.getFairness()::weightOf,
+            perNamespace ? bulkheadProperties.getNamespaces().getPool().getThreads() : 0,
+            reconcileProperties.getLanes().getResyncCapacity());
+        this.bulkheads = bulkheads;
+        this.scheduler = scheduler;
+        this.sharding = sharding;
+        this.leaderElection = leaderElection;
+        leaderElection.addLossListener(() -> {
+            int dropped = queue.clear();
+            log.warn("🏳️ Leadership lost, dropped {} queued reconciles", dropped);
+        });
+        // With namespace bulkheads the per-namespace limit of the queue bounds the work instead
+        this.permits = new Semaphore(perNamespace ? Integer.MAX_VALUE : bulkheadProperties.getAwx().getThreads());
+
+        this.queueWait = meter.histogramBuilder("awx.reconcile.queue.wait")
+            .setDescription("Time reconcile requests spend in the queue")
+            .setUnit("ms")
+            .ofLongs()
+            .build();
+        this.latency = meter.histogramBuilder("awx.reconcile.latency")
+            .setDescription("Time from queueing a resource to the end of its reconcile")
+            .setUnit("ms")
+            .ofLongs()
+            .build();
+        this.requeueAfter = meter.histogramBuilder("awx.reconcile.requeue.after")
+            .setDescription("Delay until the next reconcile chosen after a reconcile")
+            .setUnit("ms")
+            .ofLongs()
+            .build();
+        meter.gaugeBuilder("awx.reconcile.queue.length")
+            .setDescription("Queued reconcile requests per namespace")
+            .ofLongs()
+            .buildWithCallback(measurement -> queue.sizeByNamespace().forEach((namespace, size) ->
+                measurement.record(size, Attributes.of(NAMESPACE, namespace))));
+        meter.gaugeBuilder("awx.reconcile.lane.length")
+            .setDescription("Queued reconcile requests per priority lane")
+            .ofLongs()
+            .buildWithCallback(measurement -> queue.sizeByLane().forEach((lane, size) ->
+                measurement.record(size, Attributes.of(LANE, lane.name()))));
+        meter.counterBuilder("awx.reconcile.shed")
+            .setDescription("Resync requests shed because the reconcile queue was full")
+            .buildWithCallback(measurement -> measurement.record(queue.shedCount()));
+    }
+
+    /**
+     * Registers the handler that reconciles resources of a kind.
+     * The result of the handler schedules the next reconcile of the resource.
+     */
+    public void register(String kind, Function<ReconcileRequest, ReconcileResult> handler) {
+        handlers.put(kind, handler);
+    }
+
+    /**
+     * Registers a listener told about every finished reconcile, successful or not
+     */
+    public void addDoneListener(Consumer<ResourceKey> listener) {
+        doneListeners.add(listener);
+    }
+
+    /**
+     * Queues a resource for reconciliation
+     *
+     * @return true if it was not queued already and was not shed
+     */
+    public boolean enqueue(ReconcileRequest request) {
+        if (!accepts(request.getConnection())) {
+            return false;
+        }
+        return queue.enqueue(request);
+    }
+
+    /**
+     * Checks whether this replica reconciles the resources of a connection: it is the leader and owns the connection.
+     * Controllers check this before arming a resync timer, so resources of other replicas are not timed either.
+     */
+    public boolean accepts(ConnectionKey connection) {
+        return leaderElection.isLeader() && sharding.owns(connection);
+    }
+
+    @PostConstruct
+    public void start() {
+        thread = new Thread(this::dispatchLoop, "reconcile-dispatcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("🚦 Reconcile dispatcher started");
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = thread;
+        thread = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (thread != null) {
+            try {
+                permits.acquire();
+                ReconcileRequest request = queue.poll(1, TimeUnit.SECONDS);
+                if (request == null) {
+                    permits.release();
+                    continue;
+                }
+                dispatch(request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Reconcile dispatcher failed", e);
+            }
+        }
+    }
+
+    void dispatch(ReconcileRequest request) {
+        queueWait.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - request.getEnqueuedAt()),
+            Attributes.of(NAMESPACE, request.getNamespace(), LANE, request.getLane().name()));
+        Function<ReconcileRequest, ReconcileResult> handler = handlers.get(request.getKey().getKind());
+        if (!leaderElection.isLeader()) {
+            log.debug("🏳️ Dropped reconcile of {}, leadership was lost", request.getKey());
+            finish(request);
+            return;
+        }
+        if (!sharding.owns(request.getConnection())) {
+            log.debug("🧩 {} moved to another replica while queued", request.getKey());
+            finish(request);
+            return;
+        }
+        try {
+            bulkheads.awx(request.getNamespace()).execute(() -> {
+                try {
+                    if (handler == null) {
+                        log.warn("❓ No reconciler registered for {}", request.getKey().getKind());
+                    } else {
+                        requeue(request.getKey(), handler.apply(request));
+                    }
+                } catch (Exception e) {
+                    log.error("❌ Reconcile of {} failed", request.getKey(), e);
+                    scheduler.scheduleResync(request.getKey());
+                } finally {
+                    latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - request.getEnqueuedAt()),
+                        Attributes.of(LANE, request.getLane().name()));
+                    finish(request);
+                    doneListeners.forEach(listener -> listener.accept(request.getKey()));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finish(request);
+            log.warn("🚧 No capacity to reconcile {}, retrying on the next pass", request.getKey());
+        }
+    }
+
+    private void requeue(ResourceKey key, ReconcileResult result) {
+        if (result == null) {
+            scheduler.scheduleResync(key);
+            return;
+        }
+        scheduler.scheduleAt(key, result.getRequeueAt());
+        requeueAfter.record(Math.max(0, Duration.between(Instant.now(), result.getRequeueAt()).toMillis()),
+            Attributes.of(KIND, key.getKind()));
+    }
+
+    /**
+     * Gets the number of queued requests
+     */
+    int queueSize() {
+        return queue.size();
+    }
+
+    private void finish(ReconcileRequest request) {
+        queue.done(request);
+        permits.release();
+    }
+}
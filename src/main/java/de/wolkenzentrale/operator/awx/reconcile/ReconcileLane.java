@@ -0,0 +1,34 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+/**
+ * Priority classes of reconcile requests, highest priority first.
+ * A lane is only served while all lanes above it are empty.
+ */
+public enum ReconcileLane {
+
+    /**
+     * A user changed the resource: new generation, no status yet, or deletion requested
+     */
+    CHANGE,
+
+    /**
+     * A failed reconcile whose backoff has expired
+     */
+    RETRY,
+
+    /**
+     * Periodic resync and health probe of an unchanged, healthy resource
+     */
+    RESYNC;
+
+    /**
+     * The lowest lane, which is shed first under overload
+     */
+    public static ReconcileLane lowest() {
+        return RESYNC;
+    }
+
+    public boolean isHigherThan(ReconcileLane other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -0,0 +1,332 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reconcile queue with strict priority between {@link ReconcileLane lanes}, deficit round robin (DRR)
+ * across namespaces within a lane and plain round robin across AWX connections within a namespace.
+ * A namespace with thousands of queued resources therefore cannot delay a small namespace by more
+ * than one round, and routine resyncs never delay a user's change.
+ * <p>
+ * The queue also guarantees that a resource is never handed out twice at the same time:
+ * a resource queued while it is being reconciled is held back until {@link #done} is called.
+ * Under overload, new requests in the lowest lane are shed once the queue is full; the next
+ * resync pass queues them again.
+ */
+public class ReconcileQueue {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final ToIntFunction<String> weights;
+    private final int flowConcurrency;
+    private final int lowestLaneCapacity;
+
+    private final Map<ReconcileLane, Lane> lanes = new EnumMap<>(ReconcileLane.class);
+    private final Map<String, Integer> runningByNamespace = new HashMap<>();
+    private final Map<ResourceKey, ReconcileRequest> queued = new HashMap<>();
+    private final Set<ResourceKey> running = new HashSet<>();
+    private final Map<ResourceKey, ReconcileRequest> deferred = new HashMap<>();
+    private long shed;
+
+    /**
+     * @param weights Weight (items per round, at least 1) of each namespace
+     * @param flowConcurrency Maximum concurrently running requests per namespace, or 0 for no limit
+     * @param lowestLaneCapacity Queue size from which new requests in the lowest lane are shed, or 0 for no limit
+     */
+    public ReconcileQueue(ToIntFunction<String> weights, int flowConcurrency, int lowestLaneCapacity) {
+        this.weights = weights;
+        this.flowConcurrency = flowConcurrency;
+        this.lowestLaneCapacity = lowestLaneCapacity;
+        for (ReconcileLane lane : ReconcileLane.values()) {
+            lanes.put(lane, new Lane());
+        }
+    }
+
+    /**
+     * Queues a request. If the resource is already queued, its payload is replaced and it
+     * moves to the request's lane if that is higher.
+     *
+     * @return true if the resource was not queued before and the request was not shed
+     */
+    public boolean enqueue(ReconcileRequest request) {
+        lock.lock();
+        try {
+            ReconcileRequest existing = queued.get(request.getKey());
+            if (existing != null) {
+                ReconcileLane previousLane = existing.getLane();
+                if (existing.merge(request)) {
+                    lanes.get(previousLane).remove(existing);
+                    lanes.get(existing.getLane()).add(existing);
+                    changed.signalAll();
+                }
+                return false;
+            }
+            if (running.contains(request.getKey())) {
+                ReconcileRequest waiting = deferred.putIfAbsent(request.getKey(), request);
+                if (waiting != null) {
+                    waiting.merge(request);
+                }
+                return waiting == null;
+            }
+            if (request.getLane() == ReconcileLane.lowest() && lowestLaneCapacity > 0 && queued.size() >= lowestLaneCapacity) {
+                shed++;
+                return false;
+            }
+            add(request);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the next request in priority and fair order and marks it as running
+     *
+     * @return The request, or null if none became available within the timeout
+     */
+    public ReconcileRequest poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            ReconcileRequest next;
+            while ((next = next()) == null) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = changed.awaitNanos(remaining);
+            }
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks a request as finished. A request for the same resource queued in the meantime becomes available.
+     */
+    public void done(ReconcileRequest request) {
+        lock.lock();
+        try {
+            running.remove(request.getKey());
+            runningByNamespace.computeIfPresent(request.getNamespace(), (namespace, count) -> count > 1 ? count - 1 : null);
+            ReconcileRequest waiting = deferred.remove(request.getKey());
+            if (waiting != null) {
+                add(waiting);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every queued and deferred request; running requests still finish with {@link #done}
+     *
+     * @return The number of dropped requests
+     */
+    public int clear() {
+        lock.lock();
+        try {
+            int dropped = queued.size() + deferred.size();
+            queued.clear();
+            deferred.clear();
+            lanes.replaceAll((lane, requests) -> new Lane());
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of queued requests
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return queued.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of queued requests per namespace
+     */
+    public Map<String, Integer> sizeByNamespace() {
+        lock.lock();
+        try {
+            Map<String, Integer> sizes = new HashMap<>();
+            lanes.values().forEach(lane -> lane.flows.forEach((namespace, flow) -> sizes.merge(namespace, flow.size, Integer::sum)));
+            return sizes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of queued requests per lane
+     */
+    public Map<ReconcileLane, Integer> sizeByLane() {
+        lock.lock();
+        try {
+            Map<ReconcileLane, Integer> sizes = new EnumMap<>(ReconcileLane.class);
+            lanes.forEach((lane, queue) -> sizes.put(lane, queue.size()));
+            return sizes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of requests shed so far because the queue was full
+     */
+    public long shedCount() {
+        lock.lock();
+        try {
+            return shed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(ReconcileRequest request) {
+        lanes.get(request.getLane()).add(request);
+        queued.put(request.getKey(), request);
+        changed.signalAll();
+    }
+
+    private ReconcileRequest next() {
+        for (Lane lane : lanes.values()) {
+            ReconcileRequest request = lane.next();
+            if (request != null) {
+                queued.remove(request.getKey());
+                running.add(request.getKey());
+                runningByNamespace.merge(request.getNamespace(), 1, Integer::sum);
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private boolean atConcurrencyLimit(String namespace) {
+        return flowConcurrency > 0 && runningByNamespace.getOrDefault(namespace, 0) >= flowConcurrency;
+    }
+
+    /**
+     * Queued requests of one priority class, split by namespace
+     */
+    private class Lane {
+        private final Map<String, Flow> flows = new HashMap<>();
+        private final Deque<Flow> active = new ArrayDeque<>();
+
+        void add(ReconcileRequest request) {
+            Flow flow = flows.computeIfAbsent(request.getNamespace(), Flow::new);
+            if (flow.size == 0) {
+                active.addLast(flow);
+            }
+            flow.add(request);
+        }
+
+        void remove(ReconcileRequest request) {
+            Flow flow = flows.get(request.getNamespace());
+            if (flow != null && flow.remove(request) && flow.size == 0) {
+                active.remove(flow);
+                flows.remove(flow.namespace);
+            }
+        }
+
+        int size() {
+            return flows.values().stream().mapToInt(flow -> flow.size).sum();
+        }
+
+        /**
+         * One DRR step: the flow at the head earns its quantum at the start of its turn and is
+         * served until its deficit is spent or it runs empty. Flows at their concurrency limit are skipped.
+         */
+        ReconcileRequest next() {
+            for (int visited = 0; visited < active.size(); visited++) {
+                Flow flow = active.peekFirst();
+                if (atConcurrencyLimit(flow.namespace)) {
+                    active.addLast(active.pollFirst());
+                    continue;
+                }
+                if (flow.deficit < 1) {
+                    flow.deficit += weights.applyAsInt(flow.namespace);
+                }
+                flow.deficit--;
+                ReconcileRequest request = flow.poll();
+                if (flow.size == 0) {
+                    active.pollFirst();
+                    flows.remove(flow.namespace);
+                } else if (flow.deficit < 1) {
+                    active.addLast(active.pollFirst());
+                }
+                return request;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Queued requests of one namespace within a lane, split by AWX connection
+     */
+    private static class Flow {
+        private final String namespace;
+        private final Map<ConnectionKey, Deque<ReconcileRequest>> byConnection = new LinkedHashMap<>();
+        private final Deque<ConnectionKey> connectionOrder = new ArrayDeque<>();
+        private int size;
+        private int deficit;
+
+        Flow(String namespace) {
+            this.namespace = namespace;
+        }
+
+        void add(ReconcileRequest request) {
+            byConnection.computeIfAbsent(request.getConnection(), connection -> {
+                connectionOrder.addLast(connection);
+                return new ArrayDeque<>();
+            }).addLast(request);
+            size++;
+        }
+
+        boolean remove(ReconcileRequest request) {
+            Deque<ReconcileRequest> requests = byConnection.get(request.getConnection());
+            if (requests == null || !requests.remove(request)) {
+                return false;
+            }
+            if (requests.isEmpty()) {
+                byConnection.remove(request.getConnection());
+                connectionOrder.remove(request.getConnection());
+            }
+            size--;
+            return true;
+        }
+
+        ReconcileRequest poll() {
+            ConnectionKey connection = connectionOrder.pollFirst();
+            Deque<ReconcileRequest> requests = byConnection.get(connection);
+            ReconcileRequest request = requests.pollFirst();
+            if (requests.isEmpty()) {
+                byConnection.remove(connection);
+            } else {
+                connectionOrder.addLast(connection);
+            }
+            size--;
+            return request;
+        }
+    }
+}
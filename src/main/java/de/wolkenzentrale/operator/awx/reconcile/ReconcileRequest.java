@@ -0,0 +1,69 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * A queued request to reconcile one resource.
+ * A newer listing of a queued resource replaces its payload (latest wins) and may promote it to a higher lane.
+ */
+@Getter
+@ToString(exclude = "payload")
+public class ReconcileRequest {
+
+    /**
+     * The resource to reconcile
+     */
+    private final ResourceKey key;
+
+    /**
+     * The AWX connection the resource talks to; requests are shared fairly between connections
+     */
+    private final ConnectionKey connection;
+
+    /**
+     * Priority class of the request
+     */
+    private volatile ReconcileLane lane;
+
+    /**
+     * {@link System#nanoTime()} when the request was queued, or promoted to its current lane
+     */
+    private volatile long enqueuedAt;
+
+    /**
+     * The resource as last listed from Kubernetes
+     */
+    private volatile Map<String, Object> payload;
+
+    public ReconcileRequest(ResourceKey key, ConnectionKey connection, ReconcileLane lane, Map<String, Object> payload) {
+        this.key = key;
+        this.connection = connection;
+        this.lane = lane;
+        this.payload = payload;
+        this.enqueuedAt = System.nanoTime();
+    }
+
+    public String getNamespace() {
+        return key.getNamespace();
+    }
+
+    /**
+     * Merges a newer request for the same resource into this one
+     *
+     * @return true if the newer request moved this one to a higher lane
+     */
+    boolean merge(ReconcileRequest newer) {
+        this.payload = newer.payload;
+        if (newer.lane.isHigherThan(lane)) {
+            this.lane = newer.lane;
+            this.enqueuedAt = newer.enqueuedAt;
+            return true;
+        }
+        return false;
+    }
+}
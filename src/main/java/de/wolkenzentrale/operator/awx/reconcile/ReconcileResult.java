@@ -0,0 +1,23 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a reconcile: when the resource should be reconciled next.
+ * Reconcilers build it with {@link ReconcileScheduler#requeueAfter} for requeue hints,
+ * or with {@link #retryAt} for backoff times, which are not clamped.
+ */
+@Value
+public class ReconcileResult {
+
+    /**
+     * Time of the next reconcile
+     */
+    Instant requeueAt;
+
+    public static ReconcileResult retryAt(Instant when) {
+        return new ReconcileResult(when);
+    }
+}
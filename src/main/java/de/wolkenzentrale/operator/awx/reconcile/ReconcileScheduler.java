@@ -0,0 +1,204 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-resource timers for resyncs and retries, kept in a {@link TimingWheel}.
+ * <p>
+ * Every resource resyncs at a fixed phase within the resync interval, derived from a hash of its key.
+ * Resyncs are therefore spread evenly over the interval instead of firing all at once. The phase is
+ * deterministic, so a resource keeps its slot across restarts and replicas.
+ * <p>
+ * Reconcilers can ask for a different cadence with a requeue hint ({@link #requeueAfter}),
+ * which is clamped to the configured bounds and aligned to the resource's phase the same way.
+ * Resync periods come from the {@link ResyncPlanner}, which stretches them to stay within the load budget.
+ */
+@Slf4j
+@Component
+public class ReconcileScheduler {
+
+    private final TimingWheel<ResourceKey> wheel;
+    private final Duration interval;
+    private final ReconcileProperties.Requeue requeue;
+    private final ResyncPlanner planner;
+    private final Duration tick;
+    private final Clock clock;
+    private final LongSupplier nanoClock;
+    private final Map<String, Consumer<ResourceKey>> handlers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public ReconcileScheduler(ReconcileProperties properties, ResyncPlanner planner, Meter meter) {
+        this(properties, planner, meter, Clock.systemUTC(), System::nanoTime);
+    }
+
+    ReconcileScheduler(ReconcileProperties properties, ResyncPlanner planner, Meter meter, Clock clock, LongSupplier nanoClock) {
+        this.interval = properties.getInterval();
+        this.requeue = properties.getRequeue();
+        this.planner = planner;
+        this.tick = properties.getTimers().getTick();
+        this.clock = clock;
+        this.nanoClock = nanoClock;
+        this.wheel = new TimingWheel<>(tick, properties.getTimers().getWheelSize(), nanoClock.getAsLong());
+
+        meter.gaugeBuilder("awx.reconcile.timers")
+            .setDescription("Resources with a pending resync or retry timer")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(wheel.size()));
+    }
+
+    /**
+     * Registers the handler called when a timer of a resource kind fires.
+     * Handlers run on the ticker thread and must only queue work.
+     */
+    public void register(String kind, Consumer<ResourceKey> handler) {
+        handlers.put(kind, handler);
+    }
+
+    /**
+     * Schedules the next resync of a resource in its phase slot of the resync interval
+     *
+     * @return The time of the resync
+     */
+    public Instant scheduleResync(ResourceKey key) {
+        Instant next = nextSlot(key, clock.instant(), planner.intervalFor(key));
+        scheduleAt(key, next);
+        return next;
+    }
+
+    /**
+     * Turns a reconciler's requeue hint into a result. The hint is clamped to the configured
+     * minimum and maximum and becomes the period of the resource's phase-aligned slots,
+     * so requeues stay spread even when many resources return the same hint.
+     * Hints of at least the resync interval are stretched to the planned interval as well;
+     * shorter hints, which poll work in progress, are not.
+     */
+    public ReconcileResult requeueAfter(ResourceKey key, Duration hint) {
+        Duration period = clamp(hint);
+        if (period.compareTo(interval) >= 0) {
+            Duration planned = planner.intervalFor(key);
+            period = planned.compareTo(period) > 0 ? planned : period;
+        }
+        return new ReconcileResult(nextSlot(key, clock.instant(), period));
+    }
+
+    /**
+     * Requeue after the planned resync interval
+     */
+    public ReconcileResult resync(ResourceKey key) {
+        return new ReconcileResult(nextSlot(key, clock.instant(), planner.intervalFor(key)));
+    }
+
+    /**
+     * Schedules the next reconcile of a resource at a fixed time, replacing its current timer
+     */
+    public void scheduleAt(ResourceKey key, Instant when) {
+        scheduleAfter(key, Duration.between(clock.instant(), when));
+    }
+
+    /**
+     * Schedules the next reconcile of a resource after a delay, replacing its current timer
+     */
+    public void scheduleAfter(ResourceKey key, Duration delay) {
+        wheel.schedule(key, nanoClock.getAsLong() + Math.max(0, delay.toNanos()));
+    }
+
+    public void cancel(ResourceKey key) {
+        wheel.cancel(key);
+    }
+
+    public boolean isScheduled(ResourceKey key) {
+        return wheel.contains(key);
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reconcile-timers");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tick.toNanos(), tick.toNanos(), TimeUnit.NANOSECONDS);
+        log.info("⏱️ Reconcile timers started (interval {}, tick {})", interval, tick);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Fires all due timers
+     */
+    void tick() {
+        for (ResourceKey key : wheel.advance(nanoClock.getAsLong())) {
+            fire(key);
+        }
+    }
+
+    /**
+     * Runs the timer handler of a resource right away, as if its timer had fired
+     */
+    public void fire(ResourceKey key) {
+        Consumer<ResourceKey> handler = handlers.get(key.getKind());
+        if (handler == null) {
+            log.warn("❓ No timer handler registered for {}", key.getKind());
+            return;
+        }
+        try {
+            handler.accept(key);
+        } catch (Exception e) {
+            log.error("❌ Timer handler for {} failed", key, e);
+        }
+    }
+
+    /**
+     * The first instant after {@code now} that falls on the phase of the resource within the period
+     */
+    static Instant nextSlot(ResourceKey key, Instant now, Duration period) {
+        long periodMillis = Math.max(1, period.toMillis());
+        long nowMillis = now.toEpochMilli();
+        long offset = Math.floorMod(phase(key, periodMillis) - nowMillis, periodMillis);
+        return Instant.ofEpochMilli(nowMillis + (offset == 0 ? periodMillis : offset));
+    }
+
+    Duration clamp(Duration hint) {
+        if (hint.compareTo(requeue.getMin()) < 0) {
+            return requeue.getMin();
+        }
+        return hint.compareTo(requeue.getMax()) > 0 ? requeue.getMax() : hint;
+    }
+
+    /**
+     * Deterministic phase of a resource within an interval, from a mixed hash of its key
+     */
+    static long phase(ResourceKey key, long intervalMillis) {
+        long hash = key.toString().hashCode();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return Math.floorMod(hash, intervalMillis);
+    }
+}
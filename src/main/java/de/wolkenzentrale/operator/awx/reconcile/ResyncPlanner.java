@@ -0,0 +1,118 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Plans resync intervals from a load budget instead of using one fixed interval.
+ * <p>
+ * Resyncing {@code n} resources every {@code t} seconds costs {@code n / t} reconciles per second.
+ * Within a budget of {@code b} requests per second, the interval therefore has to be at least
+ * {@code n * costPerReconcile / b}. The planner keeps the resource counts per AWX host up to date,
+ * so an interval costs O(1) to look up. It never goes below the configured interval.
+ */
+@Component
+public class ResyncPlanner {
+
+    private static final AttributeKey<String> HOST = AttributeKey.stringKey("host");
+
+    private final Duration interval;
+    private final ReconcileProperties.Budget budget;
+    private final Map<ResourceKey, String> hosts = new HashMap<>();
+    private final Map<String, Integer> countByHost = new HashMap<>();
+
+    public ResyncPlanner(ReconcileProperties properties, Meter meter) {
+        this.interval = properties.getInterval();
+        this.budget = properties.getBudget();
+
+        meter.gaugeBuilder("awx.reconcile.planned.interval")
+            .setDescription("Planned resync interval for the Kubernetes write budget")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(kubernetesInterval().toMillis()));
+        meter.gaugeBuilder("awx.reconcile.planned.host.interval")
+            .setDescription("Planned resync interval per AWX host for the AWX request budget")
+            .ofLongs()
+            .buildWithCallback(measurement -> countsByHost().forEach((host, count) ->
+                measurement.record(intervalFor(host).toMillis(), Attributes.of(HOST, host))));
+    }
+
+    /**
+     * Registers a resource and the AWX host it talks to, or updates its host
+     *
+     * @param host The AWX host, null while it is not known; the resource then only counts for the Kubernetes budget
+     */
+    public synchronized void track(ResourceKey key, String host) {
+        boolean tracked = hosts.containsKey(key);
+        String previous = hosts.put(key, host);
+        if (tracked && Objects.equals(host, previous)) {
+            return;
+        }
+        if (previous != null) {
+            decrement(previous);
+        }
+        if (host != null) {
+            countByHost.merge(host, 1, Integer::sum);
+        }
+    }
+
+    public synchronized void untrack(ResourceKey key) {
+        String previous = hosts.remove(key);
+        if (previous != null) {
+            decrement(previous);
+        }
+    }
+
+    /**
+     * Gets the planned resync interval of a resource: the configured interval, stretched
+     * as far as the Kubernetes budget and the budget of its AWX host require
+     */
+    public synchronized Duration intervalFor(ResourceKey key) {
+        if (!budget.isEnabled()) {
+            return interval;
+        }
+        String host = hosts.get(key);
+        Duration planned = kubernetesInterval();
+        if (host != null) {
+            Duration hostInterval = intervalFor(host);
+            planned = hostInterval.compareTo(planned) > 0 ? hostInterval : planned;
+        }
+        return planned;
+    }
+
+    synchronized Duration kubernetesInterval() {
+        if (!budget.isEnabled()) {
+            return interval;
+        }
+        return atLeastInterval(hosts.size() * budget.getKubernetesWritesPerReconcile() / budget.getMaxKubernetesWritesPerSecond());
+    }
+
+    private synchronized Duration intervalFor(String host) {
+        if (!budget.isEnabled()) {
+            return interval;
+        }
+        int count = countByHost.getOrDefault(host, 0);
+        return atLeastInterval(count * budget.getAwxRequestsPerReconcile() / budget.getMaxAwxRequestsPerSecondPerHost());
+    }
+
+    private synchronized Map<String, Integer> countsByHost() {
+        return new HashMap<>(countByHost);
+    }
+
+    private Duration atLeastInterval(double seconds) {
+        Duration planned = Duration.ofMillis((long) Math.ceil(seconds * 1000));
+        return planned.compareTo(interval) > 0 ? planned : interval;
+    }
+
+    private void decrement(String host) {
+        countByHost.computeIfPresent(host, (ignored, count) -> count > 1 ? count - 1 : null);
+    }
+}
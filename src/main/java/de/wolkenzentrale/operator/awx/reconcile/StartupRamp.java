@@ -0,0 +1,278 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.informer.Informers;
+import de.wolkenzentrale.operator.awx.informer.ResourceInformer;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.shard.ShardCoordinator;
+import de.wolkenzentrale.operator.awx.util.TokenBucket;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Paces the first pass after a start or failover, so a restart does not reconcile every resource at once.
+ * <p>
+ * Until all informer caches are synced and this replica is the leader, controllers only cache events
+ * and queue nothing. Then every cached connection and project this replica owns is released into the reconcile queue through a token bucket,
+ * connections first, with a random jitter per release. The pod reports ready once the configured
+ * fraction of this first pass has been reconciled, or after a timeout.
+ */
+@Slf4j
+@Component
+public class StartupRamp {
+
+    private static final long SYNC_POLL_MILLIS = 100;
+
+    private final ReconcileProperties.Startup properties;
+    private final Informers informers;
+    private final ReconcileScheduler scheduler;
+    private final LeaderElection leaderElection;
+    private final ShardCoordinator sharding;
+    private final LongSupplier nanoClock;
+
+    // Resources waiting to be released, in release order
+    private final Set<ResourceKey> pending = new LinkedHashSet<>();
+    // Resources of the first pass that have not been reconciled yet
+    private final Set<ResourceKey> remaining = ConcurrentHashMap.newKeySet();
+    private volatile boolean released;
+    private volatile boolean complete;
+    private volatile int total;
+    private volatile long startedAt;
+    private volatile Thread thread;
+
+    @Autowired
+    public StartupRamp(ReconcileProperties reconcileProperties, Informers informers,
+                       ReconcileScheduler scheduler, ReconcileDispatcher dispatcher,
+                       LeaderElection leaderElection, ShardCoordinator sharding, Meter meter) {
+        this(reconcileProperties, informers, scheduler, dispatcher, leaderElection, sharding, meter, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock Clock of the ready timeout
+     */
+    StartupRamp(ReconcileProperties reconcileProperties, Informers informers,
+                ReconcileScheduler scheduler, ReconcileDispatcher dispatcher,
+                LeaderElection leaderElection, ShardCoordinator sharding, Meter meter, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.properties = reconcileProperties.getStartup();
+        this.informers = informers;
+        this.scheduler = scheduler;
+        this.leaderElection = leaderElection;
+        this.sharding = sharding;
+        sharding.addListener(this::onRebalance);
+        dispatcher.addDoneListener(remaining::remove);
+        // A resource deleted during the first pass will never be reconciled
+        ResourceInformer.Listener forgetDeleted = (key, previous, current) -> {
+            if (current == null) {
+                remaining.remove(key);
+            }
+        };
+        informers.connections().addListener(forgetDeleted);
+        informers.projects().addListener(forgetDeleted);
+
+        meter.gaugeBuilder("awx.startup.pending")
+            .setDescription("Resources of the first pass not yet released into the reconcile queue")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(pendingCount()));
+        meter.gaugeBuilder("awx.startup.remaining")
+            .setDescription("Resources of the first pass not yet reconciled")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(remaining.size()));
+    }
+
+    /**
+     * Checks whether the caches are synced and controllers may queue resources on their own
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Checks whether all informer caches have completed their first list
+     */
+    public boolean isSynced() {
+        return informers.hasSynced();
+    }
+
+    /**
+     * Checks whether enough of the first pass has been reconciled for the pod to take over
+     */
+    public boolean isReady() {
+        if (!complete) {
+            return false;
+        }
+        return passDone(total, remaining.size(), properties.getReadyFraction())
+            || nanoClock.getAsLong() - startedAt >= properties.getReadyTimeout().toNanos();
+    }
+
+    /**
+     * Hands a resource to the ramp instead of queueing it directly, while the first pass is being released
+     *
+     * @return true if the ramp will release it, false if the caller has to queue it itself
+     */
+    public boolean defer(ResourceKey key) {
+        synchronized (pending) {
+            if (!released || complete) {
+                return false;
+            }
+            pending.add(key);
+            return true;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        startedAt = nanoClock.getAsLong();
+        thread = new Thread(this::run, "startup-ramp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        Thread current = thread;
+        thread = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!informers.hasSynced()) {
+                Thread.sleep(SYNC_POLL_MILLIS);
+            }
+            log.info("🌅 Caches synced after {} ms", TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - startedAt));
+            // A standby keeps its caches warm and only releases work once it becomes the leader
+            while (!leaderElection.isLeader() || !sharding.isSettled()) {
+                Thread.sleep(SYNC_POLL_MILLIS);
+            }
+            startedAt = nanoClock.getAsLong();
+            snapshot();
+            log.info("🌅 Releasing {} resources", total);
+            TokenBucket bucket = new TokenBucket(properties.getRatePerSecond(), properties.getBurst());
+            ResourceKey key;
+            while ((key = next()) != null) {
+                if (properties.isEnabled()) {
+                    long jitterNanos = properties.getJitter().isZero() ? 0
+                        : ThreadLocalRandom.current().nextLong(properties.getJitter().toNanos());
+                    TimeUnit.NANOSECONDS.sleep(bucket.reserve() + jitterNanos);
+                }
+                scheduler.fire(key);
+            }
+            log.info("🌄 First pass released, {} of {} resources still to reconcile", remaining.size(), total);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens the gate for controllers and queues all cached resources, connections first.
+     * Events arriving from now on are handled by the controllers; everything cached before is in the snapshot.
+     */
+    private void snapshot() {
+        synchronized (pending) {
+            released = true;
+            List<ResourceKey> connections = new ArrayList<>(active(informers.connections(), owned(informers.connections().keys())));
+            List<ResourceKey> projects = new ArrayList<>(active(informers.projects(), owned(informers.projects().keys())));
+            // Spread the pass over namespaces and AWX hosts instead of going alphabetically
+            Collections.shuffle(connections);
+            Collections.shuffle(projects);
+            pending.addAll(connections);
+            pending.addAll(projects);
+            remaining.addAll(pending);
+            total = pending.size();
+        }
+    }
+
+    /**
+     * Picks up the resources of connections this replica gained in a rebalance
+     */
+    private void onRebalance(Predicate<ConnectionKey> previouslyOwned) {
+        if (!released) {
+            return;
+        }
+        int gained = 0;
+        for (Set<ResourceKey> keys : List.of(informers.connections().keys(), informers.projects().keys())) {
+            for (ResourceKey key : keys) {
+                ConnectionKey connection = connectionOf(key);
+                if (connection != null && sharding.owns(connection) && !previouslyOwned.test(connection)) {
+                    scheduler.fire(key);
+                    gained++;
+                }
+            }
+        }
+        log.info("🧩 Picked up {} resources after a rebalance", gained);
+    }
+
+    private List<ResourceKey> owned(Set<ResourceKey> keys) {
+        return keys.stream()
+            .filter(key -> {
+                ConnectionKey connection = connectionOf(key);
+                return connection != null && sharding.owns(connection);
+            })
+            .toList();
+    }
+
+    /**
+     * Drops paused resources; they are not reconciled, so readiness must not wait for them
+     */
+    private static List<ResourceKey> active(ResourceInformer informer, List<ResourceKey> keys) {
+        return keys.stream()
+            .filter(key -> !Informers.isPaused(informer.get(key)))
+            .toList();
+    }
+
+    private ConnectionKey connectionOf(ResourceKey key) {
+        if (ResourceKey.CONNECTION_KIND.equals(key.getKind())) {
+            return new ConnectionKey(key.getNamespace(), key.getName());
+        }
+        return informers.projectsByConnection().ownerOf(key).orElse(null);
+    }
+
+    private ResourceKey next() {
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                complete = true;
+                return null;
+            }
+            ResourceKey key = pending.iterator().next();
+            pending.remove(key);
+            return key;
+        }
+    }
+
+    private int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Checks whether at least the given fraction of the first pass has been reconciled
+     */
+    static boolean passDone(int total, int remaining, double fraction) {
+        return total - remaining >= Math.ceil(total * fraction);
+    }
+}
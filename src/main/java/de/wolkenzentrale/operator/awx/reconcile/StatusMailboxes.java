@@ -0,0 +1,120 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Latest-wins mailboxes of pending writes, one per key.
+ * <p>
+ * The first update of a key opens its mailbox and schedules a flush after the debounce window.
+ * Updates arriving before the flush replace the pending one, so each key is written at most once
+ * per window with its latest update. While a key is being written, new updates wait in its mailbox
+ * for the next window; a key is never written twice at the same time.
+ *
+ * @param <K> Key of the mailboxes
+ * @param <U> Pending update
+ */
+public class StatusMailboxes<K, U> {
+
+    private final Map<K, U> pending = new ConcurrentHashMap<>();
+    private final long debounceNanos;
+    private final ScheduledExecutorService ticker;
+    private final Executor executor;
+    private final BiConsumer<K, U> writer;
+    private final BiConsumer<K, RejectedExecutionException> rejected;
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * @param debounce Window in which updates of a key are merged into one write
+     * @param ticker Schedules the flushes
+     * @param executor Runs the writes; its size bounds the concurrent writes
+     * @param writer Writes the latest update of a key
+     * @param rejected Told about keys whose write found no capacity; their update is dropped
+     */
+    public StatusMailboxes(Duration debounce, ScheduledExecutorService ticker, Executor executor,
+                           BiConsumer<K, U> writer, BiConsumer<K, RejectedExecutionException> rejected) {
+        this.debounceNanos = Math.max(0, debounce.toNanos());
+        this.ticker = ticker;
+        this.executor = executor;
+        this.writer = writer;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Puts an update into the mailbox of its key
+     *
+     * @return false if it replaced an update that was not written yet
+     */
+    public boolean offer(K key, U update) {
+        if (pending.put(key, update) != null) {
+            coalesced.incrementAndGet();
+            return false;
+        }
+        schedule(key);
+        return true;
+    }
+
+    /**
+     * Drops every update that is not written yet; flushes already scheduled find their mailbox empty
+     */
+    public void clear() {
+        pending.clear();
+    }
+
+    /**
+     * Number of keys with an update that is not written yet
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Number of updates replaced by a later update of the same key before they were written
+     */
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    private void schedule(K key) {
+        try {
+            ticker.schedule(() -> submit(key), debounceNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            reject(key, e);
+        }
+    }
+
+    private void submit(K key) {
+        try {
+            executor.execute(() -> drain(key));
+        } catch (RejectedExecutionException e) {
+            reject(key, e);
+        }
+    }
+
+    private void reject(K key, RejectedExecutionException e) {
+        pending.remove(key);
+        rejected.accept(key, e);
+    }
+
+    private void drain(K key) {
+        U update = pending.get(key);
+        if (update == null) {
+            return;
+        }
+        try {
+            writer.accept(key, update);
+        } finally {
+            // An update that arrived during the write found the mailbox open and waits for the next window
+            if (!pending.remove(key, update)) {
+                schedule(key);
+            }
+        }
+    }
+}
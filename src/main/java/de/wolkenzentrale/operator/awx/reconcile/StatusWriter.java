@@ -0,0 +1,248 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.wolkenzentrale.operator.awx.config.StatusProperties;
+import de.wolkenzentrale.operator.awx.informer.Informers;
+import de.wolkenzentrale.operator.awx.informer.ResourceInformer;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CustomObjectsApi;
+import io.kubernetes.client.util.PatchUtils;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Writes the status of AwxConnections and AwxProjects with server-side apply.
+ * <p>
+ * Every write applies the complete status the operator owns under one field manager.
+ * Fields of other managers survive. The CRDs list {@code conditions} as a map keyed by {@code type},
+ * so other controllers can own conditions of their own types next to the operator's.
+ * Applies are forced: the operator always wins the fields it sets, instead of failing on conflicts.
+ * Writes run on the status bulkhead, so slow writes do not hold up reconciles.
+ * <p>
+ * Guarded writes carry the resourceVersion the status was derived from, so a stale reconcile cannot
+ * overwrite a newer status. On a {@code 409 Conflict} the status is derived again from the cached resource,
+ * without repeating the AWX calls of the reconcile.
+ * <p>
+ * Writes are coalesced per object: every object has a latest-wins mailbox that is flushed once per
+ * debounce window, so a burst of updates from probes, spec syncs and job tracking becomes one write.
+ * The threads of the status bulkhead bound the writes in flight.
+ * A replica that lost the leadership drops its pending writes and writes nothing more.
+ */
+@Slf4j
+@Component
+public class StatusWriter {
+
+    private static final String GROUP = "wolkenzentrale.de";
+    private static final String VERSION = "v1alpha1";
+    private static final int CONFLICT = 409;
+    private static final long REFRESH_POLL_MILLIS = 50;
+    private static final AttributeKey<String> KIND = AttributeKey.stringKey("kind");
+
+    private final ApiClient apiClient;
+    private final CustomObjectsApi customObjectsApi;
+    private final ObjectMapper objectMapper;
+    private final Informers informers;
+    private final StatusProperties properties;
+    private final LeaderElection leaderElection;
+    private final LongCounter conflicts;
+    private final LongCounter writes;
+    private final ScheduledExecutorService ticker;
+    private final StatusMailboxes<ResourceKey, Update> mailboxes;
+
+    public StatusWriter(Bulkheads bulkheads, ApiClient apiClient, StatusProperties properties,
+                        @Qualifier("kubernetesObjectMapper") ObjectMapper objectMapper, Informers informers,
+                        LeaderElection leaderElection, Meter meter) {
+        this.apiClient = apiClient;
+        this.customObjectsApi = new CustomObjectsApi(apiClient);
+        this.objectMapper = objectMapper;
+        this.informers = informers;
+        this.properties = properties;
+        this.leaderElection = leaderElection;
+        this.conflicts = meter.counterBuilder("awx.status.conflicts")
+            .setDescription("Status writes rejected because the resource changed since the status was derived")
+            .build();
+        this.writes = meter.counterBuilder("awx.status.writes")
+            .setDescription("Status writes sent to the Kubernetes API")
+            .build();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-mailboxes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mailboxes = new StatusMailboxes<>(properties.getDebounce(), ticker, bulkheads.status(),
+            (key, update) -> writeGuarded(key, update.resource(), update.derive()),
+            (key, e) -> log.warn("🚧 Dropped status update for {}, the next pass will write it", key));
+        leaderElection.addLossListener(mailboxes::clear);
+        meter.counterBuilder("awx.status.coalesced")
+            .setDescription("Status updates replaced by a later update of the same object before they were written")
+            .buildWithCallback(measurement -> measurement.record(mailboxes.coalescedCount()));
+        meter.gaugeBuilder("awx.status.pending")
+            .setDescription("Objects with a status update waiting for its write")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(mailboxes.size()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Puts a status write into the mailbox of the object, replacing a pending write of the object
+     *
+     * @param resource The resource the status is derived from; its resourceVersion guards the write
+     * @param derive Builds the complete status owned by the operator from a resource; fields left out are removed.
+     *               Called again with the cached resource after a conflict, so it must not repeat side effects.
+     *               Returns null if the status needs no write.
+     */
+    public void write(ResourceKey key, Map<String, Object> resource, Function<Map<String, Object>, ?> derive) {
+        if (!mailboxes.offer(key, new Update(resource, derive))) {
+            log.debug("📬 Merged status update for {} into the pending one", key);
+        }
+    }
+
+    void writeGuarded(ResourceKey key, Map<String, Object> resource, Function<Map<String, Object>, ?> derive) {
+        Map<String, Object> basis = resource;
+        for (int attempt = 0; ; attempt++) {
+            if (!leaderElection.isLeader()) {
+                log.debug("🏳️ Status of {} not written, leadership was lost", key);
+                return;
+            }
+            try {
+                String resourceVersion = properties.isGuardResourceVersion() ? ResourceInformer.resourceVersionOf(basis) : null;
+                Object status = derive.apply(basis);
+                if (status == null) {
+                    log.debug("Status of {} unchanged, nothing to write", key);
+                    return;
+                }
+                writes.add(1, Attributes.of(KIND, key.getKind()));
+                apply(key, resourceVersion, status);
+                return;
+            } catch (ApiException e) {
+                if (e.getCode() != CONFLICT) {
+                    log.error("❌ Failed to update status for {} - {}", key, e.getMessage(), e);
+                    return;
+                }
+                conflicts.add(1, Attributes.of(KIND, key.getKind()));
+                if (attempt >= properties.getConflictRetries()) {
+                    log.warn("⚔️ Status of {} kept conflicting, the next pass will write it", key);
+                    return;
+                }
+                basis = refresh(key, ResourceInformer.resourceVersionOf(basis));
+                if (basis == null) {
+                    log.debug("Status of {} not written, the resource is gone", key);
+                    return;
+                }
+                log.debug("⚔️ Status of {} conflicted, deriving it again from version {}", key,
+                    ResourceInformer.resourceVersionOf(basis));
+            } catch (Exception e) {
+                log.error("❌ Failed to update status for {} - {}", key, e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits for the cache to hold a newer version of the resource than the one that lost the race
+     *
+     * @return The cached resource, null if it was deleted
+     */
+    private Map<String, Object> refresh(ResourceKey key, String staleVersion) {
+        ResourceInformer informer = informers.of(key.getKind());
+        long deadline = System.nanoTime() + properties.getConflictRefreshTimeout().toNanos();
+        Map<String, Object> cached = informer.get(key);
+        while (cached != null && Objects.equals(ResourceInformer.resourceVersionOf(cached), staleVersion)
+            && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(REFRESH_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            cached = informer.get(key);
+        }
+        return cached;
+    }
+
+    private void apply(ResourceKey key, String resourceVersion, Object status) throws Exception {
+        log.debug("🔄 Updating status for {}", key);
+        String body = objectMapper.writeValueAsString(applyConfiguration(key, resourceVersion, status));
+        PatchUtils.patch(
+            Object.class,
+            () -> customObjectsApi.patchNamespacedCustomObjectStatus(
+                    GROUP, VERSION, key.getNamespace(), pluralOf(key), key.getName(), new V1Patch(body))
+                .fieldManager(properties.getFieldManager())
+                .force(true)
+                .buildCall(null),
+            V1Patch.PATCH_FORMAT_APPLY_YAML,
+            apiClient
+        );
+        log.debug("✅ Status update completed for {}", key);
+    }
+
+    /**
+     * Builds the apply configuration of a status: the identity of the resource and the fields the operator owns
+     *
+     * @param resourceVersion Precondition of the write, null for an unguarded write
+     */
+    static Map<String, Object> applyConfiguration(ResourceKey key, String resourceVersion, Object status) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("name", key.getName());
+        metadata.put("namespace", key.getNamespace());
+        if (resourceVersion != null) {
+            metadata.put("resourceVersion", resourceVersion);
+        }
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("apiVersion", GROUP + "/" + VERSION);
+        configuration.put("kind", key.getKind());
+        configuration.put("metadata", metadata);
+        configuration.put("status", status);
+        return configuration;
+    }
+
+    private static String pluralOf(ResourceKey key) {
+        return switch (key.getKind()) {
+            case ResourceKey.CONNECTION_KIND -> "awxconnections";
+            case ResourceKey.PROJECT_KIND -> "awxprojects";
+            default -> throw new IllegalArgumentException("No status for kind " + key.getKind());
+        };
+    }
+
+    /**
+     * A pending status write; compared by identity, so the mailbox can tell it from a later one
+     */
+    private static final class Update {
+        private final Map<String, Object> resource;
+        private final Function<Map<String, Object>, ?> derive;
+
+        Update(Map<String, Object> resource, Function<Map<String, Object>, ?> derive) {
+            this.resource = resource;
+            this.derive = derive;
+        }
+
+        Map<String, Object> resource() {
+            return resource;
+        }
+
+        Function<Map<String, Object>, ?> derive() {
+            return derive;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel holding at most one timer per key.
+ * <p>
+ * Timers are kept in doubly linked buckets indexed by their deadline tick, so scheduling,
+ * rescheduling and cancelling are O(1) no matter how many timers exist. Advancing the wheel
+ * only visits the buckets of the elapsed ticks. Deadlines further away than one rotation stay
+ * in their bucket until their tick comes around.
+ * <p>
+ * All methods are synchronized; the wheel is meant to be advanced by a single ticker thread.
+ *
+ * @param <K> Key of the timers
+ */
+public class TimingWheel<K> {
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Node<K>[] buckets;
+    private final int mask;
+    private final Map<K, Node<K>> timers = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param tick Resolution of the wheel; deadlines are rounded up to whole ticks
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     * @param startNanos {@link System#nanoTime()}-based time of tick zero
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tick, int wheelSize, long startNanos) {
+        if (tick.isZero() || tick.isNegative()) {
+            throw new IllegalArgumentException("Tick must be positive: " + tick);
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = tick.toNanos();
+        this.startNanos = startNanos;
+        this.buckets = new Node[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedules the timer of a key, replacing any timer the key already has.
+     * Deadlines in the past fire on the next {@link #advance}.
+     */
+    public synchronized void schedule(K key, long deadlineNanos) {
+        Node<K> existing = timers.remove(key);
+        if (existing != null) {
+            unlink(existing);
+        }
+        long tick = Math.max(ceilDiv(deadlineNanos - startNanos, tickNanos), currentTick);
+        Node<K> node = new Node<>(key, tick);
+        link(node);
+        timers.put(key, node);
+    }
+
+    /**
+     * Cancels the timer of a key
+     *
+     * @return true if the key had a timer
+     */
+    public synchronized boolean cancel(K key) {
+        Node<K> node = timers.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    public synchronized boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Advances the wheel to the given time and removes all timers that are due by then
+     *
+     * @return The keys of the expired timers, in bucket order
+     */
+    public synchronized List<K> advance(long nowNanos) {
+        long targetTick = Math.floorDiv(nowNanos - startNanos, tickNanos);
+        if (targetTick < currentTick) {
+            return List.of();
+        }
+        List<K> expired = new ArrayList<>();
+        long steps = Math.min(targetTick - currentTick + 1, buckets.length);
+        for (long step = 0; step < steps; step++) {
+            int index = (int) ((currentTick + step) & mask);
+            Node<K> node = buckets[index];
+            while (node != null) {
+                Node<K> next = node.next;
+                if (node.deadlineTick <= targetTick) {
+                    unlink(node);
+                    timers.remove(node.key);
+                    expired.add(node.key);
+                }
+                node = next;
+            }
+        }
+        currentTick = targetTick + 1;
+        return expired;
+    }
+
+    private void link(Node<K> node) {
+        int index = (int) (node.deadlineTick & mask);
+        Node<K> head = buckets[index];
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        buckets[index] = node;
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[(int) (node.deadlineTick & mask)] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    private static final class Node<K> {
+        private final K key;
+        private final long deadlineTick;
+        private Node<K> prev;
+        private Node<K> next;
+
+        Node(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
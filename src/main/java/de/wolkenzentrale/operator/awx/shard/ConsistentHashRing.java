@@ -0,0 +1,70 @@
+package de.wolkenzentrale.operator.awx.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Consistent hash ring mapping keys to members.
+ * <p>
+ * Every member is placed on the ring at several virtual points; a key belongs to the member
+ * at the first point at or after the key's hash. Adding or removing a member therefore only
+ * moves the keys between that member and its ring neighbours, about {@code 1/members} of all keys.
+ * Immutable; a membership change builds a new ring.
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final Set<String> members;
+
+    /**
+     * @param members Identities of the members
+     * @param virtualNodes Points per member on the ring
+     */
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = Set.copyOf(new TreeSet<>(members));
+        for (String member : this.members) {
+            for (int i = 0; i < Math.max(1, virtualNodes); i++) {
+                points.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    /**
+     * Gets the member a key belongs to
+     *
+     * @return The member, or null if the ring has no members
+     */
+    public String ownerOf(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = points.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with a murmur mix so close strings spread over the ring
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
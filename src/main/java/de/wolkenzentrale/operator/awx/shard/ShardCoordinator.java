@@ -0,0 +1,331 @@
+package de.wolkenzentrale.operator.awx.shard;
+
+import de.wolkenzentrale.operator.awx.config.ShardingProperties;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoordinationV1Api;
+import io.kubernetes.client.openapi.models.V1Lease;
+import io.kubernetes.client.openapi.models.V1LeaseSpec;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Splits the reconcile work between operator replicas by consistent hashing over {@link ConnectionKey}.
+ * A connection and all projects referencing it belong to the same replica.
+ * <p>
+ * Every replica renews its own membership Lease and reads the Leases of the others.
+ * A membership change does not take effect at once: until the handoff delay has passed, a replica only
+ * owns the connections it owns under both the old and the new ring. Connections moving away are
+ * dropped right away, connections moving in are picked up after the previous owner has seen the
+ * change, so no connection is reconciled by two replicas at a time.
+ * <p>
+ * A replica that cannot renew its Lease, e.g. because it is cut off from the API server, owns nothing once
+ * the renew deadline has passed. The others wait a full lease duration after its Lease expired before they
+ * take over, and a replica whose Lease lapsed rejoins like a new member.
+ */
+@Slf4j
+@Component
+public class ShardCoordinator {
+
+    static final String MEMBER_LABEL = "awx.wolkenzentrale.de/shard-member";
+    private static final int NOT_FOUND = 404;
+
+    /**
+     * Gets notified when a new ring takes effect, on the membership thread
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param previouslyOwned Tells whether a connection was owned by this replica before the change
+         */
+        void onRebalance(Predicate<ConnectionKey> previouslyOwned);
+    }
+
+    private final ShardingProperties properties;
+    private final CoordinationV1Api coordinationApi;
+    private final String identity;
+    private final Clock clock;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final LongCounter rebalances;
+    private volatile ConsistentHashRing current;
+    private volatile ConsistentHashRing next;
+    private volatile Instant nextActivation;
+    private volatile Instant lastRenewed;
+    private volatile boolean lapsed;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public ShardCoordinator(ShardingProperties properties, ApiClient apiClient, Meter meter) {
+        this(properties, apiClient, meter, Clock.systemUTC(), LeaderElection.replicaIdentity(null));
+    }
+
+    ShardCoordinator(ShardingProperties properties, ApiClient apiClient, Meter meter, Clock clock, String identity) {
+        this.properties = properties;
+        this.coordinationApi = new CoordinationV1Api(apiClient);
+        this.identity = identity;
+        this.clock = clock;
+
+        this.rebalances = meter.counterBuilder("awx.shard.rebalances")
+            .setDescription("Membership changes that moved connections between replicas")
+            .build();
+        meter.gaugeBuilder("awx.shard.members")
+            .setDescription("Replicas sharing the reconcile work")
+            .ofLongs()
+            .buildWithCallback(measurement -> {
+                ConsistentHashRing ring = current;
+                measurement.record(ring != null ? ring.getMembers().size() : 0);
+            });
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Checks whether this replica reconciles a connection and its projects
+     */
+    public boolean owns(ConnectionKey connection) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        ConsistentHashRing ring = current;
+        ConsistentHashRing pending = next;
+        String key = connection.toString();
+        return isRenewed() && ring != null && identity.equals(ring.ownerOf(key))
+            && (pending == null || identity.equals(pending.ownerOf(key)));
+    }
+
+    /**
+     * Checks whether the membership is known and no handoff is in progress
+     */
+    public boolean isSettled() {
+        return !properties.isEnabled() || (current != null && next == null);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-membership");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = properties.getRenewInterval().toMillis();
+        ticker.scheduleWithFixedDelay(this::tick, 0, period, TimeUnit.MILLISECONDS);
+        log.info("🧩 Joining the shard ring as {}", identity);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (ticker == null) {
+            return;
+        }
+        ticker.shutdownNow();
+        ticker = null;
+        try {
+            // Leaving explicitly lets the others take over without waiting for the Lease to expire
+            coordinationApi.deleteNamespacedLease(leaseName(), properties.getLeaseNamespace()).execute();
+        } catch (ApiException e) {
+            log.debug("Could not delete shard Lease {}: {}", leaseName(), e.getMessage());
+        }
+    }
+
+    void tick() {
+        try {
+            Instant now = clock.instant();
+            renew(now);
+            renewed(now);
+            Map<String, Boolean> leases = readMembers();
+            observe(memberOf(leases, true), memberOf(leases, false));
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to update the shard membership: {}", e.getMessage());
+            if (lastRenewed != null && !isRenewed() && !lapsed) {
+                lapsed = true;
+                log.warn("🧩 Shard Lease of {} not renewed since {}, dropping all connections", identity, lastRenewed);
+            }
+        }
+        activateIfDue();
+    }
+
+    /**
+     * Takes note of a successful renewal of this replica's Lease
+     *
+     * @param at The renew time written to the Lease
+     */
+    void renewed(Instant at) {
+        if (current != null && !isRenewed()) {
+            // The others may have taken over while the Lease lapsed, so start over like a new member
+            log.info("🧩 Shard Lease of {} renewed again, rejoining the ring", identity);
+            current = null;
+            next = null;
+        }
+        lastRenewed = at;
+        lapsed = false;
+    }
+
+    /**
+     * Checks whether this replica renewed its Lease recently enough that no other replica can have taken over
+     */
+    private boolean isRenewed() {
+        Instant renewed = lastRenewed;
+        return renewed != null && clock.instant().isBefore(renewed.plus(properties.getRenewDeadline()));
+    }
+
+    void observe(Set<String> members) {
+        observe(members, Set.of());
+    }
+
+    /**
+     * Takes note of the current members; a change starts a handoff to the new ring
+     *
+     * @param expired Holders of Leases that expired instead of being deleted on shutdown
+     */
+    void observe(Set<String> members, Set<String> expired) {
+        Set<String> alive = new HashSet<>(members);
+        alive.add(identity);
+        ConsistentHashRing target = next != null ? next : current;
+        if (target != null && target.getMembers().equals(alive)) {
+            return;
+        }
+        boolean expiredMemberLeft = target != null && target.getMembers().stream()
+            .anyMatch(member -> !alive.contains(member) && expired.contains(member));
+        if (current == null) {
+            // A new replica owns nothing until the replicas that hold its connections have let go
+            Set<String> others = new HashSet<>(alive);
+            others.remove(identity);
+            current = new ConsistentHashRing(others, properties.getVirtualNodes());
+        }
+        next = new ConsistentHashRing(alive, properties.getVirtualNodes());
+        nextActivation = clock.instant().plus(handoffDelay(expiredMemberLeft));
+        rebalances.add(1);
+        log.info("🧩 Shard members changed to {}, handing over at {}", alive, nextActivation);
+    }
+
+    /**
+     * Switches to the new ring once the handoff delay has passed
+     */
+    void activateIfDue() {
+        ConsistentHashRing pending = next;
+        if (pending == null || clock.instant().isBefore(nextActivation)) {
+            return;
+        }
+        ConsistentHashRing previous = current;
+        current = pending;
+        next = null;
+        log.info("🧩 Shard ring of {} members is active", pending.getMembers().size());
+        Predicate<ConnectionKey> previouslyOwned = connection -> identity.equals(previous.ownerOf(connection.toString()));
+        for (Listener listener : listeners) {
+            try {
+                listener.onRebalance(previouslyOwned);
+            } catch (Exception e) {
+                log.error("❌ Rebalance listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Long enough for every other replica to read the new membership and drop what it loses.
+     * A member whose Lease expired may not read anything, so its connections move only after a full
+     * lease duration, by which time it has passed its renew deadline.
+     */
+    private Duration handoffDelay(boolean expiredMemberLeft) {
+        Duration delay = properties.getRenewInterval().multipliedBy(2);
+        if (expiredMemberLeft && delay.compareTo(properties.getLeaseDuration()) < 0) {
+            return properties.getLeaseDuration();
+        }
+        return delay;
+    }
+
+    private void renew(Instant at) throws ApiException {
+        OffsetDateTime now = at.atOffset(ZoneOffset.UTC);
+        V1Lease lease;
+        try {
+            lease = coordinationApi.readNamespacedLease(leaseName(), properties.getLeaseNamespace()).execute();
+        } catch (ApiException e) {
+            if (e.getCode() != NOT_FOUND) {
+                throw e;
+            }
+            lease = new V1Lease()
+                .metadata(new V1ObjectMeta()
+                    .name(leaseName())
+                    .namespace(properties.getLeaseNamespace())
+                    .labels(Map.of(MEMBER_LABEL, "true")))
+                .spec(new V1LeaseSpec()
+                    .holderIdentity(identity)
+                    .leaseDurationSeconds((int) properties.getLeaseDuration().toSeconds())
+                    .acquireTime(now)
+                    .renewTime(now));
+            coordinationApi.createNamespacedLease(properties.getLeaseNamespace(), lease).execute();
+            return;
+        }
+        lease.getSpec().setRenewTime(now);
+        coordinationApi.replaceNamespacedLease(leaseName(), properties.getLeaseNamespace(), lease).execute();
+    }
+
+    /**
+     * Reads the holders of all membership Leases
+     *
+     * @return Whether the Lease of each holder is still valid
+     */
+    private Map<String, Boolean> readMembers() throws ApiException {
+        Instant now = clock.instant();
+        Map<String, Boolean> members = new HashMap<>();
+        for (V1Lease lease : coordinationApi.listNamespacedLease(properties.getLeaseNamespace())
+                .labelSelector(MEMBER_LABEL).execute().getItems()) {
+            V1LeaseSpec spec = lease.getSpec();
+            if (spec == null || spec.getHolderIdentity() == null || spec.getRenewTime() == null) {
+                continue;
+            }
+            int duration = spec.getLeaseDurationSeconds() != null
+                ? spec.getLeaseDurationSeconds() : (int) properties.getLeaseDuration().toSeconds();
+            members.put(spec.getHolderIdentity(), spec.getRenewTime().toInstant().plusSeconds(duration).isAfter(now));
+        }
+        return members;
+    }
+
+    private static Set<String> memberOf(Map<String, Boolean> leases, boolean valid) {
+        Set<String> holders = new HashSet<>();
+        leases.forEach((holder, alive) -> {
+            if (alive == valid) {
+                holders.add(holder);
+            }
+        });
+        return holders;
+    }
+
+    private String leaseName() {
+        return properties.getLeasePrefix() + identity;
+    }
+}
@@ -0,0 +1,86 @@
+package de.wolkenzentrale.operator.awx.util;
+
+import de.wolkenzentrale.operator.awx.config.RetryProperties;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries as a fraction of recent requests so that retries cannot amplify an outage.
+ * Counts are kept for the current and the previous window; the previous window is weighted
+ * by how much of it still overlaps the sliding window, which smooths the window edges.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final int minRetries;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private long windowStart;
+    private long requests;
+    private long retries;
+    private long previousRequests;
+    private long previousRetries;
+
+    public RetryBudget(double ratio, int minRetries, Duration window) {
+        this(ratio, minRetries, window, System::nanoTime);
+    }
+
+    RetryBudget(double ratio, int minRetries, Duration window, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.minRetries = minRetries;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    public static RetryBudget from(RetryProperties.Budget properties) {
+        return new RetryBudget(properties.getRatio(), properties.getMinRetries(), properties.getWindow());
+    }
+
+    /**
+     * Budget that never denies a retry
+     */
+    public static RetryBudget unlimited() {
+        return new RetryBudget(Double.POSITIVE_INFINITY, Integer.MAX_VALUE, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Records an attempt (initial or retried) against the budget
+     */
+    public synchronized void recordRequest() {
+        roll();
+        requests++;
+    }
+
+    /**
+     * Withdraws one retry from the budget
+     *
+     * @return true if the retry may proceed, false if the budget is exhausted
+     */
+    public synchronized boolean tryAcquireRetry() {
+        roll();
+        double overlap = 1.0 - (double) (nanoClock.getAsLong() - windowStart) / windowNanos;
+        double recentRequests = requests + previousRequests * overlap;
+        double recentRetries = retries + previousRetries * overlap;
+        if (recentRetries + 1 > Math.max(minRetries, recentRequests * ratio)) {
+            return false;
+        }
+        retries++;
+        return true;
+    }
+
+    private void roll() {
+        long elapsed = nanoClock.getAsLong() - windowStart;
+        if (elapsed < windowNanos) {
+            return;
+        }
+        boolean skippedWholeWindow = elapsed >= 2 * windowNanos;
+        previousRequests = skippedWholeWindow ? 0 : requests;
+        previousRetries = skippedWholeWindow ? 0 : retries;
+        requests = 0;
+        retries = 0;
+        windowStart += (elapsed / windowNanos) * windowNanos;
+    }
+}
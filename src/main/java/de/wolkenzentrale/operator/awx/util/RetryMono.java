@@ -1,38 +1,54 @@
 package de.wolkenzentrale.operator.awx.util;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 @Slf4j
 public class RetryMono<T> {
-    private static final int MAX_RETRIES = 3;
-    private static final Duration INITIAL_DELAY = Duration.ofSeconds(10);
-
     private final Mono<T> operation;
     private final String operationName;
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
 
-    private RetryMono(Mono<T> operation, String operationName) {
+    private RetryMono(Mono<T> operation, String operationName, RetryPolicy policy, RetryBudget budget) {
         this.operation = operation;
         this.operationName = operationName;
+        this.policy = policy;
+        this.budget = budget;
     }
 
     /**
      * Unit operation (of) - lifts a value into the RetryMono context
      */
     public static <T> RetryMono<T> of(T value, String operationName) {
-        return new RetryMono<>(Mono.just(value), operationName);
+        return of(Mono.just(value), operationName);
     }
 
     /**
      * Unit operation (of) - lifts a Mono into the RetryMono context
      */
     public static <T> RetryMono<T> of(Mono<T> operation, String operationName) {
-        return new RetryMono<>(operation, operationName);
+        return new RetryMono<>(operation, operationName, RetryPolicy.defaults(), RetryBudget.unlimited());
+    }
+
+    /**
+     * Replaces the retry policy used by {@link #run()}
+     */
+    public RetryMono<T> withPolicy(RetryPolicy policy) {
+        return new RetryMono<>(operation, operationName, policy, budget);
+    }
+
+    /**
+     * Replaces the retry budget charged by {@link #run()}
+     */
+    public RetryMono<T> withBudget(RetryBudget budget) {
+        return new RetryMono<>(operation, operationName, policy, budget);
     }
 
     /**
@@ -41,7 +57,9 @@ public class RetryMono<T> {
     public <R> RetryMono<R> flatMap(Function<T, RetryMono<R>> mapper) {
         return new RetryMono<>(
             operation.flatMap(value -> mapper.apply(value).run()),
-            operationName + " -> " + mapper.toString()
+            operationName + " -> " + mapper.toString(),
+            policy,
+            budget
         );
     }
 
@@ -49,24 +67,40 @@ public class RetryMono<T> {
      * Map operation - transforms the value while maintaining the RetryMono context
      */
     public <R> RetryMono<R> map(Function<T, R> mapper) {
-        return flatMap(value -> RetryMono.of(mapper.apply(value), operationName));
+        return flatMap(value -> RetryMono.of(mapper.apply(value), operationName).withPolicy(policy).withBudget(budget));
     }
 
     /**
      * Executes the operation with retry behavior
      */
     public Mono<T> run() {
-        return operation.retryWhen(Retry.backoff(MAX_RETRIES, INITIAL_DELAY)
-            .filter(throwable -> {
-                if (throwable instanceof WebClientResponseException ex) {
-                    int statusCode = ex.getStatusCode().value();
-                    return statusCode >= 400 && statusCode < 600;
-                }
-                return false;
+        return Mono.defer(() -> {
+                budget.recordRequest();
+                return operation;
             })
-            .doBeforeRetry(retrySignal -> 
-                log.warn("🔄 Retrying {} after error. Attempt: {}", 
-                    operationName, retrySignal.totalRetries() + 1))
-        );
+            .retryWhen(Retry.from(signals -> {
+                // Created per subscription, so concurrent runs do not share jitter state
+                AtomicReference<Duration> previousDelay = new AtomicReference<>(policy.getBaseDelay());
+                return signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    if (signal.totalRetries() >= policy.getMaxRetries() || !policy.isRetriable(failure)) {
+                        return Mono.error(failure);
+                    }
+                    if (!budget.tryAcquireRetry()) {
+                        log.warn("🪫 Retry budget exhausted, not retrying {}", operationName);
+                        return Mono.error(failure);
+                    }
+                    Optional<Duration> delay = policy.nextDelay(previousDelay.get(), failure);
+                    if (delay.isEmpty()) {
+                        log.warn("⏳ Server asked to wait longer than {} for {}, giving up",
+                            policy.getMaxRetryAfter(), operationName);
+                        return Mono.error(failure);
+                    }
+                    previousDelay.set(delay.get());
+                    log.warn("🔄 Retrying {} after error in {} ms. Attempt: {}",
+                        operationName, delay.get().toMillis(), signal.totalRetries() + 1);
+                    return Mono.delay(delay.get());
+                });
+            }));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package de.wolkenzentrale.operator.awx.util;
+
+import de.wolkenzentrale.operator.awx.config.RetryProperties;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable retry policy: decides whether a failure is worth repeating and how long to wait.
+ * Delays follow the "decorrelated jitter" scheme: {@code min(maxDelay, random(baseDelay, previous * 3))}.
+ */
+@Value
+@Builder(toBuilder = true)
+public class RetryPolicy {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+        HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE, HttpMethod.PUT, HttpMethod.DELETE);
+
+    int maxRetries;
+    Duration baseDelay;
+    Duration maxDelay;
+    Duration maxRetryAfter;
+    Set<Integer> retriableStatusCodes;
+
+    /**
+     * Policy with the same values as an unconfigured {@link RetryProperties}
+     */
+    public static RetryPolicy defaults() {
+        return from(new RetryProperties());
+    }
+
+    public static RetryPolicy from(RetryProperties properties) {
+        return RetryPolicy.builder()
+            .maxRetries(properties.getMaxRetries())
+            .baseDelay(properties.getBaseDelay())
+            .maxDelay(properties.getMaxDelay())
+            .maxRetryAfter(properties.getMaxRetryAfter())
+            .retriableStatusCodes(Set.copyOf(properties.getRetriableStatusCodes()))
+            .build();
+    }
+
+    /**
+     * Classifies a failure. Non-retriable 4xx responses are never repeated, and requests
+     * with non-idempotent methods are only repeated when the server provably did not process them.
+     */
+    public boolean isRetriable(Throwable failure) {
+        if (failure instanceof WebClientResponseException ex) {
+            int statusCode = ex.getStatusCode().value();
+            if (!retriableStatusCodes.contains(statusCode)) {
+                return false;
+            }
+            // 429 means the request was rejected before processing, so even a POST is safe to repeat
+            return statusCode == 429 || isIdempotent(ex.getRequest() != null ? ex.getRequest().getMethod() : null);
+        }
+        if (failure instanceof WebClientRequestException ex) {
+            // A refused connection never reached the server
+            return ex.getCause() instanceof ConnectException || isIdempotent(ex.getMethod());
+        }
+        return false;
+    }
+
+    /**
+     * Computes the delay before the next attempt.
+     *
+     * @param previous The delay used before the previous attempt (or the base delay for the first retry)
+     * @param failure The failure that triggered the retry
+     * @return The delay, or empty if the server asked us to wait longer than {@code maxRetryAfter}
+     */
+    public Optional<Duration> nextDelay(Duration previous, Throwable failure) {
+        long base = baseDelay.toMillis();
+        long upper = Math.max(base + 1, Math.min(maxDelay.toMillis(), previous.toMillis() * 3));
+        Duration jittered = Duration.ofMillis(Math.min(maxDelay.toMillis(),
+            ThreadLocalRandom.current().nextLong(base, upper)));
+
+        Optional<Duration> retryAfter = retryAfter(failure);
+        if (retryAfter.isPresent()) {
+            if (retryAfter.get().compareTo(maxRetryAfter) > 0) {
+                return Optional.empty();
+            }
+            return Optional.of(retryAfter.get().compareTo(jittered) > 0 ? retryAfter.get() : jittered);
+        }
+        return Optional.of(jittered);
+    }
+
+    /**
+     * Extracts a Retry-After hint (delta-seconds or HTTP-date) from a response failure
+     */
+    static Optional<Duration> retryAfter(Throwable failure) {
+        if (!(failure instanceof WebClientResponseException ex)) {
+            return Optional.empty();
+        }
+        String value = ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime until = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration delay = Duration.between(ZonedDateTime.now(until.getZone()), until);
+                return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+            } catch (DateTimeParseException notDate) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static boolean isIdempotent(HttpMethod method) {
+        return method != null && IDEMPOTENT_METHODS.contains(method);
+    }
+}
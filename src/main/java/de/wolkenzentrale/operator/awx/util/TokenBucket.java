@@ -0,0 +1,90 @@
+package de.wolkenzentrale.operator.awx.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter: tokens refill continuously at a fixed rate up to the burst size.
+ * Callers either take a token if one is available, or reserve the next one and wait until it is due.
+ */
+public class TokenBucket {
+
+    private double tokensPerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param ratePerSecond Tokens added per second
+     * @param burst Maximum tokens held; the bucket starts full
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token if one is available
+     *
+     * @return true if a token was taken
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Takes the next token, going into debt if none is available
+     *
+     * @return Nanoseconds the caller has to wait before using the token, 0 if it is available now
+     */
+    public synchronized long reserve() {
+        refill();
+        tokens--;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    /**
+     * Gives back a token that was taken but not used; the bucket never holds more than the burst size
+     */
+    public synchronized void release() {
+        refill();
+        tokens = Math.min(burst, tokens + 1);
+    }
+
+    /**
+     * Changes the refill rate; tokens already in the bucket are kept
+     */
+    public synchronized void setRate(double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        refill();
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+    }
+
+    public synchronized double getRate() {
+        return tokensPerNano * 1_000_000_000d;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
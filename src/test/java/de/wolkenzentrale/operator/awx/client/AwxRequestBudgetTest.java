@@ -0,0 +1,75 @@
+package de.wolkenzentrale.operator.awx.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.wolkenzentrale.operator.awx.config.RequestBudgetProperties;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AwxRequestBudgetTest {
+
+    @Test
+    void hostOf_shouldKeepHostAndPort() {
+        assertThat(AwxRequestBudget.hostOf("https://awx.example.com:8443/api")).isEqualTo("awx.example.com:8443");
+        assertThat(AwxRequestBudget.hostOf("https://awx.example.com")).isEqualTo("awx.example.com");
+    }
+
+    @Test
+    void share_lowDemand_shouldGetDemandPlusEvenSplitOfRest() {
+        Map<String, Double> demands = Map.of("a", 2.0, "b", 30.0, "c", 30.0);
+
+        assertThat(AwxRequestBudget.share(20, demands, "a")).isCloseTo(2.0, within(0.001));
+        assertThat(AwxRequestBudget.share(20, demands, "b")).isCloseTo(9.0, within(0.001));
+        assertThat(AwxRequestBudget.share(20, demands, "c")).isCloseTo(9.0, within(0.001));
+    }
+
+    @Test
+    void share_idleCapacity_shouldBeSplitEvenly() {
+        Map<String, Double> demands = Map.of("a", 1.0, "b", 3.0);
+
+        assertThat(AwxRequestBudget.share(10, demands, "a")).isCloseTo(4.0, within(0.001));
+        assertThat(AwxRequestBudget.share(10, demands, "b")).isCloseTo(6.0, within(0.001));
+    }
+
+    @Test
+    void share_shouldNeverExceedCapInTotal() {
+        Map<String, Double> demands = Map.of("a", 5.0, "b", 50.0, "c", 0.0, "d", 12.0);
+
+        double total = demands.keySet().stream().mapToDouble(replica -> AwxRequestBudget.share(20, demands, replica)).sum();
+
+        assertThat(total).isCloseTo(20.0, within(0.001));
+    }
+
+    @Test
+    void reserve_disabled_shouldNeverWait() {
+        AwxRequestBudget budget = budget(new RequestBudgetProperties());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(budget.reserve("awx.example.com:443")).isZero();
+        }
+    }
+
+    @Test
+    void reserve_withoutCoordination_shouldUseFallbackRate() {
+        RequestBudgetProperties properties = new RequestBudgetProperties();
+        properties.setEnabled(true);
+        properties.setFallbackRequestsPerSecondPerHost(2);
+        properties.setBurst(1);
+        AwxRequestBudget budget = budget(properties);
+
+        assertThat(budget.reserve("awx.example.com:443")).isZero();
+        budget.rebalance(Map.of("other", Map.of("awx.example.com:443", 100.0)));
+
+        assertThat(budget.reserve("awx.example.com:443")).isBetween(400_000_000L, 500_000_000L);
+    }
+
+    private static AwxRequestBudget budget(RequestBudgetProperties properties) {
+        return new AwxRequestBudget(properties, null, new ObjectMapper(), OpenTelemetry.noop().getMeter("test"),
+            Clock.systemUTC(), "self");
+    }
+}
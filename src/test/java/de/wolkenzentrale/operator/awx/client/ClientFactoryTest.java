@@ -33,6 +33,9 @@ class ClientFactoryTest {
     
     @Mock
     private ObjectMapper objectMapper;
+
+    @Mock
+    private AwxRequestBudget requestBudget;
     
     @InjectMocks
     private ClientFactory clientFactory;
@@ -115,4 +118,40 @@ class ClientFactoryTest {
         verify(registry, never()).remove(testKey);
         verify(registry, never()).put(any(RawClient.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void updateClient_KeepsOtherClients() {
+        // Given
+        when(registry.containsKey(testKey)).thenReturn(false);
+        
+        // When
+        clientFactory.updateClient(testConnection);
+        
+        // Then
+        verify(registry).put(any(RawClient.class));
+        verify(registry, never()).remove(any(ConnectionKey.class));
+        verify(registry, never()).getKeys();
+    }
+    
+    @Test
+    void updateClient_RecreatesUpdatedClient() {
+        // Given
+        when(registry.containsKey(testKey)).thenReturn(true);
+        when(registry.getConnection(testKey)).thenReturn(testConnection);
+        Connection modifiedConnection = Connection.builder()
+            .name(testConnection.getName())
+            .namespace(testConnection.getNamespace())
+            .url("https://awx-new.example.com")
+            .username(testConnection.getUsername())
+            .password(testConnection.getPassword())
+            .insecureSkipTlsVerify(testConnection.isInsecureSkipTlsVerify())
+            .build();
+        
+        // When
+        clientFactory.updateClient(modifiedConnection);
+        
+        // Then
+        verify(registry).remove(testKey);
+        verify(registry).put(any(RawClient.class));
+    }
+}
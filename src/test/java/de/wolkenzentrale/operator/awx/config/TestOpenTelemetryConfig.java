@@ -1,8 +1,13 @@
 package de.wolkenzentrale.operator.awx.config;
 
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleGaugeBuilder;
+import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.LongCounterBuilder;
+import io.opentelemetry.api.metrics.LongGaugeBuilder;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.LongHistogramBuilder;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
@@ -46,6 +51,23 @@ public class TestOpenTelemetryConfig {
         Mockito.when(counterBuilder.setDescription(Mockito.anyString())).thenReturn(counterBuilder);
         Mockito.when(counterBuilder.build()).thenReturn(counter);
         
+        DoubleGaugeBuilder gaugeBuilder = Mockito.mock(DoubleGaugeBuilder.class);
+        LongGaugeBuilder longGaugeBuilder = Mockito.mock(LongGaugeBuilder.class);
+        
+        Mockito.when(meter.gaugeBuilder(Mockito.anyString())).thenReturn(gaugeBuilder);
+        Mockito.when(gaugeBuilder.setDescription(Mockito.anyString())).thenReturn(gaugeBuilder);
+        Mockito.when(gaugeBuilder.ofLongs()).thenReturn(longGaugeBuilder);
+        Mockito.when(longGaugeBuilder.setDescription(Mockito.anyString())).thenReturn(longGaugeBuilder);
+        
+        DoubleHistogramBuilder histogramBuilder = Mockito.mock(DoubleHistogramBuilder.class);
+        LongHistogramBuilder longHistogramBuilder = Mockito.mock(LongHistogramBuilder.class);
+        
+        Mockito.when(meter.histogramBuilder(Mockito.anyString())).thenReturn(histogramBuilder);
+        Mockito.when(histogramBuilder.setDescription(Mockito.anyString())).thenReturn(histogramBuilder);
+        Mockito.when(histogramBuilder.setUnit(Mockito.anyString())).thenReturn(histogramBuilder);
+        Mockito.when(histogramBuilder.ofLongs()).thenReturn(longHistogramBuilder);
+        Mockito.when(longHistogramBuilder.build()).thenReturn(Mockito.mock(LongHistogram.class));
+        
         return meter;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,187 @@
+package de.wolkenzentrale.operator.awx.controllers;
+
+import de.wolkenzentrale.operator.awx.client.ClientFactory;
+import de.wolkenzentrale.operator.awx.client.ClientRegistry;
+import de.wolkenzentrale.operator.awx.client.RetryBudgetRegistry;
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.config.RetryProperties;
+import de.wolkenzentrale.operator.awx.events.EventRecorder;
+import de.wolkenzentrale.operator.awx.health.ConnectionHealth;
+import de.wolkenzentrale.operator.awx.health.ConnectionHealthTracker;
+import de.wolkenzentrale.operator.awx.health.ConnectionHeartbeats;
+import de.wolkenzentrale.operator.awx.informer.Informers;
+import de.wolkenzentrale.operator.awx.informer.ResourceInformer;
+import de.wolkenzentrale.operator.awx.interfaces.awx.client.AwxClient;
+import de.wolkenzentrale.operator.awx.model.api.VersionInfo;
+import de.wolkenzentrale.operator.awx.model.common.Connection;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.reconcile.Bulkheads;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileBackoff;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileDispatcher;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileResult;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileScheduler;
+import de.wolkenzentrale.operator.awx.reconcile.ResyncPlanner;
+import de.wolkenzentrale.operator.awx.reconcile.StartupRamp;
+import de.wolkenzentrale.operator.awx.reconcile.StatusWriter;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Secret;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionControllerTest {
+
+    private static final ResourceKey KEY = ResourceKey.connection("team", "awx");
+    private static final ConnectionKey CONNECTION = new ConnectionKey("team", "awx");
+    private static final ResourceKey SECRET = new ResourceKey(Informers.SECRET_KIND, "team", "awx-password");
+
+    private final ClientRegistry clientRegistry = mock(ClientRegistry.class);
+    private final ConnectionHealthTracker healthTracker = mock(ConnectionHealthTracker.class);
+    private final Bulkheads bulkheads = mock(Bulkheads.class);
+    private final ReconcileScheduler scheduler = mock(ReconcileScheduler.class);
+    private final ResourceInformer secrets = mock(ResourceInformer.class);
+    private final AwxClient awxClient = mock(AwxClient.class);
+    private final ReconcileDispatcher dispatcher = mock(ReconcileDispatcher.class);
+    private final ResourceInformer connections = mock(ResourceInformer.class);
+    private ConnectionController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Informers informers = mock(Informers.class);
+        when(informers.connections()).thenReturn(connections);
+        when(informers.secrets()).thenReturn(secrets);
+        when(clientRegistry.getClient("team", "awx")).thenReturn(awxClient);
+        VersionInfo versionInfo = new VersionInfo();
+        versionInfo.setVersion("24.6.1");
+        when(awxClient.getVersion()).thenReturn(Mono.just(versionInfo));
+        when(healthTracker.record(eq(CONNECTION), anyBoolean(), any()))
+            .thenReturn(new ConnectionHealth(true, false, Instant.now(), 1.0, 12));
+        when(scheduler.resync(any())).thenReturn(ReconcileResult.retryAt(Instant.now()));
+        when(bulkheads.callKubernetes(any())).thenReturn(secret("3"));
+        StartupRamp startup = mock(StartupRamp.class);
+        when(startup.isReleased()).thenReturn(true);
+        OpenTelemetry openTelemetry = OpenTelemetry.noop();
+        controller = new ConnectionController(mock(ClientFactory.class), clientRegistry,
+            new RetryBudgetRegistry(new RetryProperties()), mock(ReconcileBackoff.class), new ReconcileProperties(),
+            healthTracker, mock(ConnectionHeartbeats.class), mock(EventRecorder.class), bulkheads,
+            dispatcher, scheduler, mock(ResyncPlanner.class), informers,
+            startup, mock(StatusWriter.class),
+            openTelemetry.getTracer("test"), openTelemetry.getMeter("test"), new ApiClient());
+    }
+
+    @Test
+    void awxHostOf_shouldUseHostOfUrl() {
+        Map<String, Object> connection = Map.of("spec", Map.of("url", "https://awx.example:8443/api"));
+
+        assertThat(ConnectionController.awxHostOf(connection)).isEqualTo("awx.example:8443");
+    }
+
+    @Test
+    void awxHostOf_withoutConnectionOrUrl_shouldBeUnknown() {
+        assertThat(ConnectionController.awxHostOf(null)).isNull();
+        assertThat(ConnectionController.awxHostOf(Map.of("metadata", Map.of("name", "awx")))).isNull();
+        assertThat(ConnectionController.awxHostOf(Map.of("spec", Map.of()))).isNull();
+    }
+
+    @Test
+    void reconcile_unchangedCachedSecret_shouldSkipLiveSecretRead() throws Exception {
+        when(secrets.get(SECRET)).thenReturn(Map.of("metadata", Map.of("resourceVersion", "3")));
+
+        controller.reconcile("team", "awx", connection());
+        when(clientRegistry.containsKey(CONNECTION)).thenReturn(true);
+        when(clientRegistry.getConnection(CONNECTION)).thenReturn(Connection.builder()
+            .namespace("team").name("awx").password("s3cret").build());
+        controller.reconcile("team", "awx", connection());
+
+        verify(bulkheads, times(1)).callKubernetes(any());
+    }
+
+    @Test
+    void reconcile_changedCachedSecret_shouldReadSecretAgain() throws Exception {
+        when(secrets.get(SECRET)).thenReturn(Map.of("metadata", Map.of("resourceVersion", "3")));
+        controller.reconcile("team", "awx", connection());
+        when(clientRegistry.containsKey(CONNECTION)).thenReturn(true);
+
+        when(secrets.get(SECRET)).thenReturn(Map.of("metadata", Map.of("resourceVersion", "4")));
+        controller.reconcile("team", "awx", connection());
+
+        verify(bulkheads, times(2)).callKubernetes(any());
+    }
+
+    @Test
+    void reconcile_shouldSeedHealthFromCachedReadyCondition() {
+        Map<String, Object> resource = new HashMap<>(connection());
+        resource.put("status", Map.of("conditions", List.of(Map.of(
+            "type", "Ready", "status", "True", "lastTransitionTime", "2026-01-01T10:00:00Z"))));
+
+        controller.reconcile("team", "awx", resource);
+
+        verify(healthTracker).seed(CONNECTION, true, Instant.parse("2026-01-01T10:00:00Z"));
+    }
+
+    @Test
+    void reconcile_withoutReadyCondition_shouldNotSeedHealth() {
+        controller.reconcile("team", "awx", connection());
+
+        verify(healthTracker, never()).seed(any(), anyBoolean(), any());
+    }
+
+    @Test
+    void onEvent_connectionOfOtherReplica_shouldNeitherQueueNorTime() {
+        when(dispatcher.accepts(CONNECTION)).thenReturn(false);
+
+        informerListener().onEvent(KEY, null, connection());
+
+        verify(scheduler, never()).scheduleResync(any());
+        verify(dispatcher, never()).enqueue(any());
+    }
+
+    @Test
+    void onEvent_ownedConnection_shouldQueueWithResyncTimer() {
+        when(dispatcher.accepts(CONNECTION)).thenReturn(true);
+
+        informerListener().onEvent(KEY, null, connection());
+
+        verify(scheduler).scheduleResync(KEY);
+        verify(dispatcher).enqueue(any());
+    }
+
+    private ResourceInformer.Listener informerListener() {
+        ArgumentCaptor<ResourceInformer.Listener> listener = ArgumentCaptor.forClass(ResourceInformer.Listener.class);
+        verify(connections).addListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private static Map<String, Object> connection() {
+        return Map.of(
+            "metadata", Map.of("namespace", "team", "name", "awx", "generation", 1L),
+            "spec", Map.of("url", "https://awx.example", "username", "admin",
+                "passwordSecretName", "awx-password", "passwordSecretKey", "password", "insecureSkipTlsVerify", false));
+    }
+
+    private static V1Secret secret(String resourceVersion) {
+        return new V1Secret()
+            .metadata(new V1ObjectMeta().name("awx-password").resourceVersion(resourceVersion))
+            .data(Map.of("password", "s3cret".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,390 @@
+package de.wolkenzentrale.operator.awx.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.wolkenzentrale.operator.awx.client.ClientRegistry;
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.events.EventRecorder;
+import de.wolkenzentrale.operator.awx.informer.DependencyIndex;
+import de.wolkenzentrale.operator.awx.informer.Informers;
+import de.wolkenzentrale.operator.awx.informer.ResourceInformer;
+import de.wolkenzentrale.operator.awx.interfaces.awx.client.AwxClient;
+import de.wolkenzentrale.operator.awx.model.api.ProjectInfo;
+import de.wolkenzentrale.operator.awx.model.api.ProjectListResponse;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.Project;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.model.crd.kubernetes.StatusCondition;
+import de.wolkenzentrale.operator.awx.model.crd.status.AwxProjectStatus;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileBackoff;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileDispatcher;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileResult;
+import de.wolkenzentrale.operator.awx.reconcile.ReconcileScheduler;
+import de.wolkenzentrale.operator.awx.reconcile.ResyncPlanner;
+import de.wolkenzentrale.operator.awx.reconcile.StartupRamp;
+import de.wolkenzentrale.operator.awx.reconcile.StatusWriter;
+import io.kubernetes.client.openapi.ApiClient;
+import io.opentelemetry.api.OpenTelemetry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProjectControllerTest {
+
+    private static final ResourceKey KEY = ResourceKey.project("team", "app");
+    private static final ConnectionKey CONNECTION = new ConnectionKey("team", "awx");
+    private static final Instant NEXT = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final ReconcileProperties properties = new ReconcileProperties();
+    private final ClientRegistry clientRegistry = mock(ClientRegistry.class);
+    private final ReconcileScheduler scheduler = mock(ReconcileScheduler.class);
+    private final ReconcileBackoff reconcileBackoff = mock(ReconcileBackoff.class);
+    private final StatusWriter statusWriter = mock(StatusWriter.class);
+    private final ResourceInformer connections = mock(ResourceInformer.class);
+    private final EventRecorder events = mock(EventRecorder.class);
+    private final AwxClient awxClient = mock(AwxClient.class);
+    private final ResyncPlanner planner = mock(ResyncPlanner.class);
+    private final DependencyIndex<ResourceKey, ConnectionKey> projectsByConnection = new DependencyIndex<>();
+    private final List<String> patches = Collections.synchronizedList(new ArrayList<>());
+    private ProjectController controller;
+
+    @BeforeEach
+    void setUp() {
+        Informers informers = mock(Informers.class);
+        when(informers.projects()).thenReturn(mock(ResourceInformer.class));
+        when(informers.connections()).thenReturn(connections);
+        when(informers.projectsByConnection()).thenReturn(projectsByConnection);
+        when(scheduler.resync(any())).thenReturn(ReconcileResult.retryAt(NEXT));
+        when(scheduler.requeueAfter(any(), any())).thenReturn(ReconcileResult.retryAt(NEXT));
+        when(clientRegistry.containsKey(CONNECTION)).thenReturn(true);
+        when(clientRegistry.getClient(CONNECTION)).thenReturn(awxClient);
+        OpenTelemetry openTelemetry = OpenTelemetry.noop();
+        when(reconcileBackoff.recordFailure(any(), anyInt(), any())).thenReturn(NEXT);
+        controller = new ProjectController(clientRegistry, reconcileBackoff, properties, statusWriter,
+            events, mock(ReconcileDispatcher.class), scheduler, planner,
+            informers, mock(StartupRamp.class), openTelemetry.getTracer("test"), openTelemetry.getMeter("test"),
+            new ObjectMapper().registerModule(new JavaTimeModule()), apiClient());
+    }
+
+    @Test
+    void connectionCached_shouldPlanItsProjectsOnItsHost() {
+        projectsByConnection.put(KEY, CONNECTION);
+
+        connectionListener().onEvent(ResourceKey.connection("team", "awx"), null,
+            Map.of("spec", Map.of("url", "https://awx.example:8443")));
+
+        verify(planner).track(KEY, "awx.example:8443");
+    }
+
+    @Test
+    void connectionStatusChange_shouldNotReplanItsProjects() {
+        projectsByConnection.put(KEY, CONNECTION);
+        Map<String, Object> connection = Map.of("spec", Map.of("url", "https://awx.example:8443"));
+
+        connectionListener().onEvent(ResourceKey.connection("team", "awx"), connection,
+            Map.of("spec", Map.of("url", "https://awx.example:8443"), "status", Map.of("phase", "Ready")));
+
+        verify(planner, never()).track(any(), any());
+    }
+
+    @Test
+    void connectionGone_shouldLeaveItsProjectsWithoutHost() {
+        projectsByConnection.put(KEY, CONNECTION);
+
+        connectionListener().onEvent(ResourceKey.connection("team", "awx"),
+            Map.of("spec", Map.of("url", "https://awx.example:8443")), null);
+
+        verify(planner).track(KEY, null);
+    }
+
+    @Test
+    void requeueHint_shouldFollowProjectState() {
+        assertThat(controller.requeueHint("running", true)).isEqualTo(properties.getRequeue().getInProgress());
+        assertThat(controller.requeueHint("pending", false)).isEqualTo(properties.getRequeue().getInProgress());
+        assertThat(controller.requeueHint("successful", true)).isEqualTo(properties.getRequeue().getSettled());
+        assertThat(controller.requeueHint("successful", false)).isEqualTo(properties.getInterval());
+        assertThat(controller.requeueHint("failed", true)).isEqualTo(properties.getInterval());
+    }
+
+    @Test
+    void applyProjectState_inProgress_shouldBeRunningAndNotReady() {
+        AwxProjectStatus status = new AwxProjectStatus();
+
+        ProjectController.applyProjectState(status, "waiting");
+
+        assertThat(status.getPhase()).isEqualTo("Running");
+        assertThat(ready(status).getStatus()).isEqualTo(StatusCondition.Statuses.FALSE);
+        assertThat(ready(status).getReason()).isEqualTo("Updating");
+    }
+
+    @Test
+    void applyProjectState_settled_shouldBeSucceededAndReady() {
+        AwxProjectStatus status = new AwxProjectStatus();
+
+        ProjectController.applyProjectState(status, "successful");
+
+        assertThat(status.getPhase()).isEqualTo("Succeeded");
+        assertThat(ready(status).getStatus()).isEqualTo(StatusCondition.Statuses.TRUE);
+        assertThat(ready(status).getReason()).isEqualTo("Synced");
+    }
+
+    @Test
+    void applyProjectState_failed_shouldBeFailedAndNotReady() {
+        AwxProjectStatus status = new AwxProjectStatus();
+
+        ProjectController.applyProjectState(status, "error");
+
+        assertThat(status.getPhase()).isEqualTo("Failed");
+        assertThat(status.getMessage()).contains("error");
+        assertThat(ready(status).getStatus()).isEqualTo(StatusCondition.Statuses.FALSE);
+        assertThat(ready(status).getReason()).isEqualTo("UpdateFailed");
+    }
+
+    @Test
+    void reconcile_connectionNotReady_shouldWritePendingWithoutCallingAwx() {
+        when(connections.get(ResourceKey.connection("team", "awx"))).thenReturn(Map.of(
+            "status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", "False")))));
+        Map<String, Object> resource = project(null);
+
+        controller.reconcile(KEY, resource);
+
+        AwxProjectStatus status = writtenStatus(resource);
+        assertThat(status.getPhase()).isEqualTo("Pending");
+        assertThat(status.getObservedGeneration()).isEqualTo(2L);
+        assertThat(ready(status).getReason()).isEqualTo("ConnectionNotReady");
+        verify(clientRegistry, never()).getClient(any());
+    }
+
+    @Test
+    void reconcile_withoutFinalizer_shouldOnlyAddFinalizer() {
+        connectionReady(true);
+        Map<String, Object> resource = project(null);
+
+        controller.reconcile(KEY, resource);
+
+        assertThat(patches).containsExactly(
+            "{\"metadata\":{\"resourceVersion\":\"5\",\"finalizers\":[\"" + ProjectController.FINALIZER + "\"]}}");
+        verifyNoInteractions(awxClient);
+        verify(statusWriter, never()).write(any(), any(), any());
+    }
+
+    @Test
+    void reconcile_unknownProject_shouldCreateIt() {
+        connectionReady(true);
+        when(awxClient.findProjectsByName("app")).thenReturn(Mono.just(projects()));
+        when(awxClient.createProject(any())).thenReturn(Mono.just(awxProject(7, "main")));
+        Map<String, Object> resource = withFinalizers(project(null), ProjectController.FINALIZER);
+
+        controller.reconcile(KEY, resource);
+
+        assertThat(writtenStatus(resource).getAwxId()).isEqualTo(7);
+        verify(events).record(eq(KEY), eq(resource), eq(EventRecorder.NORMAL), eq("Created"), anyString(), anyString());
+        assertThat(patches).isEmpty();
+    }
+
+    @Test
+    void reconcile_projectCreatedByEarlierPass_shouldAdoptItInsteadOfCreating() {
+        connectionReady(true);
+        when(awxClient.findProjectsByName("app")).thenReturn(Mono.just(projects(awxProject(7, "main"))));
+        Map<String, Object> resource = withFinalizers(project(null), ProjectController.FINALIZER);
+
+        controller.reconcile(KEY, resource);
+
+        assertThat(writtenStatus(resource).getAwxId()).isEqualTo(7);
+        verify(awxClient, never()).createProject(any());
+        verify(events).record(eq(KEY), eq(resource), eq(EventRecorder.NORMAL), eq("Adopted"), anyString(), anyString());
+    }
+
+    @Test
+    void reconcile_specChanged_shouldUpdateProject() {
+        connectionReady(true);
+        when(awxClient.getProject(7)).thenReturn(Mono.just(awxProject(7, "main")));
+        when(awxClient.updateProject(eq(7), any())).thenReturn(Mono.just(awxProject(7, "release")));
+        Map<String, Object> resource = withFinalizers(project(Map.of("awxId", 7)), ProjectController.FINALIZER);
+        resource.put("spec", Map.of("name", "app", "scmType", "git", "scmBranch", "release",
+            "awxConnectionRef", Map.of("name", "awx")));
+
+        controller.reconcile(KEY, resource);
+
+        ArgumentCaptor<Project> desired = ArgumentCaptor.forClass(Project.class);
+        verify(awxClient).updateProject(eq(7), desired.capture());
+        assertThat(desired.getValue().getScmBranch()).isEqualTo("release");
+        assertThat(writtenStatus(resource).getPhase()).isEqualTo("Succeeded");
+        verify(events).record(eq(KEY), eq(resource), eq(EventRecorder.NORMAL), eq("Updated"), anyString(), anyString());
+    }
+
+    @Test
+    void reconcile_deleted_shouldDeleteAwxProjectThenRemoveFinalizer() {
+        connectionReady(true);
+        when(awxClient.deleteProject(7)).thenReturn(Mono.empty());
+        Map<String, Object> resource = deleted(withFinalizers(project(Map.of("awxId", 7)),
+            ProjectController.FINALIZER, "example.com/other"));
+
+        controller.reconcile(KEY, resource);
+
+        verify(awxClient).deleteProject(7);
+        assertThat(patches).containsExactly(
+            "{\"metadata\":{\"resourceVersion\":\"5\",\"finalizers\":[\"example.com/other\"]}}");
+    }
+
+    @Test
+    void reconcile_deletedWithConnectionGone_shouldReleaseAndLeaveAwxProject() {
+        when(connections.get(ResourceKey.connection("team", "awx"))).thenReturn(null);
+        Map<String, Object> resource = deleted(withFinalizers(project(Map.of("awxId", 7)), ProjectController.FINALIZER));
+
+        controller.reconcile(KEY, resource);
+
+        verifyNoInteractions(awxClient);
+        verify(events).record(eq(KEY), eq(resource), eq(EventRecorder.WARNING), eq("Orphaned"), anyString(), anyString());
+        assertThat(patches).containsExactly("{\"metadata\":{\"resourceVersion\":\"5\",\"finalizers\":[]}}");
+    }
+
+    @Test
+    void reconcile_deletedWhileConnectionNotReady_shouldKeepFinalizer() {
+        connectionReady(false);
+        Map<String, Object> resource = deleted(withFinalizers(project(Map.of("awxId", 7)), ProjectController.FINALIZER));
+
+        controller.reconcile(KEY, resource);
+
+        verifyNoInteractions(awxClient);
+        assertThat(patches).isEmpty();
+        assertThat(writtenStatus(resource).getPhase()).isEqualTo("Failed");
+    }
+
+    @Test
+    void withKnownProject_shouldKeepAwxIdOfCreatedProject() {
+        Map<String, Object> resource = project(Map.of("awxId", 7, "status", "successful",
+            "created", "2025-01-01T12:00:00.000Z", "firstSuccessfulSync", "2025-01-01T12:00:00.000Z"));
+        AwxProjectStatus pending = new AwxProjectStatus();
+        pending.setPhase("Pending");
+
+        AwxProjectStatus status = controller.withKnownProject(resource, pending);
+
+        assertThat(status.getAwxId()).isEqualTo(7);
+        assertThat(status.getStatus()).isEqualTo("successful");
+        assertThat(status.getCreated()).isNotNull();
+        assertThat(status.getFirstSuccessfulSync()).isNotNull();
+        assertThat(status.getPhase()).isEqualTo("Pending");
+    }
+
+    @Test
+    void isApplied_shouldOnlyCompareFieldsTheSpecSets() {
+        Project actual = new Project("app", "", "git", "https://git.example/app.git", "main");
+
+        assertThat(ProjectController.isApplied(new Project("app", null, "git", null, null), actual)).isTrue();
+        assertThat(ProjectController.isApplied(new Project("app", null, "git", null, "release"), actual)).isFalse();
+    }
+
+    private void connectionReady(boolean ready) {
+        when(connections.get(ResourceKey.connection("team", "awx"))).thenReturn(Map.of(
+            "status", Map.of("conditions", List.of(Map.of("type", "Ready", "status", ready ? "True" : "False")))));
+    }
+
+    /**
+     * An API client that accepts every request, recording the bodies of the finalizer patches
+     */
+    private ApiClient apiClient() {
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+            .addInterceptor(chain -> {
+                Buffer body = new Buffer();
+                chain.request().body().writeTo(body);
+                patches.add(body.readUtf8());
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                    .build();
+            })
+            .build();
+        return new ApiClient(httpClient).setBasePath("https://kubernetes");
+    }
+
+    private AwxProjectStatus writtenStatus(Map<String, Object> resource) {
+        ArgumentCaptor<Function<Map<String, Object>, ?>> derive = ArgumentCaptor.forClass(Function.class);
+        verify(statusWriter).write(eq(KEY), eq(resource), derive.capture());
+        return (AwxProjectStatus) derive.getValue().apply(resource);
+    }
+
+    private static StatusCondition ready(AwxProjectStatus status) {
+        return status.getConditions().stream()
+            .filter(condition -> StatusCondition.Types.READY.equals(condition.getType()))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static ProjectInfo awxProject(int id, String branch) {
+        ProjectInfo project = new ProjectInfo();
+        project.setId(id);
+        project.setName("app");
+        project.setScmType("git");
+        project.setScmBranch(branch);
+        project.setStatus("successful");
+        return project;
+    }
+
+    private static ProjectListResponse projects(ProjectInfo... results) {
+        ProjectListResponse response = new ProjectListResponse();
+        response.setCount(results.length);
+        response.setResults(List.of(results));
+        return response;
+    }
+
+    private static Map<String, Object> withFinalizers(Map<String, Object> resource, String... finalizers) {
+        Map<String, Object> metadata = new HashMap<>((Map<String, Object>) resource.get("metadata"));
+        metadata.put("finalizers", List.of(finalizers));
+        resource.put("metadata", metadata);
+        return resource;
+    }
+
+    private static Map<String, Object> deleted(Map<String, Object> resource) {
+        Map<String, Object> metadata = new HashMap<>((Map<String, Object>) resource.get("metadata"));
+        metadata.put("deletionTimestamp", "2026-01-01T00:00:00Z");
+        resource.put("metadata", metadata);
+        return resource;
+    }
+
+    private static Map<String, Object> project(Map<String, Object> status) {
+        Map<String, Object> resource = new HashMap<>();
+        resource.put("metadata", Map.of("name", "app", "namespace", "team", "generation", 2, "resourceVersion", "5"));
+        resource.put("spec", Map.of("name", "app", "scmType", "git", "awxConnectionRef", Map.of("name", "awx")));
+        if (status != null) {
+            resource.put("status", status);
+        }
+        return resource;
+    }
+
+    private ResourceInformer.Listener connectionListener() {
+        ArgumentCaptor<ResourceInformer.Listener> listener = ArgumentCaptor.forClass(ResourceInformer.Listener.class);
+        verify(connections).addListener(listener.capture());
+        return listener.getValue();
+    }
+}
@@ -0,0 +1,157 @@
+package de.wolkenzentrale.operator.awx.events;
+
+import de.wolkenzentrale.operator.awx.config.EventProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.kubernetes.client.openapi.models.V1ObjectReference;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventAggregatorTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final ResourceKey AWX = ResourceKey.connection("team", "awx");
+    private static final ResourceKey OTHER = ResourceKey.connection("team", "other");
+
+    private final EventProperties properties = new EventProperties();
+
+    @Test
+    void record_repeats_shouldAggregateIntoOneSeries() {
+        EventAggregator aggregator = new EventAggregator(properties);
+        failed(aggregator, AWX, START);
+        failed(aggregator, AWX, START.plusSeconds(30));
+        failed(aggregator, AWX, START.plusSeconds(60));
+
+        List<EventAggregator.Emission> batch = aggregator.drain(START.plusSeconds(61));
+
+        assertThat(batch).singleElement().satisfies(emission -> {
+            assertThat(emission.count()).isEqualTo(3);
+            assertThat(emission.lastObserved()).isEqualTo(START.plusSeconds(60));
+            assertThat(emission.eventName()).isNull();
+        });
+        assertThat(aggregator.drain(START.plusSeconds(62))).isEmpty();
+    }
+
+    @Test
+    void record_afterCreate_shouldUpdateTheSameEvent() {
+        EventAggregator aggregator = new EventAggregator(properties);
+        failed(aggregator, AWX, START);
+        aggregator.created(aggregator.drain(START).get(0), "awx.1");
+
+        failed(aggregator, AWX, START.plusSeconds(30));
+
+        assertThat(aggregator.drain(START.plusSeconds(30))).singleElement().satisfies(emission -> {
+            assertThat(emission.count()).isEqualTo(2);
+            assertThat(emission.eventName()).isEqualTo("awx.1");
+        });
+    }
+
+    @Test
+    void record_afterAggregationWindow_shouldStartNewEvent() {
+        EventAggregator aggregator = new EventAggregator(properties);
+        failed(aggregator, AWX, START);
+        aggregator.created(aggregator.drain(START).get(0), "awx.1");
+
+        Instant later = START.plus(properties.getAggregationWindow()).plus(Duration.ofMinutes(1));
+        failed(aggregator, AWX, later);
+
+        assertThat(aggregator.drain(later)).singleElement().satisfies(emission -> {
+            assertThat(emission.count()).isEqualTo(1);
+            assertThat(emission.eventName()).isNull();
+        });
+    }
+
+    @Test
+    void drain_perObjectLimit_shouldHoldBackOnlyThatResource() {
+        properties.setPerObject(new EventProperties.Limit(0.001, 1));
+        EventAggregator aggregator = new EventAggregator(properties);
+        aggregator.record(AWX, reference(AWX), EventRecorder.WARNING, "ConnectionFailed", "Probe", "timeout", START);
+        aggregator.record(AWX, reference(AWX), EventRecorder.WARNING, "ConnectionFailed", "Probe", "refused", START);
+        failed(aggregator, OTHER, START);
+
+        assertThat(aggregator.drain(START)).extracting(emission -> emission.series().getResource())
+            .containsExactly(AWX, OTHER);
+        assertThat(aggregator.pendingCount()).isEqualTo(1);
+        assertThat(aggregator.throttledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void drain_globalLimit_shouldBoundTheBatch() {
+        properties.setGlobal(new EventProperties.Limit(0.001, 2));
+        EventAggregator aggregator = new EventAggregator(properties);
+        for (int i = 0; i < 5; i++) {
+            failed(aggregator, ResourceKey.connection("team", "awx-" + i), START);
+        }
+
+        assertThat(aggregator.drain(START)).hasSize(2);
+        assertThat(aggregator.pendingCount()).isEqualTo(3);
+    }
+
+    @Test
+    void drain_perObjectLimit_shouldGiveBackTheGlobalToken() {
+        properties.setGlobal(new EventProperties.Limit(0.001, 2));
+        properties.setPerObject(new EventProperties.Limit(0.001, 1));
+        EventAggregator aggregator = new EventAggregator(properties);
+        aggregator.record(AWX, reference(AWX), EventRecorder.WARNING, "ConnectionFailed", "Probe", "timeout", START);
+        aggregator.record(AWX, reference(AWX), EventRecorder.WARNING, "ConnectionFailed", "Probe", "refused", START);
+        failed(aggregator, OTHER, START);
+
+        assertThat(aggregator.drain(START)).extracting(emission -> emission.series().getResource())
+            .containsExactly(AWX, OTHER);
+    }
+
+    @Test
+    void drain_globalLimit_shouldNotSpendPerObjectTokens() throws Exception {
+        properties.setGlobal(new EventProperties.Limit(10, 1));
+        properties.setPerObject(new EventProperties.Limit(0.001, 1));
+        EventAggregator aggregator = new EventAggregator(properties);
+        failed(aggregator, AWX, START);
+        failed(aggregator, OTHER, START);
+        assertThat(aggregator.drain(START)).extracting(emission -> emission.series().getResource())
+            .containsExactly(AWX);
+
+        // The global bucket refills, the per-object bucket of the held back resource must still be full
+        Thread.sleep(150);
+
+        assertThat(aggregator.drain(START)).extracting(emission -> emission.series().getResource())
+            .containsExactly(OTHER);
+    }
+
+    @Test
+    void failed_shouldKeepTheSeriesForTheNextDrain() {
+        EventAggregator aggregator = new EventAggregator(properties);
+        failed(aggregator, AWX, START);
+        aggregator.failed(aggregator.drain(START).get(0));
+        assertThat(aggregator.pendingCount()).isEqualTo(1);
+
+        failed(aggregator, AWX, START.plusSeconds(30));
+
+        assertThat(aggregator.drain(START.plusSeconds(30))).singleElement().satisfies(emission -> {
+            assertThat(emission.count()).isEqualTo(2);
+            assertThat(emission.eventName()).isNull();
+        });
+    }
+
+    @Test
+    void record_tooManySeries_shouldDrop() {
+        properties.setMaxSeries(1);
+        EventAggregator aggregator = new EventAggregator(properties);
+
+        assertThat(failed(aggregator, AWX, START)).isTrue();
+        assertThat(failed(aggregator, OTHER, START)).isFalse();
+        assertThat(aggregator.droppedCount()).isEqualTo(1);
+    }
+
+    private static boolean failed(EventAggregator aggregator, ResourceKey key, Instant now) {
+        return aggregator.record(key, reference(key), EventRecorder.WARNING, "ConnectionFailed", "Probe",
+            "Failed to connect to AWX instance: timeout", now);
+    }
+
+    private static V1ObjectReference reference(ResourceKey key) {
+        return new V1ObjectReference().kind(key.getKind()).namespace(key.getNamespace()).name(key.getName());
+    }
+}
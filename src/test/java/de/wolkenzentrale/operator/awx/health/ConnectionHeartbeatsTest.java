@@ -0,0 +1,116 @@
+package de.wolkenzentrale.operator.awx.health;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.wolkenzentrale.operator.awx.config.HealthProperties;
+import de.wolkenzentrale.operator.awx.config.StatusProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.model.crd.kubernetes.StatusCondition;
+import de.wolkenzentrale.operator.awx.model.crd.status.AwxConnectionStatus;
+import de.wolkenzentrale.operator.awx.reconcile.Bulkheads;
+import io.kubernetes.client.openapi.ApiClient;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ConnectionHeartbeatsTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final ResourceKey KEY = ResourceKey.connection("team", "awx");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ConnectionHeartbeats heartbeats = new ConnectionHeartbeats(new HealthProperties(),
+        new StatusProperties(), null, null, objectMapper, OpenTelemetry.noop().getMeter("test"),
+        Clock.fixed(NOW, ZoneOffset.UTC), "replica-1", () -> true);
+
+    @Test
+    void leaseConfiguration_shouldBeOwnedByConnection() {
+        Map<String, Object> lease = heartbeats.leaseConfiguration(KEY, connection(null), true, health());
+
+        Map<String, Object> metadata = (Map<String, Object>) lease.get("metadata");
+        assertThat(metadata).containsEntry("name", "awx-connection-awx").containsEntry("namespace", "team");
+        assertThat((List<Map<String, Object>>) metadata.get("ownerReferences")).singleElement()
+            .satisfies(owner -> assertThat(owner).containsEntry("kind", "AwxConnection").containsEntry("uid", "uid-1"));
+        assertThat((Map<String, Object>) metadata.get("annotations"))
+            .containsEntry(ConnectionHeartbeats.CONNECTION_STATUS_ANNOTATION, "Connected")
+            .containsEntry(ConnectionHeartbeats.LAST_CONNECTED_ANNOTATION, "2025-01-01T12:00:00.000000Z");
+        assertThat((Map<String, Object>) lease.get("spec"))
+            .containsEntry("holderIdentity", "replica-1")
+            .containsEntry("renewTime", "2025-01-01T12:00:00.000000Z");
+    }
+
+    @Test
+    void leaseConfiguration_afterFailedProbe_shouldKeepLastConnected() {
+        Map<String, Object> status = Map.of("lastConnected", "2024-12-31T08:00:00Z");
+
+        Map<String, Object> lease = heartbeats.leaseConfiguration(KEY, connection(status), false, health());
+
+        assertThat((Map<String, Object>) ((Map<String, Object>) lease.get("metadata")).get("annotations"))
+            .containsEntry(ConnectionHeartbeats.CONNECTION_STATUS_ANNOTATION, "Error")
+            .containsEntry(ConnectionHeartbeats.LAST_CONNECTED_ANNOTATION, "2024-12-31T08:00:00Z");
+    }
+
+    @Test
+    void changesOnlyHeartbeat_shouldIgnoreHeartbeatFields() {
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("phase", "Succeeded");
+        stored.put("failedConnectionAttempts", 0.0);
+        stored.put("lastConnected", "2024-12-31T08:00:00Z");
+        stored.put("probeLatencyMillis", 12.0);
+        stored.put("conditions", List.of(Map.of("type", "Ready", "status", "True", "reason", "Connected",
+            "lastUpdateTime", "2024-12-31T08:00:00.000Z")));
+
+        AwxConnectionStatus status = new AwxConnectionStatus();
+        status.setPhase("Succeeded");
+        status.setFailedConnectionAttempts(0);
+        status.setLastConnected("2025-01-01T12:00:00Z");
+        status.setProbeLatencyMillis(15L);
+        status.setCondition(StatusCondition.builder().type("Ready").status("True").reason("Connected")
+            .lastUpdateTime(NOW.atOffset(ZoneOffset.UTC)).build());
+        assertThat(heartbeats.changesOnlyHeartbeat(connection(stored), status)).isTrue();
+
+        status.setPhase("Failed");
+        assertThat(heartbeats.changesOnlyHeartbeat(connection(stored), status)).isFalse();
+    }
+
+    @Test
+    void beat_afterLeadershipLost_shouldNotRenewLease() {
+        HealthProperties properties = new HealthProperties();
+        properties.getHeartbeats().setLeases(true);
+        Bulkheads bulkheads = mock(Bulkheads.class);
+        when(bulkheads.status()).thenReturn(Runnable::run);
+        ApiClient apiClient = mock(ApiClient.class);
+        ConnectionHeartbeats fenced = new ConnectionHeartbeats(properties, new StatusProperties(), bulkheads, apiClient,
+            objectMapper, OpenTelemetry.noop().getMeter("test"), Clock.fixed(NOW, ZoneOffset.UTC), "replica-1", () -> false);
+
+        fenced.beat(KEY, connection(null), true, health());
+
+        verifyNoInteractions(apiClient);
+    }
+
+    private static Map<String, Object> connection(Map<String, Object> status) {
+        Map<String, Object> resource = new HashMap<>();
+        resource.put("apiVersion", "wolkenzentrale.de/v1alpha1");
+        resource.put("kind", "AwxConnection");
+        resource.put("metadata", Map.of("name", "awx", "namespace", "team", "uid", "uid-1"));
+        if (status != null) {
+            resource.put("status", status);
+        }
+        return resource;
+    }
+
+    private static ConnectionHealth health() {
+        return new ConnectionHealth(true, false, NOW, 1.0, 12);
+    }
+}
@@ -0,0 +1,133 @@
+package de.wolkenzentrale.operator.awx.health;
+
+import de.wolkenzentrale.operator.awx.config.HealthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProbeHistoryTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private ProbeHistory history;
+    private int probes;
+
+    @BeforeEach
+    void setUp() {
+        HealthProperties properties = new HealthProperties();
+        properties.setWindowSize(10);
+        properties.setFlipAfterConsecutive(3);
+        properties.setReadyRatio(0.8);
+        properties.setUnreadyRatio(0.5);
+        history = new ProbeHistory(properties);
+        probes = 0;
+    }
+
+    @Test
+    void record_firstProbe_shouldSetStateImmediately() {
+        ConnectionHealth health = probe(true);
+
+        assertThat(health.isReady()).isTrue();
+        assertThat(health.isTransitioned()).isTrue();
+        assertThat(health.getScore()).isEqualTo(1.0);
+    }
+
+    @Test
+    void record_firstProbeAfterSeed_shouldBeDampedAgainstSeededState() {
+        Instant published = START.minusSeconds(3600);
+        history.seed(true, published);
+
+        ConnectionHealth health = probe(false);
+
+        assertThat(health.isReady()).isTrue();
+        assertThat(health.isTransitioned()).isFalse();
+        assertThat(health.getLastTransition()).isEqualTo(published);
+    }
+
+    @Test
+    void record_firstProbeConfirmingSeed_shouldKeepTransitionTime() {
+        Instant published = START.minusSeconds(3600);
+        history.seed(false, published);
+
+        ConnectionHealth health = probe(false);
+
+        assertThat(health.isReady()).isFalse();
+        assertThat(health.isTransitioned()).isFalse();
+        assertThat(health.getLastTransition()).isEqualTo(published);
+    }
+
+    @Test
+    void seed_afterFirstProbe_shouldBeIgnored() {
+        probe(true);
+
+        history.seed(false, START.minusSeconds(3600));
+
+        assertThat(probe(true).getLastTransition()).isEqualTo(START);
+    }
+
+    @Test
+    void record_singleFailures_shouldNotFlipReadyState() {
+        probe(true);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(probe(false).isReady()).isTrue();
+            assertThat(probe(true).isReady()).isTrue();
+        }
+    }
+
+    @Test
+    void record_consecutiveFailures_shouldFlipAfterThreshold() {
+        probe(true);
+
+        assertThat(probe(false).isReady()).isTrue();
+        assertThat(probe(false).isReady()).isTrue();
+        ConnectionHealth health = probe(false);
+
+        assertThat(health.isReady()).isFalse();
+        assertThat(health.isTransitioned()).isTrue();
+        assertThat(health.getLastTransition()).isEqualTo(START.plusSeconds(3));
+    }
+
+    @Test
+    void record_lowSuccessRatio_shouldFlipWithoutConsecutiveRun() {
+        // true, then alternating pairs of failures and a success: never 3 failures in a row
+        probe(true);
+        ConnectionHealth health = null;
+        for (int i = 0; i < 3; i++) {
+            probe(false);
+            probe(false);
+            health = probe(true);
+        }
+
+        assertThat(health.getScore()).isEqualTo(0.4);
+        assertThat(health.isReady()).isFalse();
+    }
+
+    @Test
+    void record_shouldKeepTransitionTimeWhileStable() {
+        probe(true);
+        probe(true);
+
+        ConnectionHealth health = probe(true);
+
+        assertThat(health.isTransitioned()).isFalse();
+        assertThat(health.getLastTransition()).isEqualTo(START);
+    }
+
+    @Test
+    void record_shouldAverageLatency() {
+        history.record(true, Duration.ofMillis(100), START);
+
+        ConnectionHealth health = history.record(true, Duration.ofMillis(300), START.plusSeconds(1));
+
+        assertThat(health.getAverageLatencyMillis()).isEqualTo(200);
+    }
+
+    private ConnectionHealth probe(boolean success) {
+        return history.record(success, Duration.ofMillis(10), START.plusSeconds(probes++));
+    }
+}
@@ -0,0 +1,55 @@
+package de.wolkenzentrale.operator.awx.health;
+
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.reconcile.StartupRamp;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StartupHealthIndicatorTest {
+
+    private final StartupRamp startup = mock(StartupRamp.class);
+    private final LeaderElection leaderElection = mock(LeaderElection.class);
+    private final StartupHealthIndicator indicator = new StartupHealthIndicator(startup, leaderElection);
+
+    @Test
+    void health_standbyWithSyncedCaches_shouldBeUp() {
+        when(startup.isSynced()).thenReturn(true);
+
+        Health health = indicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("role", "standby");
+    }
+
+    @Test
+    void health_standbyWithColdCaches_shouldBeOutOfService() {
+        Health health = indicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails()).containsEntry("role", "standby");
+    }
+
+    @Test
+    void health_leaderDuringFirstPass_shouldBeOutOfService() {
+        when(leaderElection.isLeader()).thenReturn(true);
+        when(startup.isSynced()).thenReturn(true);
+
+        Health health = indicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails()).containsEntry("role", "leader").containsEntry("cachesSynced", true);
+    }
+
+    @Test
+    void health_leaderAfterFirstPass_shouldBeUp() {
+        when(leaderElection.isLeader()).thenReturn(true);
+        when(startup.isReady()).thenReturn(true);
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+}
@@ -0,0 +1,77 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheTransformsTest {
+
+    @Test
+    void trimCustomResource_shouldDropUnusedMetadata() {
+        Map<String, Object> resource = Map.of(
+            "apiVersion", "wolkenzentrale.de/v1alpha1",
+            "kind", "AwxProject",
+            "metadata", Map.of(
+                "name", "app",
+                "namespace", "team",
+                "resourceVersion", "7",
+                "generation", 3,
+                "managedFields", List.of(Map.of("manager", "kubectl")),
+                "labels", Map.of("team", "platform"),
+                "annotations", Map.of(
+                    "kubectl.kubernetes.io/last-applied-configuration", "{}",
+                    Informers.PAUSED_ANNOTATION, "true")),
+            "spec", Map.of("name", "app"),
+            "status", Map.of("phase", "Ready"));
+
+        Map<String, Object> trimmed = CacheTransforms.trimCustomResource(resource);
+
+        assertThat(trimmed).containsOnlyKeys("apiVersion", "kind", "metadata", "spec", "status");
+        assertThat(trimmed.get("metadata")).isEqualTo(Map.of(
+            "name", "app",
+            "namespace", "team",
+            "resourceVersion", "7",
+            "generation", 3,
+            "annotations", Map.of(Informers.PAUSED_ANNOTATION, "true")));
+        assertThat(Informers.isPaused(trimmed)).isTrue();
+        assertThat(ResourceInformer.resourceVersionOf(trimmed)).isEqualTo("7");
+    }
+
+    @Test
+    void trimSecret_shouldKeepDigestsInsteadOfData() {
+        Map<String, Object> secret = Map.of(
+            "metadata", Map.of("name", "awx", "namespace", "team", "resourceVersion", "9"),
+            "type", "Opaque",
+            "data", Map.of("password", "c2VjcmV0", "token", "dG9rZW4="));
+
+        Map<String, Object> trimmed = CacheTransforms.trimSecret(secret);
+
+        assertThat(trimmed).containsOnlyKeys("metadata", CacheTransforms.DIGESTS);
+        assertThat(trimmed.toString()).doesNotContain("c2VjcmV0");
+        assertThat(CacheTransforms.digestOf(trimmed, "password")).hasSize(64);
+        assertThat(CacheTransforms.digestOf(trimmed, "missing")).isNull();
+    }
+
+    @Test
+    void digestOf_shouldChangeOnlyWithTheValue() {
+        Map<String, Object> before = CacheTransforms.trimSecret(Map.of("data", Map.of("password", "YQ==", "other", "Yg==")));
+        Map<String, Object> otherChanged = CacheTransforms.trimSecret(Map.of("data", Map.of("password", "YQ==", "other", "Yw==")));
+        Map<String, Object> passwordChanged = CacheTransforms.trimSecret(Map.of("data", Map.of("password", "ZA==", "other", "Yg==")));
+
+        assertThat(CacheTransforms.digestOf(otherChanged, "password")).isEqualTo(CacheTransforms.digestOf(before, "password"));
+        assertThat(CacheTransforms.digestOf(passwordChanged, "password")).isNotEqualTo(CacheTransforms.digestOf(before, "password"));
+    }
+
+    @Test
+    void estimateBytes_shouldGrowWithContent() {
+        long small = CacheTransforms.estimateBytes(Map.of("spec", Map.of("name", "a")));
+        long large = CacheTransforms.estimateBytes(Map.of("spec", Map.of("name", "a".repeat(1000))));
+
+        assertThat(small).isPositive();
+        assertThat(large - small).isEqualTo(999);
+        assertThat(CacheTransforms.estimateBytes(null)).isZero();
+    }
+}
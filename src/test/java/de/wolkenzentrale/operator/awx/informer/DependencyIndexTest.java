@@ -0,0 +1,49 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyIndexTest {
+
+    private final DependencyIndex<ResourceKey, ConnectionKey> index = new DependencyIndex<>();
+
+    @Test
+    void dependentsOf_shouldReturnAllProjectsOfConnection() {
+        ConnectionKey awx = new ConnectionKey("team", "awx");
+        index.put(ResourceKey.project("team", "a"), awx);
+        index.put(ResourceKey.project("team", "b"), awx);
+        index.put(ResourceKey.project("team", "c"), new ConnectionKey("team", "other"));
+
+        assertThat(index.dependentsOf(awx))
+            .containsExactlyInAnyOrder(ResourceKey.project("team", "a"), ResourceKey.project("team", "b"));
+    }
+
+    @Test
+    void put_changedOwner_shouldMoveDependent() {
+        ResourceKey project = ResourceKey.project("team", "a");
+        ConnectionKey before = new ConnectionKey("team", "awx");
+        ConnectionKey after = new ConnectionKey("team", "other");
+        index.put(project, before);
+
+        index.put(project, after);
+
+        assertThat(index.dependentsOf(before)).isEmpty();
+        assertThat(index.dependentsOf(after)).containsExactly(project);
+        assertThat(index.ownerOf(project)).contains(after);
+    }
+
+    @Test
+    void remove_shouldDropDependent() {
+        ResourceKey project = ResourceKey.project("team", "a");
+        ConnectionKey awx = new ConnectionKey("team", "awx");
+        index.put(project, awx);
+
+        index.remove(project);
+
+        assertThat(index.dependentsOf(awx)).isEmpty();
+        assertThat(index.ownerOf(project)).isEmpty();
+    }
+}
@@ -0,0 +1,36 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InformersTest {
+
+    @Test
+    void isPaused_shouldRequireTrueAnnotation() {
+        assertThat(Informers.isPaused(withAnnotations(Map.of(Informers.PAUSED_ANNOTATION, "true")))).isTrue();
+        assertThat(Informers.isPaused(withAnnotations(Map.of(Informers.PAUSED_ANNOTATION, "false")))).isFalse();
+        assertThat(Informers.isPaused(withAnnotations(Map.of()))).isFalse();
+        assertThat(Informers.isPaused(Map.of("metadata", Map.of()))).isFalse();
+        assertThat(Informers.isPaused(null)).isFalse();
+    }
+
+    @Test
+    void connectionOf_shouldDefaultToProjectNamespace() {
+        ResourceKey project = ResourceKey.project("team", "app");
+
+        assertThat(Informers.connectionOf(project, Map.of("spec", Map.of("awxConnectionRef", Map.of("name", "awx")))))
+            .isEqualTo(new ConnectionKey("team", "awx"));
+        assertThat(Informers.connectionOf(project,
+            Map.of("spec", Map.of("awxConnectionRef", Map.of("name", "awx", "namespace", "shared")))))
+            .isEqualTo(new ConnectionKey("shared", "awx"));
+    }
+
+    private static Map<String, Object> withAnnotations(Map<String, String> annotations) {
+        return Map.of("metadata", Map.of("name", "awx", "annotations", annotations));
+    }
+}
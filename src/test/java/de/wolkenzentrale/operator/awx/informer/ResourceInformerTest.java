@@ -0,0 +1,327 @@
+package de.wolkenzentrale.operator.awx.informer;
+
+import de.wolkenzentrale.operator.awx.config.InformerProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import com.google.gson.Gson;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiResponse;
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResourceInformerTest {
+
+    private ResourceInformer informer;
+    private final List<String> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        informer = new ResourceInformer(ResourceKey.PROJECT_KIND, null, new InformerProperties(), null);
+        informer.addListener((key, previous, current) ->
+            events.add((previous == null ? "added " : current == null ? "deleted " : "modified ") + key.getName()));
+    }
+
+    @Test
+    void replace_shouldNotifyOnlyAboutDifferences() {
+        informer.replace(ResourceInformer.ALL_NAMESPACES, List.of(item("a", "1"), item("b", "1")));
+        events.clear();
+
+        informer.replace(ResourceInformer.ALL_NAMESPACES, List.of(item("a", "1"), item("b", "2"), item("c", "1")));
+
+        assertThat(events).containsExactly("modified b", "added c");
+    }
+
+    @Test
+    void replace_shouldDeleteResourcesMissingFromList() {
+        informer.replace(ResourceInformer.ALL_NAMESPACES, List.of(item("a", "1"), item("b", "1")));
+        events.clear();
+
+        informer.replace(ResourceInformer.ALL_NAMESPACES, List.of(item("a", "1")));
+
+        assertThat(events).containsExactly("deleted b");
+        assertThat(informer.get(ResourceKey.project("team", "b"))).isNull();
+        assertThat(informer.size()).isEqualTo(1);
+    }
+
+    @Test
+    void replace_shouldOnlyDeleteResourcesOfTheListedNamespace() {
+        informer.apply("ADDED", item("team", "a", "1"));
+        informer.apply("ADDED", item("other", "b", "1"));
+        events.clear();
+
+        informer.replace("team", List.of());
+
+        assertThat(events).containsExactly("deleted a");
+        assertThat(informer.get(ResourceKey.project("other", "b"))).isNotNull();
+    }
+
+    @Test
+    void relist_shouldFollowContinueTokensAndPruneAfterLastPage() throws Exception {
+        List<ListOptions> requests = new ArrayList<>();
+        ApiClient apiClient = mock(ApiClient.class);
+        when(apiClient.execute(any(Call.class), any(Type.class))).thenReturn(
+            new ApiResponse<>(200, Map.of(), page("42", "next", item("b", "1"))),
+            new ApiResponse<>(200, Map.of(), page("42", null, item("c", "1"))));
+        ResourceInformer paged = new ResourceInformer(ResourceKey.PROJECT_KIND, apiClient, new InformerProperties(),
+            (namespace, options) -> {
+                requests.add(options);
+                return mock(Call.class);
+            });
+        paged.apply("ADDED", item("a", "1"));
+
+        String resourceVersion = paged.relist(ResourceInformer.ALL_NAMESPACES, "17");
+
+        assertThat(resourceVersion).isEqualTo("42");
+        assertThat(paged.keys()).containsExactlyInAnyOrder(ResourceKey.project("team", "b"), ResourceKey.project("team", "c"));
+        assertThat(paged.hasSynced()).isTrue();
+        assertThat(paged.relistCount()).isEqualTo(1);
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getResourceVersion()).isEqualTo("17");
+        assertThat(requests.get(0).getResourceVersionMatch()).isEqualTo("NotOlderThan");
+        assertThat(requests.get(0).getLimit()).isEqualTo(500);
+        assertThat(requests.get(1).getResourceVersion()).isNull();
+        assertThat(requests.get(1).getContinueToken()).isEqualTo("next");
+    }
+
+    @Test
+    void relist_withoutResourceVersion_shouldListConsistently() throws Exception {
+        List<ListOptions> requests = new ArrayList<>();
+        ApiClient apiClient = mock(ApiClient.class);
+        when(apiClient.execute(any(Call.class), any(Type.class)))
+            .thenReturn(new ApiResponse<>(200, Map.of(), page("42", null)));
+        ResourceInformer paged = new ResourceInformer(ResourceKey.PROJECT_KIND, apiClient, new InformerProperties(),
+            (namespace, options) -> {
+                requests.add(options);
+                return mock(Call.class);
+            });
+
+        paged.relist(ResourceInformer.ALL_NAMESPACES, null);
+
+        assertThat(requests.get(0).getResourceVersion()).isNull();
+        assertThat(requests.get(0).getResourceVersionMatch()).isNull();
+    }
+
+    @Test
+    void watch_streamingList_shouldSyncAtInitialEventsEnd() throws Exception {
+        InformerProperties properties = new InformerProperties();
+        properties.setStreamingLists(true);
+        ResourceInformer streaming = streamingInformer(properties,
+            event("ADDED", item("a", "5")),
+            event("ADDED", item("b", "6")),
+            event("BOOKMARK", Map.of("metadata", Map.of("resourceVersion", "7",
+                "annotations", Map.of("k8s.io/initial-events-end", "true")))));
+        streaming.apply("ADDED", item("gone", "1"));
+
+        startRunning(streaming);
+        streaming.watch(ResourceInformer.ALL_NAMESPACES, ListOptions.builder().sendInitialEvents(true).build(), new HashSet<>());
+
+        assertThat(streaming.keys()).containsExactlyInAnyOrder(ResourceKey.project("team", "a"), ResourceKey.project("team", "b"));
+        assertThat(streaming.hasSynced()).isTrue();
+        assertThat(streaming.relistCount()).isEqualTo(1);
+        assertThat(streaming.isStreamingLists()).isTrue();
+    }
+
+    @Test
+    void watch_streamingListWithoutEndBookmark_shouldFallBackToLists() throws Exception {
+        InformerProperties properties = new InformerProperties();
+        properties.setStreamingLists(true);
+        ResourceInformer streaming = streamingInformer(properties, event("ADDED", item("a", "5")));
+
+        startRunning(streaming);
+        streaming.watch(ResourceInformer.ALL_NAMESPACES, ListOptions.builder().sendInitialEvents(true).build(), new HashSet<>());
+
+        assertThat(streaming.hasSynced()).isFalse();
+        assertThat(streaming.isStreamingLists()).isFalse();
+    }
+
+    @Test
+    void run_firstList_shouldListConsistentlyInPages() throws Exception {
+        List<ListOptions> requests = new ArrayList<>();
+        ResourceInformer scripted = scriptedInformer(new InformerProperties(), requests, json(page("10", null)));
+
+        startRunning(scripted);
+        scripted.run(ResourceInformer.ALL_NAMESPACES);
+
+        assertThat(requests.get(0).getResourceVersion()).isNull();
+        assertThat(requests.get(0).getResourceVersionMatch()).isNull();
+        assertThat(requests.get(0).getLimit()).isEqualTo(500);
+    }
+
+    @Test
+    void run_firstListWithoutPages_shouldListFromWatchCache() throws Exception {
+        InformerProperties properties = new InformerProperties();
+        properties.setPageSize(0);
+        List<ListOptions> requests = new ArrayList<>();
+        ResourceInformer scripted = scriptedInformer(properties, requests, json(page("10", null)));
+
+        startRunning(scripted);
+        scripted.run(ResourceInformer.ALL_NAMESPACES);
+
+        assertThat(requests.get(0).getResourceVersion()).isEqualTo("0");
+        assertThat(requests.get(0).getLimit()).isNull();
+    }
+
+    @Test
+    void run_watchEnds_shouldResumeFromLastSeenVersionWithoutRelist() throws Exception {
+        List<ListOptions> requests = new ArrayList<>();
+        ResourceInformer scripted = scriptedInformer(new InformerProperties(), requests,
+            json(page("10", null, item("a", "9"))),
+            event("MODIFIED", item("a", "11")));
+
+        startRunning(scripted);
+        scripted.run(ResourceInformer.ALL_NAMESPACES);
+
+        assertThat(requests).hasSize(3);
+        assertThat(requests.get(1).isWatch()).isTrue();
+        assertThat(requests.get(1).getResourceVersion()).isEqualTo("10");
+        assertThat(requests.get(2).isWatch()).isTrue();
+        assertThat(requests.get(2).getResourceVersion()).isEqualTo("11");
+        assertThat(scripted.relistCount()).isEqualTo(1);
+        assertThat(scripted.resumeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void run_watchGone_shouldRelistNotOlderThanLastSeenVersion() throws Exception {
+        List<ListOptions> requests = new ArrayList<>();
+        ResourceInformer scripted = scriptedInformer(new InformerProperties(), requests,
+            json(page("10", null, item("a", "9"))),
+            event("ERROR", Map.of("apiVersion", "v1", "kind", "Status", "code", 410,
+                "message", "too old resource version")),
+            json(page("12", null, item("a", "12"))));
+
+        startRunning(scripted);
+        scripted.run(ResourceInformer.ALL_NAMESPACES);
+
+        assertThat(requests.get(2).isWatch()).isFalse();
+        assertThat(requests.get(2).getResourceVersion()).isEqualTo("10");
+        assertThat(requests.get(2).getResourceVersionMatch()).isEqualTo("NotOlderThan");
+        assertThat(requests.get(2).getLimit()).isEqualTo(500);
+        assertThat(requests.get(3).getResourceVersion()).isEqualTo("12");
+        assertThat(scripted.relistCount()).isEqualTo(2);
+        assertThat(scripted.resumeCount()).isZero();
+    }
+
+    @Test
+    void apply_shouldUpdateCacheAndNotify() {
+        informer.apply("ADDED", item("a", "1"));
+        informer.apply("MODIFIED", item("a", "2"));
+        informer.apply("DELETED", item("a", "2"));
+        informer.apply("DELETED", item("a", "2"));
+
+        assertThat(events).containsExactly("added a", "modified a", "deleted a");
+        assertThat(informer.size()).isZero();
+        assertThat(informer.cachedBytes()).isZero();
+    }
+
+    @Test
+    void apply_shouldCacheTransformedResources() {
+        informer.setTransform(CacheTransforms::trimCustomResource);
+
+        informer.apply("ADDED", Map.of("metadata", Map.of("namespace", "team", "name", "a", "resourceVersion", "1",
+            "managedFields", List.of(Map.of("manager", "kubectl")))));
+
+        assertThat(informer.get(ResourceKey.project("team", "a")).get("metadata"))
+            .isEqualTo(Map.of("namespace", "team", "name", "a", "resourceVersion", "1"));
+        assertThat(informer.cachedBytes()).isEqualTo(CacheTransforms.estimateBytes(informer.get(ResourceKey.project("team", "a"))));
+    }
+
+    /**
+     * Builds an informer whose watch replays the given events and ends
+     */
+    private static ResourceInformer streamingInformer(InformerProperties properties, String... events) {
+        Call call = call(String.join("\n", events) + "\n");
+        return new ResourceInformer(ResourceKey.PROJECT_KIND, new ApiClient(), properties, (namespace, options) -> call);
+    }
+
+    /**
+     * Builds an informer whose requests are answered with the given bodies in turn, recording their options.
+     * Once the bodies are used up the informer stops.
+     */
+    private static ResourceInformer scriptedInformer(InformerProperties properties, List<ListOptions> requests,
+                                                     String... bodies) {
+        Deque<String> script = new ArrayDeque<>(List.of(bodies));
+        ResourceInformer[] informer = new ResourceInformer[1];
+        informer[0] = new ResourceInformer(ResourceKey.PROJECT_KIND, new ApiClient(), properties, (namespace, options) -> {
+            requests.add(options);
+            if (script.isEmpty()) {
+                informer[0].stop();
+            }
+            return call(script.isEmpty() ? "" : script.poll());
+        });
+        return informer[0];
+    }
+
+    /**
+     * A call answered with the given body
+     */
+    private static Call call(String body) {
+        Call call = mock(Call.class);
+        try {
+            when(call.execute()).thenReturn(new Response.Builder()
+                .request(new Request.Builder().url("https://kubernetes/apis").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, MediaType.get("application/json")))
+                .build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return call;
+    }
+
+    /**
+     * Marks an informer as running without starting its threads
+     */
+    private static void startRunning(ResourceInformer informer) throws Exception {
+        Field running = ResourceInformer.class.getDeclaredField("running");
+        running.setAccessible(true);
+        running.set(informer, true);
+    }
+
+    private static String json(Map<String, Object> object) {
+        return new Gson().toJson(object);
+    }
+
+    private static String event(String type, Map<String, Object> object) {
+        return json(Map.of("type", type, "object", object));
+    }
+
+    @SafeVarargs
+    private static Map<String, Object> page(String resourceVersion, String continueToken, Map<String, Object>... items) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("resourceVersion", resourceVersion);
+        metadata.put("continue", continueToken);
+        return Map.of("metadata", metadata, "items", List.of(items));
+    }
+
+    private static Map<String, Object> item(String name, String resourceVersion) {
+        return item("team", name, resourceVersion);
+    }
+
+    private static Map<String, Object> item(String namespace, String name, String resourceVersion) {
+        return Map.of("metadata", Map.of("namespace", namespace, "name", name, "resourceVersion", resourceVersion));
+    }
+}
@@ -11,6 +11,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import java.time.OffsetDateTime;
@@ -164,6 +166,58 @@ class AwxProjectServiceTest {
         verify(awxClient, times(1)).getProject(1);
     }
     
+    @Test
+    void findProject_whenNotFound_shouldReturnEmpty() {
+        // Arrange
+        when(awxClient.getProject(999)).thenReturn(Mono.error(
+            WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, new byte[0], null)));
+
+        // Act
+        Optional<ProjectInfo> result = AwxProjectService.findProject(awxClient, 999);
+
+        // Assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void findProject_whenError_shouldPropagateException() {
+        // Arrange
+        when(awxClient.getProject(1)).thenReturn(Mono.error(
+            WebClientResponseException.create(502, "Bad Gateway", HttpHeaders.EMPTY, new byte[0], null)));
+
+        // Act & Assert
+        assertThrows(WebClientResponseException.class, () -> AwxProjectService.findProject(awxClient, 1));
+    }
+
+    @Test
+    void findProjectByName_shouldOnlyMatchExactName() {
+        // Arrange
+        when(awxClient.findProjectsByName("Test Project 2")).thenReturn(Mono.just(mockResponse));
+
+        // Act
+        Optional<ProjectInfo> result = AwxProjectService.findProjectByName(awxClient, "Test Project 2");
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(2);
+    }
+
+    @Test
+    void updateProject_shouldReturnUpdatedProject() {
+        // Arrange
+        Project project = new Project();
+        project.setName("Test Project 1");
+        project.setScmBranch("release");
+        when(awxClient.updateProject(1, project)).thenReturn(Mono.just(project1));
+
+        // Act
+        ProjectInfo result = AwxProjectService.updateProject(awxClient, 1, project);
+
+        // Assert
+        assertThat(result.getId()).isEqualTo(1);
+        verify(awxClient, times(1)).updateProject(1, project);
+    }
+
     @Test
     void createProject_shouldReturnCreatedProject() {
         // Arrange
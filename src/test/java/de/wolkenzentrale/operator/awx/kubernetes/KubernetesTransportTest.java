@@ -0,0 +1,130 @@
+package de.wolkenzentrale.operator.awx.kubernetes;
+
+import de.wolkenzentrale.operator.awx.config.KubernetesClientProperties;
+import de.wolkenzentrale.operator.awx.config.LeaderElectionProperties;
+import de.wolkenzentrale.operator.awx.config.ShardingProperties;
+import io.opentelemetry.api.OpenTelemetry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KubernetesTransportTest {
+
+    private static final String API = "https://kubernetes.default.svc";
+
+    @Test
+    void requestInfo_shouldNameVerbAndResource() {
+        assertThat(info("GET", "/api/v1/namespaces/team/secrets/awx-password"))
+            .isEqualTo(new KubernetesTransport.RequestInfo("get", "secrets"));
+        assertThat(info("GET", "/api/v1/namespaces/team/secrets?watch=true"))
+            .isEqualTo(new KubernetesTransport.RequestInfo("watch", "secrets"));
+        assertThat(info("GET", "/apis/wolkenzentrale.de/v1alpha1/awxprojects"))
+            .isEqualTo(new KubernetesTransport.RequestInfo("list", "awxprojects"));
+        assertThat(info("PATCH", "/apis/wolkenzentrale.de/v1alpha1/namespaces/team/awxprojects/app/status"))
+            .isEqualTo(new KubernetesTransport.RequestInfo("patch", "awxprojects/status"));
+        assertThat(info("POST", "/apis/events.k8s.io/v1/namespaces/team/events"))
+            .isEqualTo(new KubernetesTransport.RequestInfo("create", "events"));
+        assertThat(info("GET", "/api/v1/namespaces/team"))
+            .isEqualTo(new KubernetesTransport.RequestInfo("get", "namespaces"));
+    }
+
+    @Test
+    void intercept_tooManyRequests_shouldRetryAfterServerDelay() throws Exception {
+        KubernetesTransport transport = transport(new KubernetesClientProperties());
+        Request request = request("GET", "/api/v1/namespaces/team/secrets/awx-password");
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenReturn(response(request, 429, "0"), response(request, 200, null));
+
+        Response response = transport.intercept(chain);
+
+        assertThat(response.code()).isEqualTo(200);
+        verify(chain, times(2)).proceed(request);
+    }
+
+    @Test
+    void intercept_retryAfterTooLong_shouldReturnRejection() throws Exception {
+        KubernetesClientProperties properties = new KubernetesClientProperties();
+        properties.setMaxRetryAfter(Duration.ofSeconds(5));
+        KubernetesTransport transport = transport(properties);
+        Request request = request("POST", "/apis/events.k8s.io/v1/namespaces/team/events");
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenReturn(response(request, 429, "60"));
+
+        assertThat(transport.intercept(chain).code()).isEqualTo(429);
+        verify(chain, times(1)).proceed(request);
+    }
+
+    @Test
+    void intercept_leases_shouldOnlyLimitHeartbeatLeases() throws Exception {
+        KubernetesClientProperties properties = new KubernetesClientProperties();
+        properties.setQps(0.001);
+        properties.setBurst(1);
+        KubernetesTransport transport = transport(properties);
+        Request heartbeat = request("PATCH", "/apis/coordination.k8s.io/v1/namespaces/team/leases/awx-connection-awx");
+        Request leader = request("PUT", "/apis/coordination.k8s.io/v1/namespaces/awx-operator-system/leases/awx-operator-leader");
+        Request shard = request("PUT", "/apis/coordination.k8s.io/v1/namespaces/awx-operator-system/leases/awx-operator-shard-a");
+        transport.intercept(chain(heartbeat));
+
+        // With the only token taken, a throttled request waits, which an interrupted thread cannot
+        Thread.currentThread().interrupt();
+        try {
+            assertThat(transport.intercept(chain(leader)).code()).isEqualTo(200);
+            assertThat(transport.intercept(chain(shard)).code()).isEqualTo(200);
+            assertThrows(InterruptedIOException.class, () -> transport.intercept(chain(heartbeat)));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static KubernetesTransport transport(KubernetesClientProperties properties) {
+        return new KubernetesTransport(properties, new LeaderElectionProperties(), new ShardingProperties(),
+            OpenTelemetry.noop().getMeter("test"));
+    }
+
+    private static Interceptor.Chain chain(Request request) throws Exception {
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenReturn(response(request, 200, null));
+        return chain;
+    }
+
+    private static KubernetesTransport.RequestInfo info(String method, String path) {
+        return KubernetesTransport.RequestInfo.of(request(method, path));
+    }
+
+    private static Request request(String method, String path) {
+        RequestBody body = method.equals("GET") ? null : RequestBody.create("{}", MediaType.get("application/json"));
+        return new Request.Builder().url(API + path).method(method, body).build();
+    }
+
+    private static Response response(Request request, int code, String retryAfter) {
+        Response.Builder builder = new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_2)
+            .code(code)
+            .message("")
+            .body(ResponseBody.create("", MediaType.get("application/json")));
+        if (retryAfter != null) {
+            builder.header("Retry-After", retryAfter);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,66 @@
+package de.wolkenzentrale.operator.awx.leader;
+
+import de.wolkenzentrale.operator.awx.config.LeaderElectionProperties;
+import de.wolkenzentrale.operator.awx.config.ShardingProperties;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderElectionTest {
+
+    @Test
+    void isLeader_disabled_shouldLeadRightAway() {
+        LeaderElection election = new LeaderElection(new LeaderElectionProperties(), new ShardingProperties(), null, null,
+            OpenTelemetry.noop().getMeter("test"));
+
+        election.start();
+
+        assertThat(election.isLeader()).isTrue();
+    }
+
+    @Test
+    void isLeader_enabled_shouldStandByUntilElected() {
+        LeaderElectionProperties properties = new LeaderElectionProperties();
+        properties.setEnabled(true);
+        properties.setIdentity("replica-a");
+
+        LeaderElection election = new LeaderElection(properties, new ShardingProperties(), null, null,
+            OpenTelemetry.noop().getMeter("test"));
+
+        assertThat(election.isLeader()).isFalse();
+        assertThat(election.getIdentity()).isEqualTo("replica-a");
+    }
+
+    @Test
+    void onStopLeading_shouldStopLeadingAndTellLossListeners() {
+        LeaderElectionProperties properties = new LeaderElectionProperties();
+        properties.setEnabled(true);
+        LeaderElection election = new LeaderElection(properties, new ShardingProperties(), null, null,
+            OpenTelemetry.noop().getMeter("test"));
+        AtomicInteger losses = new AtomicInteger();
+        election.addLossListener(losses::incrementAndGet);
+        election.onStartLeading();
+        // Stopping, so losing the leadership does not exit the test JVM
+        election.stop();
+
+        election.onStopLeading();
+
+        assertThat(election.isLeader()).isFalse();
+        assertThat(losses).hasValue(1);
+    }
+
+    @Test
+    void isLeader_sharding_shouldNotElect() {
+        LeaderElectionProperties properties = new LeaderElectionProperties();
+        properties.setEnabled(true);
+        ShardingProperties sharding = new ShardingProperties();
+        sharding.setEnabled(true);
+
+        LeaderElection election = new LeaderElection(properties, sharding, null, null, OpenTelemetry.noop().getMeter("test"));
+
+        assertThat(election.isLeader()).isTrue();
+    }
+}
@@ -0,0 +1,25 @@
+package de.wolkenzentrale.operator.awx.model.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.wolkenzentrale.operator.awx.config.JacksonConfig;
+import de.wolkenzentrale.operator.awx.model.crd.ProjectSpec;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectTest {
+
+    private final ObjectMapper awxObjectMapper = new JacksonConfig().awxObjectMapper();
+
+    @Test
+    void serialize_shouldLeaveOutFieldsTheSpecDoesNotSet() throws Exception {
+        ProjectSpec spec = new ProjectSpec();
+        spec.setName("app");
+        spec.setScmType("git");
+        spec.setScmUrl("https://git.example/app.git");
+
+        String body = awxObjectMapper.writeValueAsString(spec.toProject());
+
+        assertThat(body).isEqualTo("{\"name\":\"app\",\"scm_type\":\"git\",\"scm_url\":\"https://git.example/app.git\"}");
+    }
+}
@@ -0,0 +1,74 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.BulkheadProperties;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkheadsTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Bulkheads bulkheads;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bulkheads.shutdown();
+    }
+
+    @Test
+    void awx_whenFull_shouldRejectInsteadOfQueueingForever() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setAwx(new BulkheadProperties.Pool(1, 1));
+        bulkheads = new Bulkheads(properties, OpenTelemetry.noop().getMeter("test"));
+
+        bulkheads.awx("team-a").execute(this::block);
+        bulkheads.awx("team-a").execute(this::block);
+
+        assertThrows(RejectedExecutionException.class, () -> bulkheads.awx("team-a").execute(this::block));
+        assertThat(bulkheads.queueLength("awx")).isEqualTo(1);
+    }
+
+    @Test
+    void awx_withNamespaceBulkheads_shouldIsolateNamespaces() throws Exception {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.getNamespaces().setEnabled(true);
+        properties.getNamespaces().setPool(new BulkheadProperties.Pool(1, 1));
+        bulkheads = new Bulkheads(properties, OpenTelemetry.noop().getMeter("test"));
+
+        // Saturate the pool of a noisy namespace
+        bulkheads.awx("noisy").execute(this::block);
+        bulkheads.awx("noisy").execute(this::block);
+
+        CountDownLatch quietDone = new CountDownLatch(1);
+        bulkheads.awx("quiet").execute(quietDone::countDown);
+
+        assertThat(quietDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bulkheads.queueLength("namespace:noisy")).isEqualTo(1);
+    }
+
+    @Test
+    void callKubernetes_shouldReturnResultAndUnwrapFailures() throws Exception {
+        bulkheads = new Bulkheads(new BulkheadProperties(), OpenTelemetry.noop().getMeter("test"));
+
+        assertThat(bulkheads.callKubernetes(() -> "listed")).isEqualTo("listed");
+        assertThrows(IllegalStateException.class, () -> bulkheads.callKubernetes(() -> {
+            throw new IllegalStateException("forbidden");
+        }));
+    }
+
+    private void block() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
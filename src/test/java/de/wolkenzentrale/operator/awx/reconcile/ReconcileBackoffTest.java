@@ -0,0 +1,97 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReconcileBackoffTest {
+
+    private static final ResourceKey KEY = ResourceKey.connection("default", "broken-awx");
+
+    private MutableClock clock;
+    private ReconcileBackoff backoff;
+
+    @BeforeEach
+    void setUp() {
+        ReconcileProperties properties = new ReconcileProperties();
+        properties.getBackoff().setBaseDelay(Duration.ofSeconds(10));
+        properties.getBackoff().setMaxDelay(Duration.ofSeconds(60));
+        properties.getBackoff().setParkAfterFailures(5);
+        properties.getBackoff().setParkedRecheckInterval(Duration.ofHours(1));
+        clock = new MutableClock();
+        backoff = new ReconcileBackoff(properties, clock);
+    }
+
+    @Test
+    void delayFor_shouldGrowExponentiallyUpToCap() {
+        assertThat(backoff.delayFor(1)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(backoff.delayFor(2)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(backoff.delayFor(3)).isEqualTo(Duration.ofSeconds(40));
+        assertThat(backoff.delayFor(4)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(backoff.delayFor(100)).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void isDue_shouldWaitForBackoff() {
+        backoff.recordFailure(KEY, 2, "1/100");
+
+        assertThat(backoff.isDue(KEY, () -> "1/100")).isFalse();
+        clock.advance(Duration.ofSeconds(20));
+        assertThat(backoff.isDue(KEY, () -> "1/100")).isTrue();
+    }
+
+    @Test
+    void isDue_whenParked_shouldOnlyReactToChangedInputsOrTimer() {
+        backoff.recordFailure(KEY, 5, "1/100");
+
+        assertThat(backoff.isParked(KEY)).isTrue();
+        assertThat(backoff.parkedCount()).isEqualTo(1);
+        clock.advance(Duration.ofMinutes(30));
+        assertThat(backoff.isDue(KEY, () -> "1/100")).isFalse();
+        assertThat(backoff.isDue(KEY, () -> "2/100")).isTrue();
+        assertThat(backoff.isDue(KEY, () -> "1/101")).isTrue();
+        clock.advance(Duration.ofMinutes(30));
+        assertThat(backoff.isDue(KEY, () -> "1/100")).isTrue();
+    }
+
+    @Test
+    void recordSuccess_shouldResetBackoff() {
+        backoff.recordFailure(KEY, 7, "1/100");
+
+        backoff.recordSuccess(KEY);
+
+        assertThat(backoff.isParked(KEY)).isFalse();
+        assertThat(backoff.isDue(KEY, () -> "1/100")).isTrue();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.BulkheadProperties;
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.shard.ShardCoordinator;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReconcileDispatcherTest {
+
+    private static final ResourceKey KEY = ResourceKey.project("team", "app");
+    private static final ConnectionKey CONNECTION = new ConnectionKey("team", "awx");
+
+    private final LeaderElection leaderElection = mock(LeaderElection.class);
+    private final ShardCoordinator sharding = mock(ShardCoordinator.class);
+    private final List<ResourceKey> reconciled = new ArrayList<>();
+    private ReconcileDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        when(sharding.owns(any())).thenReturn(true);
+        when(leaderElection.isLeader()).thenReturn(true);
+        Bulkheads bulkheads = mock(Bulkheads.class);
+        when(bulkheads.awx(any())).thenReturn(Runnable::run);
+        dispatcher = new ReconcileDispatcher(new ReconcileProperties(), new BulkheadProperties(), bulkheads,
+            mock(ReconcileScheduler.class), sharding, leaderElection, OpenTelemetry.noop().getMeter("test"));
+        dispatcher.register(ResourceKey.PROJECT_KIND, request -> {
+            reconciled.add(request.getKey());
+            return ReconcileResult.retryAt(Instant.now());
+        });
+    }
+
+    @Test
+    void dispatch_leader_shouldReconcile() {
+        dispatcher.dispatch(request());
+
+        assertThat(reconciled).containsExactly(KEY);
+    }
+
+    @Test
+    void dispatch_afterLeadershipLost_shouldDropReconcile() {
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        dispatcher.dispatch(request());
+
+        assertThat(reconciled).isEmpty();
+    }
+
+    @Test
+    void enqueue_afterLeadershipLost_shouldNotQueue() {
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        assertThat(dispatcher.enqueue(request())).isFalse();
+        assertThat(dispatcher.queueSize()).isZero();
+    }
+
+    @Test
+    void enqueue_connectionOfOtherReplica_shouldNotQueue() {
+        when(sharding.owns(CONNECTION)).thenReturn(false);
+
+        assertThat(dispatcher.accepts(CONNECTION)).isFalse();
+        assertThat(dispatcher.enqueue(request())).isFalse();
+        assertThat(dispatcher.queueSize()).isZero();
+    }
+
+    @Test
+    void leadershipLost_shouldDropQueuedReconciles() {
+        ArgumentCaptor<Runnable> lossListener = ArgumentCaptor.forClass(Runnable.class);
+        verify(leaderElection).addLossListener(lossListener.capture());
+        dispatcher.enqueue(request());
+
+        lossListener.getValue().run();
+
+        assertThat(dispatcher.queueSize()).isZero();
+    }
+
+    private static ReconcileRequest request() {
+        return new ReconcileRequest(KEY, CONNECTION, ReconcileLane.CHANGE, Map.of());
+    }
+}
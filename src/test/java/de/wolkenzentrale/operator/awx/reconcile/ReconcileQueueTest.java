@@ -0,0 +1,180 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReconcileQueueTest {
+
+    @Test
+    void poll_shouldAlternateBetweenNamespaces() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 0, 0);
+        for (int i = 0; i < 100; i++) {
+            queue.enqueue(request("big", "awx", "project-" + i));
+        }
+        queue.enqueue(request("small", "awx", "project-a"));
+        queue.enqueue(request("small", "awx", "project-b"));
+
+        List<String> order = drain(queue, 4);
+
+        assertThat(order).containsExactly("big", "small", "big", "small");
+    }
+
+    @Test
+    void poll_shouldHonorWeights() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> namespace.equals("gold") ? 3 : 1, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(request("gold", "awx", "g-" + i));
+            queue.enqueue(request("bronze", "awx", "b-" + i));
+        }
+
+        List<String> order = drain(queue, 8);
+
+        assertThat(order).containsExactly("gold", "gold", "gold", "bronze", "gold", "gold", "gold", "bronze");
+    }
+
+    @Test
+    void poll_shouldRoundRobinConnectionsWithinNamespace() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 0, 0);
+        queue.enqueue(request("team", "awx-1", "a"));
+        queue.enqueue(request("team", "awx-1", "b"));
+        queue.enqueue(request("team", "awx-2", "c"));
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ReconcileRequest next = queue.poll(1, TimeUnit.SECONDS);
+            names.add(next.getKey().getName());
+            queue.done(next);
+        }
+
+        assertThat(names).containsExactly("a", "c", "b");
+    }
+
+    @Test
+    void enqueue_shouldDeduplicateAndKeepLatestPayload() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 0, 0);
+        ReconcileRequest first = request("team", "awx", "a");
+
+        assertThat(queue.enqueue(first)).isTrue();
+        assertThat(queue.enqueue(new ReconcileRequest(first.getKey(), first.getConnection(), ReconcileLane.RESYNC, Map.of("version", 2)))).isFalse();
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.poll(1, TimeUnit.SECONDS).getPayload()).containsEntry("version", 2);
+    }
+
+    @Test
+    void enqueue_whileRunning_shouldHoldBackUntilDone() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 0, 0);
+        ReconcileRequest first = request("team", "awx", "a");
+        queue.enqueue(first);
+        ReconcileRequest running = queue.poll(1, TimeUnit.SECONDS);
+
+        queue.enqueue(request("team", "awx", "a"));
+
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+        queue.done(running);
+        assertThat(queue.poll(1, TimeUnit.SECONDS).getKey()).isEqualTo(first.getKey());
+    }
+
+    @Test
+    void poll_shouldSkipNamespacesAtConcurrencyLimit() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 1, 0);
+        queue.enqueue(request("busy", "awx", "a"));
+        queue.enqueue(request("busy", "awx", "b"));
+        queue.enqueue(request("idle", "awx", "c"));
+
+        ReconcileRequest busy = queue.poll(1, TimeUnit.SECONDS);
+        ReconcileRequest idle = queue.poll(1, TimeUnit.SECONDS);
+
+        assertThat(busy.getNamespace()).isEqualTo("busy");
+        assertThat(idle.getNamespace()).isEqualTo("idle");
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+        queue.done(busy);
+        assertThat(queue.poll(1, TimeUnit.SECONDS).getKey().getName()).isEqualTo("b");
+    }
+
+    @Test
+    void poll_shouldServeHigherLanesFirst() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 0, 0);
+        queue.enqueue(request("team", "awx", "resync", ReconcileLane.RESYNC));
+        queue.enqueue(request("team", "awx", "retry", ReconcileLane.RETRY));
+        queue.enqueue(request("other", "awx", "change", ReconcileLane.CHANGE));
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ReconcileRequest next = queue.poll(1, TimeUnit.SECONDS);
+            names.add(next.getKey().getName());
+            queue.done(next);
+        }
+
+        assertThat(names).containsExactly("change", "retry", "resync");
+    }
+
+    @Test
+    void enqueue_shouldPromoteQueuedRequestToHigherLane() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(request("team", "awx", "project-" + i));
+        }
+
+        queue.enqueue(request("team", "awx", "project-9", ReconcileLane.CHANGE));
+
+        ReconcileRequest next = queue.poll(1, TimeUnit.SECONDS);
+        assertThat(next.getKey().getName()).isEqualTo("project-9");
+        assertThat(next.getLane()).isEqualTo(ReconcileLane.CHANGE);
+        assertThat(queue.sizeByLane()).containsEntry(ReconcileLane.CHANGE, 0).containsEntry(ReconcileLane.RESYNC, 9);
+    }
+
+    @Test
+    void enqueue_shouldNotDemoteQueuedRequest() throws Exception {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 0, 0);
+        queue.enqueue(request("team", "awx", "a", ReconcileLane.CHANGE));
+
+        queue.enqueue(request("team", "awx", "a", ReconcileLane.RESYNC));
+
+        assertThat(queue.poll(1, TimeUnit.SECONDS).getLane()).isEqualTo(ReconcileLane.CHANGE);
+    }
+
+    @Test
+    void enqueue_whenFull_shouldShedOnlyLowestLane() {
+        ReconcileQueue queue = new ReconcileQueue(namespace -> 1, 0, 2);
+        queue.enqueue(request("team", "awx", "a"));
+        queue.enqueue(request("team", "awx", "b"));
+
+        assertThat(queue.enqueue(request("team", "awx", "c"))).isFalse();
+        assertThat(queue.enqueue(request("team", "awx", "d", ReconcileLane.CHANGE))).isTrue();
+        assertThat(queue.enqueue(request("team", "awx", "e", ReconcileLane.RETRY))).isTrue();
+
+        assertThat(queue.size()).isEqualTo(4);
+        assertThat(queue.shedCount()).isEqualTo(1);
+    }
+
+    private static List<String> drain(ReconcileQueue queue, int count) throws InterruptedException {
+        List<String> namespaces = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ReconcileRequest next = queue.poll(1, TimeUnit.SECONDS);
+            namespaces.add(next.getNamespace());
+            queue.done(next);
+        }
+        return namespaces;
+    }
+
+    private static ReconcileRequest request(String namespace, String connection, String name) {
+        return request(namespace, connection, name, ReconcileLane.RESYNC);
+    }
+
+    private static ReconcileRequest request(String namespace, String connection, String name, ReconcileLane lane) {
+        return new ReconcileRequest(
+            new ResourceKey("AwxProject", namespace, name),
+            new ConnectionKey(namespace, connection),
+            lane,
+            Map.of());
+    }
+}
@@ -0,0 +1,95 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReconcileSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ReconcileProperties properties = new ReconcileProperties();
+    private final ResyncPlanner planner = new ResyncPlanner(properties, OpenTelemetry.noop().getMeter("test"));
+    private final ReconcileScheduler scheduler = new ReconcileScheduler(properties, planner,
+        OpenTelemetry.noop().getMeter("test"), Clock.fixed(NOW, ZoneOffset.UTC), nanos::get);
+
+    @Test
+    void nextResync_shouldBeDeterministicAndWithinInterval() {
+        ResourceKey key = ResourceKey.connection("team", "awx");
+
+        Instant first = ReconcileScheduler.nextSlot(key, NOW, Duration.ofSeconds(30));
+
+        assertThat(ReconcileScheduler.nextSlot(key, NOW, Duration.ofSeconds(30))).isEqualTo(first);
+        assertThat(first).isAfter(NOW).isBeforeOrEqualTo(NOW.plusSeconds(30));
+        assertThat(ReconcileScheduler.nextSlot(key, first, Duration.ofSeconds(30))).isEqualTo(first.plusSeconds(30));
+    }
+
+    @Test
+    void requeueAfter_shouldClampHints() {
+        ResourceKey key = ResourceKey.project("team", "project");
+
+        Instant tooShort = scheduler.requeueAfter(key, Duration.ofMillis(100)).getRequeueAt();
+        Instant tooLong = scheduler.requeueAfter(key, Duration.ofDays(1)).getRequeueAt();
+
+        assertThat(tooShort).isAfter(NOW).isBeforeOrEqualTo(NOW.plusSeconds(5));
+        assertThat(tooLong).isAfter(NOW).isBeforeOrEqualTo(NOW.plus(Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void resync_shouldUsePlannedInterval() {
+        properties.getBudget().setEnabled(true);
+        properties.getBudget().setMaxAwxRequestsPerSecondPerHost(1);
+        for (int i = 0; i < 300; i++) {
+            planner.track(ResourceKey.project("team", "project-" + i), "awx:443");
+        }
+        ResourceKey key = ResourceKey.project("team", "project-0");
+
+        Instant resync = scheduler.resync(key).getRequeueAt();
+        Instant inProgress = scheduler.requeueAfter(key, Duration.ofSeconds(10)).getRequeueAt();
+
+        assertThat(resync).isAfter(NOW).isBeforeOrEqualTo(NOW.plus(Duration.ofMinutes(10)));
+        assertThat(ReconcileScheduler.nextSlot(key, NOW, Duration.ofMinutes(10))).isEqualTo(resync);
+        assertThat(inProgress).isBeforeOrEqualTo(NOW.plusSeconds(10));
+    }
+
+    @Test
+    void phase_shouldSpreadResourcesOverInterval() {
+        int[] buckets = new int[10];
+        for (int i = 0; i < 10_000; i++) {
+            long phase = ReconcileScheduler.phase(ResourceKey.connection("team", "awx-" + i), 30_000);
+            buckets[(int) (phase / 3_000)]++;
+        }
+
+        for (int bucket : buckets) {
+            assertThat(bucket).isBetween(800, 1200);
+        }
+    }
+
+    @Test
+    void tick_shouldCallHandlerOfDueResources() {
+        List<ResourceKey> fired = new ArrayList<>();
+        scheduler.register(ResourceKey.CONNECTION_KIND, fired::add);
+        ResourceKey due = ResourceKey.connection("team", "due");
+        ResourceKey later = ResourceKey.connection("team", "later");
+        scheduler.scheduleAfter(due, Duration.ofSeconds(1));
+        scheduler.scheduleAfter(later, Duration.ofMinutes(5));
+
+        nanos.set(Duration.ofSeconds(2).toNanos());
+        scheduler.tick();
+
+        assertThat(fired).containsExactly(due);
+        assertThat(scheduler.isScheduled(later)).isTrue();
+    }
+}
@@ -0,0 +1,117 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResyncPlannerTest {
+
+    private ReconcileProperties properties;
+    private ResyncPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReconcileProperties();
+        properties.getBudget().setEnabled(true);
+        properties.getBudget().setMaxKubernetesWritesPerSecond(10);
+        properties.getBudget().setMaxAwxRequestsPerSecondPerHost(2);
+        properties.getBudget().setAwxRequestsPerReconcile(1);
+        planner = new ResyncPlanner(properties, OpenTelemetry.noop().getMeter("test"));
+    }
+
+    @Test
+    void intervalFor_smallFleet_shouldUseConfiguredInterval() {
+        ResourceKey key = ResourceKey.connection("team", "awx");
+        planner.track(key, "awx.example.com");
+
+        assertThat(planner.intervalFor(key)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void intervalFor_busyHost_shouldStretchToAwxBudget() {
+        for (int i = 0; i < 200; i++) {
+            planner.track(ResourceKey.project("team", "busy-" + i), "busy:443");
+        }
+        ResourceKey quiet = ResourceKey.project("team", "quiet");
+        planner.track(quiet, "quiet:443");
+
+        // 200 reconciles at 2 requests/s take 100s; the quiet host stays at the configured interval
+        assertThat(planner.intervalFor(ResourceKey.project("team", "busy-0"))).isEqualTo(Duration.ofSeconds(100));
+        assertThat(planner.intervalFor(quiet)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void intervalFor_largeFleet_shouldStretchToKubernetesBudget() {
+        for (int i = 0; i < 1000; i++) {
+            planner.track(ResourceKey.project("team", "project-" + i), "host-" + i);
+        }
+
+        // 1000 status writes at 10 writes/s take 100s
+        assertThat(planner.intervalFor(ResourceKey.project("team", "project-0"))).isEqualTo(Duration.ofSeconds(100));
+    }
+
+    @Test
+    void untrack_shouldShrinkIntervalAgain() {
+        for (int i = 0; i < 200; i++) {
+            planner.track(ResourceKey.project("team", "p-" + i), "busy:443");
+        }
+        for (int i = 1; i < 200; i++) {
+            planner.untrack(ResourceKey.project("team", "p-" + i));
+        }
+
+        assertThat(planner.intervalFor(ResourceKey.project("team", "p-0"))).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void track_movedResource_shouldCountOnNewHostOnly() {
+        ResourceKey key = ResourceKey.project("team", "moving");
+        for (int i = 0; i < 100; i++) {
+            planner.track(ResourceKey.project("team", "other-" + i), "old:443");
+        }
+        planner.track(key, "old:443");
+        planner.track(key, "new:443");
+
+        assertThat(planner.intervalFor(key)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void track_unknownHost_shouldOnlyCountForKubernetesBudget() {
+        for (int i = 0; i < 1000; i++) {
+            planner.track(ResourceKey.project("team", "project-" + i), null);
+        }
+
+        // 1000 status writes at 10 writes/s take 100s, but no AWX host carries them
+        assertThat(planner.intervalFor(ResourceKey.project("team", "project-0"))).isEqualTo(Duration.ofSeconds(100));
+        planner.track(ResourceKey.project("team", "project-0"), "awx:443");
+        planner.untrack(ResourceKey.project("team", "project-1"));
+        assertThat(planner.kubernetesInterval()).isEqualTo(Duration.ofMillis(99900));
+    }
+
+    @Test
+    void track_hostBecomesKnown_shouldCountOnThatHost() {
+        for (int i = 0; i < 200; i++) {
+            planner.track(ResourceKey.project("team", "p-" + i), null);
+        }
+        for (int i = 0; i < 200; i++) {
+            planner.track(ResourceKey.project("team", "p-" + i), "busy:443");
+        }
+
+        assertThat(planner.intervalFor(ResourceKey.project("team", "p-0"))).isEqualTo(Duration.ofSeconds(100));
+    }
+
+    @Test
+    void intervalFor_disabled_shouldUseConfiguredInterval() {
+        properties.getBudget().setEnabled(false);
+        for (int i = 0; i < 1000; i++) {
+            planner.track(ResourceKey.project("team", "project-" + i), "busy:443");
+        }
+
+        assertThat(planner.intervalFor(ResourceKey.project("team", "project-0"))).isEqualTo(Duration.ofSeconds(30));
+    }
+}
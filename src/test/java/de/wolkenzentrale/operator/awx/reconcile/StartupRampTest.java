@@ -0,0 +1,200 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import de.wolkenzentrale.operator.awx.config.ReconcileProperties;
+import de.wolkenzentrale.operator.awx.informer.DependencyIndex;
+import de.wolkenzentrale.operator.awx.informer.Informers;
+import de.wolkenzentrale.operator.awx.informer.ResourceInformer;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import de.wolkenzentrale.operator.awx.shard.ShardCoordinator;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StartupRampTest {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    private final ReconcileProperties properties = new ReconcileProperties();
+    private final ReconcileScheduler scheduler = mock(ReconcileScheduler.class);
+    private final ResourceInformer connections = mock(ResourceInformer.class);
+    private final Set<ResourceKey> cached = new LinkedHashSet<>();
+    private final List<Long> fired = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean synced = new AtomicBoolean(true);
+    private final AtomicBoolean leader = new AtomicBoolean(true);
+    private final AtomicBoolean settled = new AtomicBoolean(true);
+    private final AtomicLong clock = new AtomicLong();
+    private Consumer<ResourceKey> done;
+    private StartupRamp ramp;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties.getStartup().setJitter(Duration.ZERO);
+        Informers informers = mock(Informers.class);
+        when(informers.connections()).thenReturn(connections);
+        when(informers.projects()).thenReturn(mock(ResourceInformer.class));
+        when(informers.projectsByConnection()).thenReturn(new DependencyIndex<>());
+        when(informers.hasSynced()).thenAnswer(invocation -> synced.get());
+        when(connections.keys()).thenReturn(cached);
+        doAnswer(invocation -> fired.add(System.nanoTime())).when(scheduler).fire(any());
+
+        LeaderElection leaderElection = mock(LeaderElection.class);
+        when(leaderElection.isLeader()).thenAnswer(invocation -> leader.get());
+        ShardCoordinator sharding = mock(ShardCoordinator.class);
+        when(sharding.owns(any())).thenReturn(true);
+        when(sharding.isSettled()).thenAnswer(invocation -> settled.get());
+
+        ReconcileDispatcher dispatcher = mock(ReconcileDispatcher.class);
+        ramp = new StartupRamp(properties, informers, scheduler, dispatcher, leaderElection, sharding,
+            OpenTelemetry.noop().getMeter("test"), clock::get);
+        ArgumentCaptor<Consumer<ResourceKey>> doneListener = ArgumentCaptor.forClass(Consumer.class);
+        verify(dispatcher).addDoneListener(doneListener.capture());
+        done = doneListener.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ramp.stop();
+    }
+
+    @Test
+    void passDone_fullPass_shouldWaitForLastResource() {
+        assertThat(StartupRamp.passDone(10, 1, 1.0)).isFalse();
+        assertThat(StartupRamp.passDone(10, 0, 1.0)).isTrue();
+    }
+
+    @Test
+    void passDone_fraction_shouldRoundUp() {
+        assertThat(StartupRamp.passDone(10, 2, 0.75)).isTrue();
+        assertThat(StartupRamp.passDone(10, 3, 0.75)).isFalse();
+    }
+
+    @Test
+    void passDone_nothingToReconcile_shouldBeDone() {
+        assertThat(StartupRamp.passDone(0, 0, 1.0)).isTrue();
+    }
+
+    @Test
+    void start_shouldReleaseBurstAtOnceAndTheRestAtRate() {
+        properties.getStartup().setRatePerSecond(20);
+        properties.getStartup().setBurst(2);
+        cacheConnections(6);
+
+        ramp.start();
+
+        verify(scheduler, timeout(WAIT_MILLIS).times(6)).fire(any());
+        // Two tokens up front, then one every 50 ms for the other four
+        assertThat(TimeUnit.NANOSECONDS.toMillis(fired.get(5) - fired.get(0))).isGreaterThanOrEqualTo(190);
+    }
+
+    @Test
+    void start_shouldWaitForSyncLeadershipAndSettledShards() throws Exception {
+        synced.set(false);
+        leader.set(false);
+        settled.set(false);
+        cacheConnections(1);
+
+        ramp.start();
+        Thread.sleep(300);
+        assertThat(ramp.isSynced()).isFalse();
+        synced.set(true);
+        Thread.sleep(300);
+        leader.set(true);
+        Thread.sleep(300);
+
+        verify(scheduler, never()).fire(any());
+        assertThat(ramp.isReleased()).isFalse();
+
+        settled.set(true);
+        verify(scheduler, timeout(WAIT_MILLIS)).fire(ResourceKey.connection("team", "awx-0"));
+        assertThat(ramp.isReleased()).isTrue();
+    }
+
+    @Test
+    void defer_shouldOnlyTakeResourcesWhileThePassIsReleased() throws Exception {
+        properties.getStartup().setReadyFraction(0.0);
+        cacheConnections(3);
+        ResourceKey late = ResourceKey.project("team", "late");
+        // Hold the pass at its first release
+        CountDownLatch deferred = new CountDownLatch(1);
+        doAnswer(invocation -> deferred.await(WAIT_MILLIS, TimeUnit.MILLISECONDS))
+            .when(scheduler).fire(ResourceKey.connection("team", "awx-0"));
+
+        assertThat(ramp.defer(late)).isFalse();
+        ramp.start();
+        await(ramp::isReleased);
+        assertThat(ramp.defer(late)).isTrue();
+        deferred.countDown();
+
+        verify(scheduler, timeout(WAIT_MILLIS)).fire(late);
+        await(ramp::isReady);
+        assertThat(ramp.defer(late)).isFalse();
+    }
+
+    @Test
+    void isReady_shouldWaitForReadyFractionOfThePass() {
+        properties.getStartup().setReadyFraction(0.5);
+        cacheConnections(4);
+
+        ramp.start();
+        verify(scheduler, timeout(WAIT_MILLIS).times(4)).fire(any());
+        done.accept(ResourceKey.connection("team", "awx-0"));
+        assertThat(ramp.isReady()).isFalse();
+
+        done.accept(ResourceKey.connection("team", "awx-1"));
+        await(ramp::isReady);
+    }
+
+    @Test
+    void isReady_shouldGiveUpWaitingAfterReadyTimeout() throws Exception {
+        properties.getStartup().setReadyTimeout(Duration.ofMinutes(10));
+        cacheConnections(2);
+
+        ramp.start();
+        verify(scheduler, timeout(WAIT_MILLIS).times(2)).fire(any());
+        Thread.sleep(100);
+        assertThat(ramp.isReady()).isFalse();
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        await(ramp::isReady);
+    }
+
+    private void cacheConnections(int count) {
+        for (int i = 0; i < count; i++) {
+            cached.add(ResourceKey.connection("team", "awx-" + i));
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
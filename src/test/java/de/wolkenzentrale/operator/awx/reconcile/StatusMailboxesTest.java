@@ -0,0 +1,93 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatusMailboxesTest {
+
+    private final ScheduledExecutorService ticker = mock(ScheduledExecutorService.class);
+    private final List<String> written = new ArrayList<>();
+    private final List<String> rejected = new ArrayList<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private StatusMailboxes<String, String> mailboxes;
+
+    @BeforeEach
+    void setUp() {
+        when(ticker.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS))).thenAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            return null;
+        });
+        mailboxes = new StatusMailboxes<>(Duration.ofMillis(100), ticker, Runnable::run,
+            (key, update) -> written.add(key + "=" + update), (key, e) -> rejected.add(key));
+    }
+
+    @Test
+    void offer_withinWindow_shouldWriteLatestUpdateOnce() {
+        assertThat(mailboxes.offer("a", "1")).isTrue();
+        assertThat(mailboxes.offer("a", "2")).isFalse();
+        assertThat(mailboxes.offer("a", "3")).isFalse();
+        assertThat(mailboxes.offer("b", "1")).isTrue();
+
+        flush();
+
+        assertThat(written).containsExactly("a=3", "b=1");
+        assertThat(mailboxes.coalescedCount()).isEqualTo(2);
+        assertThat(mailboxes.size()).isZero();
+    }
+
+    @Test
+    void offer_duringWrite_shouldWaitForNextWindow() {
+        mailboxes = new StatusMailboxes<>(Duration.ofMillis(100), ticker, Runnable::run,
+            (key, update) -> {
+                written.add(key + "=" + update);
+                if (update.equals("1")) {
+                    assertThat(mailboxes.offer(key, "2")).isFalse();
+                }
+            }, (key, e) -> rejected.add(key));
+
+        mailboxes.offer("a", "1");
+        flush();
+        assertThat(written).containsExactly("a=1");
+
+        flush();
+        assertThat(written).containsExactly("a=1", "a=2");
+        assertThat(mailboxes.size()).isZero();
+    }
+
+    @Test
+    void offer_withoutCapacity_shouldDropUpdateAndReopenMailbox() {
+        mailboxes = new StatusMailboxes<>(Duration.ofMillis(100), ticker,
+            task -> { throw new RejectedExecutionException("full"); },
+            (key, update) -> written.add(key + "=" + update), (key, e) -> rejected.add(key));
+
+        mailboxes.offer("a", "1");
+        flush();
+
+        assertThat(written).isEmpty();
+        assertThat(rejected).containsExactly("a");
+        assertThat(mailboxes.offer("a", "2")).isTrue();
+    }
+
+    /**
+     * Runs the flushes scheduled so far, as if their debounce window had passed
+     */
+    private void flush() {
+        List<Runnable> due = new ArrayList<>(scheduled);
+        scheduled.clear();
+        due.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,194 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.wolkenzentrale.operator.awx.config.StatusProperties;
+import de.wolkenzentrale.operator.awx.informer.Informers;
+import de.wolkenzentrale.operator.awx.informer.ResourceInformer;
+import de.wolkenzentrale.operator.awx.leader.LeaderElection;
+import de.wolkenzentrale.operator.awx.model.common.ResourceKey;
+import io.kubernetes.client.openapi.ApiClient;
+import io.opentelemetry.api.OpenTelemetry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatusWriterTest {
+
+    private static final ResourceKey KEY = ResourceKey.connection("team", "awx");
+
+    private final StatusProperties properties = new StatusProperties();
+    private final ResourceInformer informer = mock(ResourceInformer.class);
+    private final LeaderElection leaderElection = mock(LeaderElection.class);
+    private final List<Integer> responses = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> requestBodies = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> derivedFrom = new ArrayList<>();
+    private final Function<Map<String, Object>, ?> derive = resource -> {
+        derivedFrom.add(ResourceInformer.resourceVersionOf(resource));
+        return Map.of("phase", "Succeeded");
+    };
+    private StatusWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        Informers informers = mock(Informers.class);
+        when(informers.of(ResourceKey.CONNECTION_KIND)).thenReturn(informer);
+        when(leaderElection.isLeader()).thenReturn(true);
+        Bulkheads bulkheads = mock(Bulkheads.class);
+        when(bulkheads.status()).thenReturn(Runnable::run);
+        writer = new StatusWriter(bulkheads, apiClient(), properties, new ObjectMapper(), informers,
+            leaderElection, OpenTelemetry.noop().getMeter("test"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void applyConfiguration_shouldHoldIdentityAndStatusOnly() {
+        Map<String, Object> status = Map.of("phase", "Ready");
+
+        Map<String, Object> configuration = StatusWriter.applyConfiguration(ResourceKey.project("team", "app"), null, status);
+
+        assertThat(configuration).containsExactly(
+            Map.entry("apiVersion", "wolkenzentrale.de/v1alpha1"),
+            Map.entry("kind", "AwxProject"),
+            Map.entry("metadata", Map.of("name", "app", "namespace", "team")),
+            Map.entry("status", status));
+    }
+
+    @Test
+    void applyConfiguration_shouldGuardWithResourceVersion() {
+        Map<String, Object> configuration = StatusWriter.applyConfiguration(
+            ResourceKey.connection("team", "awx"), "42", Map.of("phase", "Ready"));
+
+        assertThat(configuration).containsEntry("kind", "AwxConnection");
+        assertThat(configuration.get("metadata")).isEqualTo(
+            Map.of("name", "awx", "namespace", "team", "resourceVersion", "42"));
+    }
+
+    @Test
+    void writeGuarded_conflict_shouldDeriveAgainFromCachedResource() {
+        responses.addAll(List.of(409, 200));
+        when(informer.get(KEY)).thenReturn(connection("2"));
+
+        writer.writeGuarded(KEY, connection("1"), derive);
+
+        assertThat(derivedFrom).containsExactly("1", "2");
+        assertThat(requestBodies).hasSize(2);
+        assertThat(requestBodies.get(0)).contains("\"resourceVersion\":\"1\"");
+        assertThat(requestBodies.get(1)).contains("\"resourceVersion\":\"2\"");
+    }
+
+    @Test
+    void writeGuarded_conflict_shouldWaitForCacheToCatchUp() {
+        responses.addAll(List.of(409, 200));
+        when(informer.get(KEY)).thenReturn(connection("1"), connection("1"), connection("2"));
+
+        writer.writeGuarded(KEY, connection("1"), derive);
+
+        assertThat(derivedFrom).containsExactly("1", "2");
+        verify(informer, atLeast(3)).get(KEY);
+    }
+
+    @Test
+    void writeGuarded_keepsConflicting_shouldGiveUpAfterConflictRetries() {
+        properties.setConflictRetries(2);
+        responses.addAll(List.of(409, 409, 409, 200));
+        AtomicInteger version = new AtomicInteger(1);
+        when(informer.get(KEY)).thenAnswer(invocation -> connection(String.valueOf(version.incrementAndGet())));
+
+        writer.writeGuarded(KEY, connection("1"), derive);
+
+        assertThat(requestBodies).hasSize(3);
+        assertThat(derivedFrom).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void writeGuarded_resourceDeleted_shouldStopAfterConflict() {
+        responses.addAll(List.of(409, 200));
+        when(informer.get(KEY)).thenReturn(null);
+
+        writer.writeGuarded(KEY, connection("1"), derive);
+
+        assertThat(requestBodies).hasSize(1);
+        assertThat(derivedFrom).containsExactly("1");
+    }
+
+    @Test
+    void writeGuarded_afterLeadershipLost_shouldNotWrite() {
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        writer.writeGuarded(KEY, connection("1"), derive);
+
+        assertThat(requestBodies).isEmpty();
+        assertThat(derivedFrom).isEmpty();
+    }
+
+    @Test
+    void write_leadershipLostWhilePending_shouldDropPendingWrite() throws Exception {
+        properties.setDebounce(Duration.ofMillis(100));
+        Bulkheads bulkheads = mock(Bulkheads.class);
+        when(bulkheads.status()).thenReturn(Runnable::run);
+        StatusWriter debounced = new StatusWriter(bulkheads, apiClient(), properties, new ObjectMapper(),
+            mock(Informers.class), leaderElection, OpenTelemetry.noop().getMeter("test"));
+        ArgumentCaptor<Runnable> lossListener = ArgumentCaptor.forClass(Runnable.class);
+        verify(leaderElection, atLeast(1)).addLossListener(lossListener.capture());
+        try {
+            debounced.write(KEY, connection("1"), derive);
+            lossListener.getValue().run();
+            Thread.sleep(300);
+
+            assertThat(requestBodies).isEmpty();
+        } finally {
+            debounced.stop();
+        }
+    }
+
+    /**
+     * An API client whose requests are answered with the queued status codes, recording the request bodies
+     */
+    private ApiClient apiClient() {
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+            .addInterceptor(chain -> {
+                Buffer body = new Buffer();
+                chain.request().body().writeTo(body);
+                requestBodies.add(body.readUtf8());
+                int code = responses.remove(0);
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message(code == 409 ? "Conflict" : "OK")
+                    .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                    .build();
+            })
+            .build();
+        return new ApiClient(httpClient).setBasePath("https://kubernetes");
+    }
+
+    private static Map<String, Object> connection(String resourceVersion) {
+        return Map.of("metadata", Map.of("namespace", "team", "name", "awx", "resourceVersion", resourceVersion));
+    }
+}
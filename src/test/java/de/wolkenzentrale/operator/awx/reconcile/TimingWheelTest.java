@@ -0,0 +1,77 @@
+package de.wolkenzentrale.operator.awx.reconcile;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void advance_shouldFireTimersWhenDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(10), 8, 0);
+        wheel.schedule("a", 25 * MS);
+        wheel.schedule("b", 50 * MS);
+
+        assertThat(wheel.advance(20 * MS)).isEmpty();
+        assertThat(wheel.advance(30 * MS)).containsExactly("a");
+        assertThat(wheel.advance(50 * MS)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_shouldKeepTimersBeyondOneRotation() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(10), 8, 0);
+        wheel.schedule("far", 200 * MS);
+
+        assertThat(wheel.advance(80 * MS)).isEmpty();
+        assertThat(wheel.advance(160 * MS)).isEmpty();
+        assertThat(wheel.advance(200 * MS)).containsExactly("far");
+    }
+
+    @Test
+    void advance_afterLongPause_shouldFireEverythingDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(10), 8, 0);
+        wheel.schedule("a", 30 * MS);
+        wheel.schedule("b", 500 * MS);
+        wheel.schedule("c", 2_000 * MS);
+
+        assertThat(wheel.advance(1_000 * MS)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.contains("c")).isTrue();
+    }
+
+    @Test
+    void schedule_shouldReplaceExistingTimer() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(10), 8, 0);
+        wheel.schedule("a", 20 * MS);
+        wheel.schedule("a", 60 * MS);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(30 * MS)).isEmpty();
+        assertThat(wheel.advance(60 * MS)).containsExactly("a");
+    }
+
+    @Test
+    void schedule_inThePast_shouldFireOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(10), 8, 0);
+        wheel.advance(100 * MS);
+
+        wheel.schedule("late", 10 * MS);
+
+        assertThat(wheel.advance(110 * MS)).containsExactly("late");
+    }
+
+    @Test
+    void cancel_shouldRemoveTimer() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(10), 8, 0);
+        wheel.schedule("a", 20 * MS);
+        wheel.schedule("b", 20 * MS);
+
+        assertThat(wheel.cancel("a")).isTrue();
+        assertThat(wheel.cancel("a")).isFalse();
+        assertThat(wheel.advance(20 * MS)).containsExactly("b");
+    }
+}
@@ -0,0 +1,58 @@
+package de.wolkenzentrale.operator.awx.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void ownerOf_emptyRing_shouldReturnNull() {
+        assertThat(new ConsistentHashRing(List.of(), 16).ownerOf("team/awx")).isNull();
+    }
+
+    @Test
+    void ownerOf_shouldSpreadKeysEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("team-" + i + "/awx"), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4 * 7 / 10, KEYS / 4 * 13 / 10));
+    }
+
+    @Test
+    void ownerOf_addedMember_shouldOnlyTakeKeysFromOthers() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "team-" + i + "/awx";
+            if (!before.ownerOf(key).equals(after.ownerOf(key))) {
+                assertThat(after.ownerOf(key)).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 4 * 7 / 10, KEYS / 4 * 13 / 10);
+    }
+
+    @Test
+    void ownerOf_shouldNotDependOnMemberOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), 64);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(reordered.ownerOf("key-" + i)).isEqualTo(ring.ownerOf("key-" + i));
+        }
+    }
+}
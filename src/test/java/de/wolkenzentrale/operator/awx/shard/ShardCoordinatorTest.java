@@ -0,0 +1,208 @@
+package de.wolkenzentrale.operator.awx.shard;
+
+import de.wolkenzentrale.operator.awx.config.ShardingProperties;
+import de.wolkenzentrale.operator.awx.model.common.ConnectionKey;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.opentelemetry.api.OpenTelemetry;
+import okhttp3.Call;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardCoordinatorTest {
+
+    private ShardingProperties properties;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ShardingProperties();
+        properties.setEnabled(true);
+        now = Instant.parse("2026-01-01T00:00:00Z");
+    }
+
+    @Test
+    void owns_disabled_shouldOwnEverything() {
+        properties.setEnabled(false);
+        ShardCoordinator coordinator = coordinator("a");
+
+        assertThat(coordinator.owns(new ConnectionKey("team", "awx"))).isTrue();
+        assertThat(coordinator.isSettled()).isTrue();
+    }
+
+    @Test
+    void owns_newMember_shouldWaitForHandoff() {
+        ShardCoordinator coordinator = coordinator("a");
+        coordinator.renewed(now);
+
+        coordinator.observe(Set.of("a"));
+
+        assertThat(coordinator.isSettled()).isFalse();
+        assertThat(owned(coordinator)).isEmpty();
+
+        renewFor(coordinator, properties.getRenewInterval().multipliedBy(2));
+
+        assertThat(coordinator.isSettled()).isTrue();
+        assertThat(owned(coordinator)).hasSize(100);
+    }
+
+    @Test
+    void owns_twoReplicas_shouldSplitConnectionsWithoutOverlap() {
+        ShardCoordinator a = settled("a", Set.of("a", "b"));
+        ShardCoordinator b = settled("b", Set.of("a", "b"));
+
+        List<ConnectionKey> ownedByA = owned(a);
+        List<ConnectionKey> ownedByB = owned(b);
+
+        assertThat(ownedByA).doesNotContainAnyElementsOf(ownedByB);
+        assertThat(ownedByA.size() + ownedByB.size()).isEqualTo(100);
+    }
+
+    @Test
+    void owns_scaleUp_shouldDropLostConnectionsRightAway() {
+        ShardCoordinator a = settled("a", Set.of("a"));
+        List<ConnectionKey> before = owned(a);
+
+        a.observe(Set.of("a", "b"));
+        List<ConnectionKey> during = owned(a);
+        renewFor(a, Duration.ofMinutes(1));
+
+        assertThat(before).hasSize(100);
+        assertThat(during).isEqualTo(owned(a));
+        assertThat(during).hasSizeLessThan(100);
+    }
+
+    @Test
+    void activateIfDue_shouldTellListenersWhatWasOwned() {
+        ShardCoordinator a = settled("a", Set.of("a", "b"));
+        List<ConnectionKey> before = owned(a);
+        List<ConnectionKey> gained = new ArrayList<>();
+        a.addListener(previouslyOwned -> connections().stream()
+            .filter(connection -> a.owns(connection) && !previouslyOwned.test(connection))
+            .forEach(gained::add));
+
+        a.observe(Set.of("a"));
+        renewFor(a, Duration.ofMinutes(1));
+
+        assertThat(gained).hasSize(100 - before.size());
+        assertThat(gained).doesNotContainAnyElementsOf(before);
+    }
+
+    @Test
+    void tick_renewFails_shouldDropOwnershipAfterRenewDeadline() throws Exception {
+        ApiClient apiClient = mock(ApiClient.class);
+        when(apiClient.execute(any(Call.class), any(Type.class))).thenThrow(new ApiException(503, "unavailable"));
+        ShardCoordinator a = settled(coordinator("a", apiClient), Set.of("a", "b"));
+        int before = owned(a).size();
+
+        now = now.plus(properties.getRenewInterval());
+        a.tick();
+        List<ConnectionKey> withinDeadline = owned(a);
+        now = now.plus(properties.getRenewDeadline());
+        a.tick();
+
+        assertThat(withinDeadline).hasSize(before).isNotEmpty();
+        assertThat(owned(a)).isEmpty();
+    }
+
+    @Test
+    void renewed_afterLapse_shouldRejoinLikeNewMember() {
+        ShardCoordinator a = settled("a", Set.of("a"));
+
+        now = now.plus(properties.getLeaseDuration());
+        a.renewed(now);
+        a.observe(Set.of("a"));
+        List<ConnectionKey> afterLapse = owned(a);
+        renewFor(a, properties.getRenewInterval().multipliedBy(2));
+
+        assertThat(afterLapse).isEmpty();
+        assertThat(owned(a)).hasSize(100);
+    }
+
+    @Test
+    void observe_expiredMember_shouldWaitLeaseDurationBeforeTakeover() {
+        ShardCoordinator a = settled("a", Set.of("a", "b"));
+        int before = owned(a).size();
+
+        a.observe(Set.of("a"), Set.of("b"));
+        renewFor(a, properties.getRenewInterval().multipliedBy(2));
+        int afterRenewIntervals = owned(a).size();
+        renewFor(a, properties.getLeaseDuration().minus(properties.getRenewInterval().multipliedBy(2)));
+
+        assertThat(afterRenewIntervals).isEqualTo(before);
+        assertThat(owned(a)).hasSize(100);
+    }
+
+    /**
+     * Lets time pass for a replica that renews its Lease every renew interval
+     */
+    private void renewFor(ShardCoordinator coordinator, Duration duration) {
+        Instant end = now.plus(duration);
+        while (now.isBefore(end)) {
+            now = now.plus(properties.getRenewInterval());
+            coordinator.renewed(now);
+            coordinator.activateIfDue();
+        }
+    }
+
+    private ShardCoordinator settled(String identity, Set<String> members) {
+        return settled(coordinator(identity), members);
+    }
+
+    private ShardCoordinator settled(ShardCoordinator coordinator, Set<String> members) {
+        coordinator.renewed(now);
+        coordinator.observe(members);
+        Instant start = now;
+        now = now.plus(Duration.ofMinutes(1));
+        coordinator.activateIfDue();
+        now = start;
+        return coordinator;
+    }
+
+    private ShardCoordinator coordinator(String identity) {
+        return coordinator(identity, null);
+    }
+
+    private ShardCoordinator coordinator(String identity, ApiClient apiClient) {
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        return new ShardCoordinator(properties, apiClient, OpenTelemetry.noop().getMeter("test"), clock, identity);
+    }
+
+    private static List<ConnectionKey> connections() {
+        return IntStream.range(0, 100).mapToObj(i -> new ConnectionKey("team-" + i, "awx")).toList();
+    }
+
+    private static List<ConnectionKey> owned(ShardCoordinator coordinator) {
+        return connections().stream().filter(coordinator::owns).toList();
+    }
+}
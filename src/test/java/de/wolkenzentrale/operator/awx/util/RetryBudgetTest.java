@@ -0,0 +1,48 @@
+package de.wolkenzentrale.operator.awx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquireRetry_shouldAllowMinimumRetries() {
+        RetryBudget budget = new RetryBudget(0.1, 2, Duration.ofSeconds(10), clock::get);
+
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+    }
+
+    @Test
+    void tryAcquireRetry_shouldScaleWithRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 0, Duration.ofSeconds(10), clock::get);
+        for (int i = 0; i < 10; i++) {
+            budget.recordRequest();
+        }
+
+        int granted = 0;
+        while (budget.tryAcquireRetry()) {
+            granted++;
+        }
+
+        assertThat(granted).isEqualTo(5);
+    }
+
+    @Test
+    void tryAcquireRetry_shouldRefillAfterWindows() {
+        RetryBudget budget = new RetryBudget(0.0, 1, Duration.ofSeconds(10), clock::get);
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+
+        clock.addAndGet(Duration.ofSeconds(25).toNanos());
+
+        assertThat(budget.tryAcquireRetry()).isTrue();
+    }
+}
@@ -0,0 +1,147 @@
+package de.wolkenzentrale.operator.awx.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy policy = RetryPolicy.defaults().toBuilder()
+        .baseDelay(Duration.ofMillis(1))
+        .maxDelay(Duration.ofMillis(5))
+        .build();
+
+    @Test
+    void isRetriable_serverErrorOnGet_shouldRetry() {
+        assertThat(policy.isRetriable(responseError(503, HttpMethod.GET, null))).isTrue();
+    }
+
+    @Test
+    void isRetriable_clientErrors_shouldNotRetry() {
+        assertThat(policy.isRetriable(responseError(400, HttpMethod.GET, null))).isFalse();
+        assertThat(policy.isRetriable(responseError(401, HttpMethod.GET, null))).isFalse();
+        assertThat(policy.isRetriable(responseError(404, HttpMethod.GET, null))).isFalse();
+    }
+
+    @Test
+    void isRetriable_serverErrorOnPost_shouldNotRetry() {
+        assertThat(policy.isRetriable(responseError(503, HttpMethod.POST, null))).isFalse();
+    }
+
+    @Test
+    void isRetriable_tooManyRequestsOnPost_shouldRetry() {
+        assertThat(policy.isRetriable(responseError(429, HttpMethod.POST, null))).isTrue();
+    }
+
+    @Test
+    void isRetriable_unknownException_shouldNotRetry() {
+        assertThat(policy.isRetriable(new RuntimeException("boom"))).isFalse();
+    }
+
+    @Test
+    void nextDelay_shouldStayWithinBounds() {
+        for (int i = 0; i < 100; i++) {
+            Duration delay = policy.nextDelay(Duration.ofMillis(4), responseError(503, HttpMethod.GET, null)).orElseThrow();
+            assertThat(delay).isBetween(Duration.ofMillis(1), Duration.ofMillis(5));
+        }
+    }
+
+    @Test
+    void nextDelay_shouldHonorRetryAfter() {
+        RetryPolicy patient = policy.toBuilder().maxRetryAfter(Duration.ofSeconds(10)).build();
+
+        Optional<Duration> delay = patient.nextDelay(Duration.ofMillis(1), responseError(429, HttpMethod.GET, "3"));
+
+        assertThat(delay).contains(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void nextDelay_whenRetryAfterTooLong_shouldGiveUp() {
+        RetryPolicy impatient = policy.toBuilder().maxRetryAfter(Duration.ofSeconds(1)).build();
+
+        assertThat(impatient.nextDelay(Duration.ofMillis(1), responseError(429, HttpMethod.GET, "120"))).isEmpty();
+    }
+
+    @Test
+    void run_shouldRetryUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> flaky = Mono.defer(() -> attempts.incrementAndGet() < 3
+            ? Mono.error(responseError(502, HttpMethod.GET, null))
+            : Mono.just("ok"));
+
+        StepVerifier.create(RetryMono.of(flaky, "flaky").withPolicy(policy).run())
+            .expectNext("ok")
+            .verifyComplete();
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void run_whenNotRetriable_shouldFailImmediately() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> notFound = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(responseError(404, HttpMethod.GET, null));
+        });
+
+        StepVerifier.create(RetryMono.of(notFound, "not found").withPolicy(policy).run())
+            .expectError(WebClientResponseException.class)
+            .verify();
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void run_whenBudgetExhausted_shouldStopRetrying() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> down = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(responseError(503, HttpMethod.GET, null));
+        });
+        RetryBudget budget = new RetryBudget(0.0, 1, Duration.ofMinutes(1));
+
+        StepVerifier.create(RetryMono.of(down, "down").withPolicy(policy).withBudget(budget).run())
+            .expectError(WebClientResponseException.class)
+            .verify();
+        assertThat(attempts).hasValue(2);
+    }
+
+    private static WebClientResponseException responseError(int status, HttpMethod method, String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.add(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        HttpRequest request = new HttpRequest() {
+            @Override
+            public HttpMethod getMethod() {
+                return method;
+            }
+
+            @Override
+            public URI getURI() {
+                return URI.create("https://awx.example.com/api/v2/ping/");
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return new HttpHeaders();
+            }
+
+            @Override
+            public java.util.Map<String, Object> getAttributes() {
+                return new java.util.HashMap<>();
+            }
+        };
+        return WebClientResponseException.create(status, "error", headers, new byte[0], StandardCharsets.UTF_8, request);
+    }
+}
@@ -0,0 +1,70 @@
+package de.wolkenzentrale.operator.awx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenDeny() {
+        TokenBucket bucket = new TokenBucket(1, 3, clock::get);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtRate() {
+        TokenBucket bucket = new TokenBucket(2, 1, clock::get);
+        bucket.tryAcquire();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertThat(bucket.tryAcquire()).isFalse();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertThat(bucket.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void tryAcquire_shouldNotRefillBeyondBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void release_shouldGiveBackTokenUpToBurst() {
+        TokenBucket bucket = new TokenBucket(0.001, 2, clock::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        bucket.release();
+        bucket.release();
+        bucket.release();
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void reserve_shouldSpaceTokensByRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+}